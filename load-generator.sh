@@ -0,0 +1,3 @@
+#!/bin/sh
+
+java -cp http-log-monitor.jar org.datadog.generator.LoadGenerator "$@"
@@ -0,0 +1,74 @@
+package org.datadog.benchmark;
+
+import com.google.common.eventbus.EventBus;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.alerts.AlertsManager;
+import org.datadog.statitics.HyperLogLog;
+import org.datadog.statitics.TrafficStatistic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the {@link AlertsManager} checks of the published {@link TrafficStatistic}.
+ * The seeded statistics alternate between calm and busy periods, so the hits average crosses
+ *  the threshold regularly and the distinct clients sketches of the whole interval are merged
+ *  for every raised alert.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AlertsManagerBenchmark {
+
+  static final int STATISTICS_COUNT = 256;
+  static final int HITS_THRESHOLD = 1000;
+
+  @Param({"12", "360"})
+  private int thresholdRefreshCycles;
+
+  private TrafficStatistic[] trafficStatistics;
+  private EventBus eventBus;
+
+  /**
+   * Generates the statistics with the same seed and registers a fresh {@link AlertsManager}.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    this.trafficStatistics = new TrafficStatistic[STATISTICS_COUNT];
+    for (int index = 0; index < STATISTICS_COUNT; index++) {
+      boolean busy = index / 32 % 2 == 1;
+      HyperLogLog distinctClients = new HyperLogLog();
+      for (int client = 0; client < 64; client++) {
+        distinctClients.add("10.0." + random.nextInt(16) + "." + random.nextInt(256));
+      }
+      this.trafficStatistics[index] = TrafficStatistic.builder()
+          .totalHitsCount(busy ? 2 * HITS_THRESHOLD + random.nextInt(HITS_THRESHOLD)
+              : random.nextInt(HITS_THRESHOLD / 2))
+          .distinctClients(distinctClients)
+          .build();
+    }
+    this.eventBus = new EventBus();
+    this.eventBus.register(new AlertsManager(this.eventBus, this.thresholdRefreshCycles,
+        HITS_THRESHOLD));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATISTICS_COUNT)
+  public EventBus checkForAlert() {
+    for (TrafficStatistic trafficStatistic : this.trafficStatistics) {
+      this.eventBus.post(trafficStatistic);
+    }
+    return this.eventBus;
+  }
+
+}
@@ -0,0 +1,70 @@
+package org.datadog.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.parser.ParseException;
+import org.datadog.utils.CommonLogFormatUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the section extraction of the resources of the seeded corpus of
+ *  {@link ParserBenchmark} and the selection of the most hit keys of a hits map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommonLogFormatUtilsBenchmark {
+
+  static final int GREATEST_VALUES_LIMIT = 5;
+
+  @Param({"16", "1024"})
+  private int distinctKeys;
+
+  private String[] resources;
+  private Map<String, Integer> hits;
+
+  /**
+   * Extracts the resources of the corpus and generates skewed hits, with the same seed.
+   */
+  @Setup
+  public void setUp() throws ParseException {
+    Random random = new Random(42);
+    String[] lines = ParserBenchmark.generateCorpus(random, ParserBenchmark.CORPUS_SIZE);
+    CommonLogFormatScannerParserImpl parser = new CommonLogFormatScannerParserImpl();
+    this.resources = new String[lines.length];
+    for (int index = 0; index < lines.length; index++) {
+      this.resources[index] = parser.parse(lines[index]).getResource();
+    }
+    this.hits = new HashMap<>();
+    for (int index = 0; index < this.distinctKeys; index++) {
+      this.hits.put("/section" + index, 1 + random.nextInt(1 + 100_000 / (index + 1)));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ParserBenchmark.CORPUS_SIZE)
+  public void retrieveSection(Blackhole blackhole) throws ParseException {
+    for (String resource : this.resources) {
+      blackhole.consume(CommonLogFormatUtils.retrieveSection(resource));
+    }
+  }
+
+  @Benchmark
+  public Object findGreatestValues() {
+    return CommonLogFormatUtils.findGreatestValues(this.hits, GREATEST_VALUES_LIMIT);
+  }
+
+}
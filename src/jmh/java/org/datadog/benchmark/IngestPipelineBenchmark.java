@@ -0,0 +1,108 @@
+package org.datadog.benchmark;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.statitics.TrafficStatisticsManager;
+import org.datadog.watcher.LineFramer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the lines per second of the same log file as the {@link PipelineBenchmark} live
+ *  pipeline, with the lines handed over to the parser and to the {@link TrafficStatisticsManager}
+ *  through an {@link IngestPipeline} ring, for each {@link WaitStrategy}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IngestPipelineBenchmark {
+
+  @Param({WaitStrategy.BLOCKING, WaitStrategy.SLEEPING, WaitStrategy.YIELDING})
+  public String waitStrategy;
+
+  private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+  private Path logFile;
+  private LineFramer lineFramer;
+  private IngestPipeline ingestPipeline;
+  private TrafficStatisticsManager trafficStatisticsManager;
+  private TrafficStatistic trafficStatistic;
+
+  /**
+   * Writes the seeded log file and starts the ingest pipeline stages.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    this.logFile = Files.createTempFile("ingest-pipeline-benchmark", ".log");
+    Files.write(this.logFile,
+        Arrays.asList(ParserBenchmark.generateCorpus(new Random(42),
+            PipelineBenchmark.LINES_COUNT)),
+        StandardCharsets.US_ASCII);
+    EventBus eventBus = new EventBus();
+    this.trafficStatisticsManager = new TrafficStatisticsManager(eventBus,
+        TrafficStatisticsManagerBenchmark.REFRESH_PERIOD);
+    eventBus.register(this);
+    this.ingestPipeline = new IngestPipeline(new CommonLogFormatHandlerImpl(
+        new CommonLogFormatScannerParserImpl(), new MetricsRegistry()),
+        this.trafficStatisticsManager::consumeClfEvent, IngestPipeline.DEFAULT_BUFFER_SIZE,
+        WaitStrategy.forName(this.waitStrategy));
+    this.ingestPipeline.start();
+    this.lineFramer = new LineFramer(StandardCharsets.US_ASCII, this.ingestPipeline);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.ingestPipeline.halt();
+    Files.deleteIfExists(this.logFile);
+  }
+
+  @Subscribe
+  public void consumeTrafficStatistic(TrafficStatistic trafficStatistic) {
+    this.trafficStatistic = trafficStatistic;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PipelineBenchmark.LINES_COUNT)
+  public TrafficStatistic ringPipeline() throws IOException {
+    try (FileChannel fileChannel = FileChannel.open(this.logFile, StandardOpenOption.READ)) {
+      this.readBuffer.clear();
+      while (fileChannel.read(this.readBuffer) > 0) {
+        this.readBuffer.flip();
+        this.lineFramer.frame(this.readBuffer);
+        this.readBuffer.clear();
+      }
+    }
+    while (!this.ingestPipeline.isDrained()) {
+      Thread.yield();
+    }
+    this.trafficStatisticsManager.refreshStatistics();
+    return this.trafficStatistic;
+  }
+
+}
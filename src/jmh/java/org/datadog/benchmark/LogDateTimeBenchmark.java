@@ -0,0 +1,64 @@
+package org.datadog.benchmark;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.parser.ParseException;
+import org.datadog.utils.DateTimeUtils;
+import org.datadog.utils.LogDateTimeDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link java.time.format.DateTimeFormatter} and the {@link LogDateTimeDecoder}
+ *  on increasing log date times, as they are found in a log file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LogDateTimeBenchmark {
+
+  static final int CORPUS_SIZE = 1024;
+
+  private final LogDateTimeDecoder logDateTimeDecoder = new LogDateTimeDecoder();
+
+  private String[] dateTimes;
+
+  /**
+   * Generates one date time every 7 seconds, so about 500 per hour.
+   */
+  @Setup
+  public void setUp() {
+    this.dateTimes = new String[CORPUS_SIZE];
+    Instant instant = Instant.parse("2018-10-10T13:55:36Z");
+    for (int index = 0; index < CORPUS_SIZE; index++) {
+      this.dateTimes[index] = DateTimeUtils.DATE_TIME_FORMATTER
+          .format(instant.plusSeconds(index * 7L).atOffset(ZoneOffset.ofHours(-7)));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void dateTimeFormatter(Blackhole blackhole) throws ParseException {
+    for (String dateTime : this.dateTimes) {
+      blackhole.consume(DateTimeUtils.retrieveLogDateTime(dateTime).toEpochSecond());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void logDateTimeDecoder(Blackhole blackhole) throws ParseException {
+    for (String dateTime : this.dateTimes) {
+      blackhole.consume(this.logDateTimeDecoder.toEpochSecond(dateTime, 0, dateTime.length()));
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+package org.datadog.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.parser.CommonLogFormatEntryView;
+import org.datadog.parser.CommonLogFormatParserImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the lines per second of the regular expression and the scanner parsers
+ *  on a seeded corpus of Common Log Format lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParserBenchmark {
+
+  static final int CORPUS_SIZE = 1024;
+
+  private static final String[] HOSTS = {"127.0.0.1", "10.0.0.12", "192.168.1.25", "172.16.4.2"};
+  private static final String[] USERS = {"-", "frank", "james", "mary"};
+  private static final String[] METHODS = {"GET", "GET", "GET", "POST", "PUT", "DELETE"};
+  private static final String[] SECTIONS = {"/api", "/report", "/users", "/static", "/images"};
+  private static final int[] STATUSES = {200, 200, 200, 201, 301, 404, 500, 503};
+
+  private final CommonLogFormatParserImpl regexParser = new CommonLogFormatParserImpl();
+  private final CommonLogFormatScannerParserImpl scannerParser
+      = new CommonLogFormatScannerParserImpl();
+  private final CommonLogFormatEntryView entryView = new CommonLogFormatEntryView();
+
+  private String[] lines;
+  private byte[] bytes;
+  private int[] offsets;
+
+  /**
+   * Generates the corpus, always with the same seed so runs are comparable.
+   */
+  @Setup
+  public void setUp() {
+    this.lines = generateCorpus(new Random(42), CORPUS_SIZE);
+    StringBuilder content = new StringBuilder();
+    this.offsets = new int[CORPUS_SIZE + 1];
+    for (int index = 0; index < CORPUS_SIZE; index++) {
+      this.offsets[index] = content.length();
+      content.append(this.lines[index]).append('\n');
+    }
+    this.offsets[CORPUS_SIZE] = content.length();
+    this.bytes = content.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void regexParser(Blackhole blackhole) throws ParseException {
+    for (String line : this.lines) {
+      blackhole.consume(this.regexParser.parse(line));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void scannerParser(Blackhole blackhole) throws ParseException {
+    for (String line : this.lines) {
+      blackhole.consume(this.scannerParser.parse(line));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void scannerParserByteSlice(Blackhole blackhole) throws ParseException {
+    for (int index = 0; index < CORPUS_SIZE; index++) {
+      int offset = this.offsets[index];
+      CommonLogFormatEntry entry = this.scannerParser.parse(this.bytes, offset,
+          this.offsets[index + 1] - offset - 1);
+      blackhole.consume(entry);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public void entryViewByteSlice(Blackhole blackhole) throws ParseException {
+    for (int index = 0; index < CORPUS_SIZE; index++) {
+      int offset = this.offsets[index];
+      this.entryView.wrap(this.bytes, offset, this.offsets[index + 1] - offset - 1);
+      blackhole.consume(this.entryView.getStatus());
+      blackhole.consume(this.entryView.getSize());
+      blackhole.consume(this.entryView.getHttpMethod());
+      blackhole.consume(this.entryView.getSection());
+    }
+  }
+
+  /**
+   * Generates log lines whose date times increase as in a log file, from 10/Oct/2018 13:00.
+   */
+  static String[] generateCorpus(Random random, int size) {
+    String[] corpus = new String[size];
+    int second = 13 * 3600;
+    for (int index = 0; index < size; index++) {
+      second += random.nextInt(3);
+      corpus[index] = String.format(
+          "%s - %s [%02d/Oct/2018:%02d:%02d:%02d +0000] \"%s %s/%d HTTP/1.0\" %d %d",
+          pick(random, HOSTS), pick(random, USERS), 10 + second / 86400, second / 3600 % 24,
+          second / 60 % 60, second % 60, pick(random, METHODS), pick(random, SECTIONS),
+          random.nextInt(1000), STATUSES[random.nextInt(STATUSES.length)],
+          random.nextInt(100_000));
+    }
+    return corpus;
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+}
@@ -0,0 +1,119 @@
+package org.datadog.benchmark;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.batch.BatchAnalyzer;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.statitics.TrafficStatisticsManager;
+import org.datadog.watcher.LineFramer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the lines per second of a whole log file turned into a {@link TrafficStatistic},
+ *  through the live pipeline and through the {@link BatchAnalyzer}.
+ * The live pipeline is wired as in the monitor: it reads the file as the file watcher does, into
+ *  a {@link LineFramer} publishing the lines to an {@link IngestPipeline} whose stages parse them
+ *  with a {@link CommonLogFormatHandlerImpl} and hand the entries to the
+ *  {@link TrafficStatisticsManager}, then waits for the ring to drain and refreshes the
+ *  statistics once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineBenchmark {
+
+  static final int LINES_COUNT = 64 * 1024;
+
+  private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+  private Path logFile;
+  private LineFramer lineFramer;
+  private IngestPipeline ingestPipeline;
+  private TrafficStatisticsManager trafficStatisticsManager;
+  private TrafficStatistic trafficStatistic;
+  private BatchAnalyzer batchAnalyzer;
+
+  /**
+   * Writes the seeded log file and starts the live pipeline stages.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    this.logFile = Files.createTempFile("pipeline-benchmark", ".log");
+    Files.write(this.logFile,
+        Arrays.asList(ParserBenchmark.generateCorpus(new Random(42), LINES_COUNT)),
+        StandardCharsets.US_ASCII);
+    EventBus eventBus = new EventBus();
+    this.trafficStatisticsManager = new TrafficStatisticsManager(eventBus,
+        TrafficStatisticsManagerBenchmark.REFRESH_PERIOD);
+    eventBus.register(this);
+    this.ingestPipeline = new IngestPipeline(new CommonLogFormatHandlerImpl(
+        new CommonLogFormatScannerParserImpl(), new MetricsRegistry()),
+        this.trafficStatisticsManager::consumeClfEvent, IngestPipeline.DEFAULT_BUFFER_SIZE,
+        WaitStrategy.forName(WaitStrategy.SLEEPING));
+    this.ingestPipeline.start();
+    this.lineFramer = new LineFramer(StandardCharsets.US_ASCII, this.ingestPipeline);
+    this.batchAnalyzer = new BatchAnalyzer(Runtime.getRuntime().availableProcessors(),
+        LineFramer.DEFAULT_MAX_LINE_LENGTH);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.ingestPipeline.halt();
+    Files.deleteIfExists(this.logFile);
+  }
+
+  @Subscribe
+  public void consumeTrafficStatistic(TrafficStatistic trafficStatistic) {
+    this.trafficStatistic = trafficStatistic;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LINES_COUNT)
+  public TrafficStatistic livePipeline() throws IOException {
+    try (FileChannel fileChannel = FileChannel.open(this.logFile, StandardOpenOption.READ)) {
+      this.readBuffer.clear();
+      while (fileChannel.read(this.readBuffer) > 0) {
+        this.readBuffer.flip();
+        this.lineFramer.frame(this.readBuffer);
+        this.readBuffer.clear();
+      }
+    }
+    while (!this.ingestPipeline.isDrained()) {
+      Thread.yield();
+    }
+    this.trafficStatisticsManager.refreshStatistics();
+    return this.trafficStatistic;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LINES_COUNT)
+  public TrafficStatistic batchAnalyzer() throws IOException {
+    return this.batchAnalyzer.analyze(this.logFile, TrafficStatisticsManager.SECTIONS_LIMIT);
+  }
+
+}
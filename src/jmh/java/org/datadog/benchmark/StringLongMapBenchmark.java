@@ -0,0 +1,75 @@
+package org.datadog.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.statitics.StringLongMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the counts per second of a {@link StringLongMap} with the former
+ *  {@link HashMap#merge} counting, on a seeded corpus of shared keys skewed towards a few hot
+ *  keys as the sections and hosts of a log are.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StringLongMapBenchmark {
+
+  private static final int CORPUS_SIZE = 4096;
+
+  @Param({"16", "1024"})
+  private int distinctKeys;
+
+  private String[] keys;
+  private Map<String, Integer> hashMap;
+  private StringLongMap stringLongMap;
+
+  /**
+   * Generates the corpus, always with the same seed so runs are comparable.
+   */
+  @Setup
+  public void setUp() {
+    String[] distinct = new String[this.distinctKeys];
+    for (int index = 0; index < this.distinctKeys; index++) {
+      distinct[index] = "section" + index;
+    }
+    Random random = new Random(42);
+    this.keys = new String[CORPUS_SIZE];
+    for (int index = 0; index < CORPUS_SIZE; index++) {
+      double skewed = random.nextDouble();
+      this.keys[index] = distinct[(int) (skewed * skewed * skewed * this.distinctKeys)];
+    }
+    this.hashMap = new HashMap<>();
+    this.stringLongMap = new StringLongMap();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public Map<String, Integer> hashMapMerge() {
+    for (String key : this.keys) {
+      this.hashMap.merge(key, 1, Integer::sum);
+    }
+    return this.hashMap;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CORPUS_SIZE)
+  public StringLongMap stringLongMapAddTo() {
+    for (String key : this.keys) {
+      this.stringLongMap.addTo(key, 1);
+    }
+    return this.stringLongMap;
+  }
+
+}
@@ -0,0 +1,62 @@
+package org.datadog.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.parser.ParseException;
+import org.datadog.statitics.TrafficAggregate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the entries per second added to a {@link TrafficAggregate} on the seeded corpus of
+ *  {@link ParserBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TrafficAggregateBenchmark {
+
+  private CommonLogFormatEntry[] entries;
+  private TrafficAggregate trafficAggregate;
+
+  /**
+   * Parses the corpus once, so only the aggregation is measured.
+   */
+  @Setup
+  public void setUp() throws ParseException {
+    String[] lines = ParserBenchmark.generateCorpus(new Random(42), ParserBenchmark.CORPUS_SIZE);
+    CommonLogFormatScannerParserImpl parser = new CommonLogFormatScannerParserImpl();
+    this.entries = new CommonLogFormatEntry[lines.length];
+    for (int index = 0; index < lines.length; index++) {
+      this.entries[index] = parser.parse(lines[index]);
+    }
+  }
+
+  /**
+   * Starts every iteration with a fresh aggregate, as every refresh period does.
+   */
+  @Setup(Level.Iteration)
+  public void setUpAggregate() {
+    this.trafficAggregate = new TrafficAggregate();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ParserBenchmark.CORPUS_SIZE)
+  public TrafficAggregate add() {
+    for (CommonLogFormatEntry entry : this.entries) {
+      this.trafficAggregate.add(entry);
+    }
+    return this.trafficAggregate;
+  }
+
+}
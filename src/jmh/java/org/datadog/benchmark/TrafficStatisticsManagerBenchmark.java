@@ -0,0 +1,82 @@
+package org.datadog.benchmark;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.parser.ParseException;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.statitics.TrafficStatisticsManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the {@link TrafficStatisticsManager} consuming the seeded corpus of
+ *  {@link ParserBenchmark} entry by entry, and refreshing its statistics after each corpus as
+ *  at the end of a refresh period.
+ * The refresh timer of the manager is set far beyond the benchmark duration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TrafficStatisticsManagerBenchmark {
+
+  static final int REFRESH_PERIOD = 24 * 3600;
+
+  private CommonLogFormatEntry[] entries;
+  private TrafficStatisticsManager trafficStatisticsManager;
+  private TrafficStatistic trafficStatistic;
+
+  /**
+   * Parses the corpus once, so only the consumption is measured.
+   */
+  @Setup
+  public void setUp() throws ParseException {
+    String[] lines = ParserBenchmark.generateCorpus(new Random(42), ParserBenchmark.CORPUS_SIZE);
+    CommonLogFormatScannerParserImpl parser = new CommonLogFormatScannerParserImpl();
+    this.entries = new CommonLogFormatEntry[lines.length];
+    for (int index = 0; index < lines.length; index++) {
+      this.entries[index] = parser.parse(lines[index]);
+    }
+    EventBus eventBus = new EventBus();
+    this.trafficStatisticsManager = new TrafficStatisticsManager(eventBus, REFRESH_PERIOD);
+    eventBus.register(this);
+  }
+
+  @Subscribe
+  public void consumeTrafficStatistic(TrafficStatistic trafficStatistic) {
+    this.trafficStatistic = trafficStatistic;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ParserBenchmark.CORPUS_SIZE)
+  public TrafficStatisticsManager consumeClfEvent() {
+    for (CommonLogFormatEntry entry : this.entries) {
+      this.trafficStatisticsManager.consumeClfEvent(entry);
+    }
+    return this.trafficStatisticsManager;
+  }
+
+  /**
+   * Consumes a corpus and refreshes the statistics, one operation per refresh period.
+   */
+  @Benchmark
+  public TrafficStatistic refreshStatistics() {
+    for (CommonLogFormatEntry entry : this.entries) {
+      this.trafficStatisticsManager.consumeClfEvent(entry);
+    }
+    this.trafficStatisticsManager.refreshStatistics();
+    return this.trafficStatistic;
+  }
+
+}
@@ -4,25 +4,38 @@ import com.google.common.eventbus.EventBus;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Paths;
 import java.nio.file.WatchService;
+import java.time.Instant;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 import org.datadog.alerts.AlertsManager;
+import org.datadog.batch.BatchAnalyzer;
 import org.datadog.cli.ApplicationOptions;
 import org.datadog.gui.ConsoleGui;
+import org.datadog.gui.HeadlessConsole;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.MetricsReporter;
 import org.datadog.modules.ApplicationModule;
+import org.datadog.normalizer.ResourceNormalizer;
 import org.datadog.parser.CommonLogFormatHandlerImpl;
 import org.datadog.parser.OutputHandler;
 import org.datadog.parser.Parser;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.TrafficStatistic;
 import org.datadog.statitics.TrafficStatisticsManager;
-import org.datadog.watcher.FileWatcherImpl;
+import org.datadog.utils.GuiFormatUtils;
+import org.datadog.watcher.MappedFileWatcherImpl;
 
 import static org.datadog.utils.CliUtils.parseArguments;
 import static org.datadog.utils.CliUtils.validateArguments;
 import static org.datadog.utils.CliUtils.printApplicationHelp;
+import static org.datadog.utils.DateTimeUtils.toPrettyDuration;
 
 /**
  * Main Application class.
@@ -38,11 +51,18 @@ public class HttpLogMonitoringApplication {
    *   <li>Parses the user entered option values.</li>
    *   <li>Validates the user entered options values and keeps default
    *   ones if an option is not present.</li>
+   *   <li>In batch mode, analyses the existing log file content with a {@link BatchAnalyzer},
+   *   prints the result and exits.</li>
+   *   <li>Initializes a {@link MetricsRegistry} shared by the pipeline stages and its
+   *   {@link MetricsReporter}.</li>
    *   <li>Initializes a {@link OutputHandler}.</li>
    *   <li>Initializes a {@link TrafficStatisticsManager}.</li>
+   *   <li>Initializes an {@link IngestPipeline} handing the lines over to the parser and to the
+   *   {@link TrafficStatisticsManager} on their own threads.</li>
    *   <li>Initializes a {@link AlertsManager}.</li>
    *   <li>Initializes a {@link org.datadog.watcher.ResourceWatcher} in a separate thread.</li>
-   *   <li>Initializes a {@link ConsoleGui} in a separate thread.</li>
+   *   <li>Initializes a {@link ConsoleGui} in a separate thread, or a {@link HeadlessConsole}
+   *   in headless mode.</li>
    * </ul>
    * @param args The monitoring option values as described in {@link ApplicationOptions}
    */
@@ -68,32 +88,64 @@ public class HttpLogMonitoringApplication {
 
     Injector injector = Guice.createInjector(new ApplicationModule());
 
+    if (applicationOptions.isBatch()) {
+      runBatchAnalysis(applicationOptions);
+      return;
+    }
+
     EventBus eventBus = injector.getInstance(EventBus.class);
 
-    OutputHandler<String> stringOutputHandler = new CommonLogFormatHandlerImpl(
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    new MetricsReporter(eventBus, metricsRegistry, applicationOptions.getRefreshFrequency(),
+        applicationOptions.getMetricsDumpPath() == null
+            ? null : Paths.get(applicationOptions.getMetricsDumpPath()));
+
+    CommonLogFormatHandlerImpl commonLogFormatHandler = new CommonLogFormatHandlerImpl(
         injector.getInstance(Parser.class),
-        eventBus);
+        metricsRegistry);
 
     TrafficStatisticsManager trafficStatisticsManager = new TrafficStatisticsManager(
         eventBus,
-        applicationOptions.getRefreshFrequency()
+        applicationOptions.getRefreshFrequency(),
+        applicationOptions.getAllowedLateness(),
+        new ResourceNormalizer(applicationOptions.getNormalizationRules(),
+            ResourceNormalizer.DEFAULT_MEMO_SIZE),
+        metricsRegistry
     );
 
-    eventBus.register(trafficStatisticsManager);
+    IngestPipeline ingestPipeline = new IngestPipeline(commonLogFormatHandler,
+        trafficStatisticsManager::consumeClfEvent,
+        applicationOptions.getRingBufferSize(),
+        WaitStrategy.forName(applicationOptions.getWaitStrategy()),
+        applicationOptions.getOverloadPolicy(),
+        metricsRegistry);
+    ingestPipeline.start();
 
     AlertsManager alertsManager = new AlertsManager(eventBus,
         applicationOptions.getThresholdRefreshCycles(),
-        applicationOptions.getTrafficThreshold());
+        applicationOptions.getTrafficThreshold(),
+        metricsRegistry);
 
     eventBus.register(alertsManager);
 
     final String filePath = applicationOptions.getFilePath();
-    new Thread(() -> new FileWatcherImpl(
+    final long mappingThreshold = applicationOptions.getMappingThreshold() * 1024L * 1024L;
+    final int maxLineLength = applicationOptions.getMaxLineLength();
+    new Thread(() -> new MappedFileWatcherImpl(
         injector.getInstance(WatchService.class),
         Paths.get(filePath),
-        stringOutputHandler
+        ingestPipeline,
+        maxLineLength,
+        mappingThreshold,
+        MappedFileWatcherImpl.DEFAULT_MAPPING_WINDOW_SIZE,
+        metricsRegistry
     ).run(), "file-watcher-thread").start();
 
+    if (applicationOptions.isHeadless()) {
+      eventBus.register(new HeadlessConsole(System.out));
+      return;
+    }
+
     final ApplicationOptions appOptions = applicationOptions;
     new Thread(() -> {
       ConsoleGui gui = new ConsoleGui(appOptions);
@@ -107,4 +159,30 @@ public class HttpLogMonitoringApplication {
     }, "ui-thread").start();
   }
 
+  /**
+   * Analyses the whole existing content of the log file with a {@link BatchAnalyzer}, prints
+   *  the resulting traffic statistics and exits.
+   * @param applicationOptions The {@link ApplicationOptions} containing the log file path.
+   */
+  private static void runBatchAnalysis(ApplicationOptions applicationOptions) {
+    Instant start = Instant.now();
+    BatchAnalyzer batchAnalyzer = new BatchAnalyzer(Runtime.getRuntime().availableProcessors(),
+        applicationOptions.getMaxLineLength(),
+        new ResourceNormalizer(applicationOptions.getNormalizationRules(),
+            ResourceNormalizer.DEFAULT_MEMO_SIZE));
+    try {
+      TrafficStatistic trafficStatistic = batchAnalyzer.analyze(
+          Paths.get(applicationOptions.getFilePath()),
+          TrafficStatisticsManager.SECTIONS_LIMIT
+      );
+      System.out.println(GuiFormatUtils.toTextReport(trafficStatistic));
+      System.out.println("Invalid lines: " + batchAnalyzer.getInvalidLinesCount());
+      System.out.println("Analysed in " + toPrettyDuration(start, Instant.now()));
+    } catch (IOException | UncheckedIOException exception) {
+      log.error("Error when analysing {}.", applicationOptions.getFilePath(), exception);
+      System.out.println("Unable to analyse " + applicationOptions.getFilePath() + ".");
+      System.exit(1);
+    }
+  }
+
 }
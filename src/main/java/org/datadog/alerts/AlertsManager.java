@@ -12,6 +12,10 @@ import java.time.ZonedDateTime;
 import lombok.NonNull;
 
 import lombok.extern.slf4j.Slf4j;
+import org.datadog.metrics.LatencyHistogram;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.PipelineMetrics;
+import org.datadog.statitics.HyperLogLog;
 import org.datadog.statitics.TrafficStatistic;
 
 @Slf4j
@@ -20,6 +24,7 @@ public class AlertsManager {
   private final EventBus eventBus;
   private final EvictingQueue<TrafficStatistic> trafficStatisticsQueue;
   private final int hitsThreshold;
+  private final LatencyHistogram aggregatedToAlertLatency;
 
   private int totalHits = 0;
   private boolean highTrafficTriggered = false;
@@ -37,6 +42,23 @@ public class AlertsManager {
   public AlertsManager(@NonNull EventBus eventBus,
                        int maxTrafficStatistics,
                        int hitsThreshold) {
+    this(eventBus, maxTrafficStatistics, hitsThreshold, new MetricsRegistry());
+  }
+
+  /**
+   * Creates a new {@link AlertsManager}.
+   * @param eventBus The {@link EventBus} used to publish {@link TrafficAlert}.
+   * @param maxTrafficStatistics The maximum number of {@link TrafficStatistic}
+   *                             to hold in the buffer.
+   * @param hitsThreshold The max hits by second threshold to trigger a new {@link TrafficAlert}.
+   * @param metricsRegistry The {@link MetricsRegistry} in which the time between the
+   *                        aggregation of each entry and the evaluation of the alerts on its
+   *                        {@link TrafficStatistic} is recorded.
+   */
+  public AlertsManager(@NonNull EventBus eventBus,
+                       int maxTrafficStatistics,
+                       int hitsThreshold,
+                       @NonNull MetricsRegistry metricsRegistry) {
 
     Preconditions.checkArgument(maxTrafficStatistics > 0, "Max Traffic Statistics must be > 0.");
     Preconditions.checkArgument(hitsThreshold > 0, "Hits Threshold must be > 0.");
@@ -44,6 +66,8 @@ public class AlertsManager {
     this.eventBus = eventBus;
     this.trafficStatisticsQueue = EvictingQueue.create(maxTrafficStatistics);
     this.hitsThreshold = hitsThreshold;
+    this.aggregatedToAlertLatency = metricsRegistry.latency(
+        PipelineMetrics.AGGREGATED_TO_ALERT_MILLIS);
   }
 
   /**
@@ -68,6 +92,7 @@ public class AlertsManager {
           .alertType(TrafficAlert.AlertType.RECOVERED_TRAFFIC)
           .alertDateTime(ZonedDateTime.now())
           .hitsAverage(hitsAverage)
+          .distinctClientsCount(countDistinctClients())
           .build()
       );
     } else if (!this.highTrafficTriggered && hitsAverage >= this.hitsThreshold) {
@@ -77,9 +102,24 @@ public class AlertsManager {
               .alertType(TrafficAlert.AlertType.HIGH_TRAFFIC)
               .alertDateTime(ZonedDateTime.now())
               .hitsAverage(hitsAverage)
+              .distinctClientsCount(countDistinctClients())
               .build()
       );
     }
+    trafficStatistic.getAggregationTimeline().recordElapsedMillis(System.nanoTime(),
+        this.aggregatedToAlertLatency);
+  }
+
+  /**
+   * Estimates the number of distinct clients during the alerts monitoring interval by merging
+   *  the distinct clients sketches of the buffered {@link TrafficStatistic}.
+   * @return the estimated number of distinct clients.
+   */
+  private long countDistinctClients() {
+    HyperLogLog distinctClients = new HyperLogLog();
+    this.trafficStatisticsQueue.forEach(trafficStatistic ->
+        distinctClients.merge(trafficStatistic.getDistinctClients()));
+    return distinctClients.estimate();
   }
 
   @Subscribe
@@ -27,6 +27,7 @@ public class TrafficAlert {
   private final AlertType alertType;
   private final ZonedDateTime alertDateTime;
   private final float hitsAverage;
+  private final long distinctClientsCount;
   private final String message;
 
   /**
@@ -35,12 +36,16 @@ public class TrafficAlert {
    * {@link AlertType#RECOVERED_TRAFFIC}.
    * @param alertDateTime The alert triggering date time.
    * @param hitsAverage The number of hits on average that triggered the alert.
+   * @param distinctClientsCount The estimated number of distinct clients during the alerts
+   *     monitoring interval.
    */
   @Builder
-  public TrafficAlert(AlertType alertType, ZonedDateTime alertDateTime, float hitsAverage) {
+  public TrafficAlert(AlertType alertType, ZonedDateTime alertDateTime, float hitsAverage,
+      long distinctClientsCount) {
     this.alertType = alertType;
     this.alertDateTime = alertDateTime;
     this.hitsAverage = hitsAverage;
+    this.distinctClientsCount = distinctClientsCount;
     if (this.alertType != null && this.alertDateTime != null) {
       this.message = MessageFormat.format(
           this.alertType.getMessage(),
@@ -0,0 +1,101 @@
+package org.datadog.batch;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.parser.CommonLogFormatEntryView;
+import org.datadog.statitics.TrafficAggregate;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.watcher.LineFramer;
+
+/**
+ * Analyses the whole content of an existing log file in parallel.
+ * The file is split into byte ranges aligned to line boundaries that are parsed with
+ *  {@link CommonLogFormatEntryView} and aggregated on a {@link ForkJoinPool}. The partial
+ *  {@link TrafficAggregate} of every range are merged into a single {@link TrafficStatistic}.
+ */
+@Slf4j
+public class BatchAnalyzer {
+
+  static final long MIN_RANGE_SIZE = 1024L * 1024;
+  static final long MAX_RANGE_SIZE = 64L * 1024 * 1024;
+
+  private final int parallelism;
+  private final int maxLineLength;
+  private final ResourceNormalizer resourceNormalizer;
+  private final LongAdder invalidLinesCount = new LongAdder();
+
+  /**
+   * Creates a {@link BatchAnalyzer} that uses all the available processors.
+   */
+  public BatchAnalyzer() {
+    this(Runtime.getRuntime().availableProcessors(), LineFramer.DEFAULT_MAX_LINE_LENGTH);
+  }
+
+  /**
+   * Creates a {@link BatchAnalyzer} that normalizes the resources with the default rules.
+   * @param parallelism The number of threads used to analyse the file.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   */
+  public BatchAnalyzer(int parallelism, int maxLineLength) {
+    this(parallelism, maxLineLength, new ResourceNormalizer());
+  }
+
+  /**
+   * Creates a {@link BatchAnalyzer}.
+   * @param parallelism The number of threads used to analyse the file.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param resourceNormalizer The {@link ResourceNormalizer} of the counted resources, copied
+   *                           for every range.
+   */
+  public BatchAnalyzer(int parallelism, int maxLineLength,
+      @NonNull ResourceNormalizer resourceNormalizer) {
+    Preconditions.checkArgument(parallelism > 0, "Parallelism must be > 0.");
+    this.parallelism = parallelism;
+    this.maxLineLength = maxLineLength;
+    this.resourceNormalizer = resourceNormalizer;
+  }
+
+  /**
+   * Analyses the whole content of a log file.
+   * @param filePath The log file {@link Path}.
+   * @param sectionsLimit The number of most hit sections to keep in the result.
+   * @return a {@link TrafficStatistic} of all the valid log lines of the file.
+   * @throws IOException If an error occurs when reading the file.
+   */
+  public TrafficStatistic analyze(@NonNull Path filePath, int sectionsLimit) throws IOException {
+    ForkJoinPool forkJoinPool = new ForkJoinPool(this.parallelism);
+    try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      long fileSize = fileChannel.size();
+      long rangeSize = Math.min(MAX_RANGE_SIZE,
+          Math.max(MIN_RANGE_SIZE, fileSize / (this.parallelism * 4L)));
+      TrafficAggregate trafficAggregate = forkJoinPool.invoke(
+          new FileRangeTask(fileChannel, 0, fileSize, rangeSize, this.maxLineLength,
+              this.resourceNormalizer, this.invalidLinesCount)
+      );
+      log.info("{} analysed. {} bytes processed, {} invalid lines.",
+          filePath, fileSize, this.invalidLinesCount.sum());
+      return trafficAggregate.toTrafficStatistic(sectionsLimit);
+    } finally {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  /**
+   * Returns the number of lines that could not be parsed since the analyzer creation.
+   * @return the invalid lines count.
+   */
+  public long getInvalidLinesCount() {
+    return this.invalidLinesCount.sum();
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.datadog.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.parser.CommonLogFormatEntryView;
+import org.datadog.parser.ParseException;
+import org.datadog.statitics.TrafficAggregate;
+import org.datadog.watcher.LineFramer;
+
+/**
+ * A {@link RecursiveTask} that aggregates the log lines of a byte range of a file.
+ * The range starts at the beginning of a line and ends after a line feed or at the end of
+ *  the file. Ranges larger than the split size are split in two ranges at the line boundary
+ *  that follows their middle. The lines of a range are aggregated through a single
+ *  {@link CommonLogFormatEntryView} over the framing buffer so no entry is created, and their
+ *  resources are normalized by a copy of the {@link ResourceNormalizer} of the analysis.
+ */
+@Slf4j
+class FileRangeTask extends RecursiveTask<TrafficAggregate> {
+
+  private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+  private final FileChannel fileChannel;
+  private final long start;
+  private final long end;
+  private final long splitSize;
+  private final int maxLineLength;
+  private final ResourceNormalizer resourceNormalizer;
+  private final LongAdder invalidLinesCount;
+
+  FileRangeTask(FileChannel fileChannel,
+                long start,
+                long end,
+                long splitSize,
+                int maxLineLength,
+                ResourceNormalizer resourceNormalizer,
+                LongAdder invalidLinesCount) {
+    this.fileChannel = fileChannel;
+    this.start = start;
+    this.end = end;
+    this.splitSize = splitSize;
+    this.maxLineLength = maxLineLength;
+    this.resourceNormalizer = resourceNormalizer;
+    this.invalidLinesCount = invalidLinesCount;
+  }
+
+  @Override
+  protected TrafficAggregate compute() {
+    try {
+      if (this.end - this.start > this.splitSize) {
+        long middle = nextLineStart(this.start + (this.end - this.start) / 2);
+        if (middle < this.end) {
+          FileRangeTask firstHalf = new FileRangeTask(this.fileChannel, this.start, middle,
+              this.splitSize, this.maxLineLength, this.resourceNormalizer,
+              this.invalidLinesCount);
+          FileRangeTask secondHalf = new FileRangeTask(this.fileChannel, middle, this.end,
+              this.splitSize, this.maxLineLength, this.resourceNormalizer,
+              this.invalidLinesCount);
+          firstHalf.fork();
+          TrafficAggregate secondAggregate = secondHalf.compute();
+          return firstHalf.join().merge(secondAggregate);
+        }
+      }
+      return aggregateRange();
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private TrafficAggregate aggregateRange() throws IOException {
+    TrafficAggregate trafficAggregate = new TrafficAggregate(this.resourceNormalizer.copy());
+    CommonLogFormatEntryView entryView = new CommonLogFormatEntryView();
+    LineFramer lineFramer = LineFramer.withLineViews(Charset.defaultCharset(), this.maxLineLength,
+        line -> {
+          try {
+            trafficAggregate.add(entryView.wrap(line));
+          } catch (ParseException parseException) {
+            this.invalidLinesCount.increment();
+            log.debug("Invalid Common Log Format. Line : {}", line);
+          }
+        });
+    if (this.end > this.start) {
+      lineFramer.frame(
+          this.fileChannel.map(FileChannel.MapMode.READ_ONLY, this.start, this.end - this.start)
+      );
+      lineFramer.flush();
+    }
+    return trafficAggregate;
+  }
+
+  /**
+   * Finds the offset of the first line that starts at or after a position.
+   * @param position The position from which the line feed is searched.
+   * @return the offset following the first line feed found before the range end,
+   *     the range end otherwise.
+   * @throws IOException If an error occurs when reading the file.
+   */
+  private long nextLineStart(long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+    long cursor = position;
+    while (cursor < this.end) {
+      buffer.clear();
+      int readBytes = this.fileChannel.read(buffer, cursor);
+      if (readBytes <= 0) {
+        break;
+      }
+      for (int i = 0; i < readBytes && cursor + i < this.end; i++) {
+        if (buffer.get(i) == '\n') {
+          return cursor + i + 1;
+        }
+      }
+      cursor += readBytes;
+    }
+    return this.end;
+  }
+
+}
@@ -1,7 +1,16 @@
 package org.datadog.cli;
 
+import java.util.List;
+
 import lombok.Builder;
 import lombok.Value;
+import org.datadog.normalizer.NormalizationRule;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.OverloadPolicy;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.EventTimeWindows;
+import org.datadog.watcher.LineFramer;
 
 /**
  * The {@link org.datadog.HttpLogMonitoringApplication} options.
@@ -34,4 +43,66 @@ public class ApplicationOptions {
   @Builder.Default
   private int thresholdRefreshCycles = 12;
 
+  /**
+   * The unread log file size in megabytes above which the file is memory-mapped to catch up.
+   */
+  @Builder.Default
+  private int mappingThreshold = 32;
+
+  /**
+   * The maximum length in bytes of a log line. Longer lines are discarded.
+   */
+  @Builder.Default
+  private int maxLineLength = LineFramer.DEFAULT_MAX_LINE_LENGTH;
+
+  /**
+   * The number of seconds a log line may lag behind the latest log date time before being
+   *  counted as late.
+   */
+  @Builder.Default
+  private int allowedLateness = EventTimeWindows.DEFAULT_ALLOWED_LATENESS;
+
+  /**
+   * The rules normalizing the path segments of the resource urls, in order.
+   */
+  @Builder.Default
+  private List<NormalizationRule> normalizationRules = ResourceNormalizer.DEFAULT_RULES;
+
+  /**
+   * The file to which the pipeline metrics are appended as JSON lines, null for no dump.
+   */
+  @Builder.Default
+  private String metricsDumpPath = null;
+
+  /**
+   * The number of slots of the ring buffer between the file watcher, the parser and the
+   *  aggregator. It is a power of 2.
+   */
+  @Builder.Default
+  private int ringBufferSize = IngestPipeline.DEFAULT_BUFFER_SIZE;
+
+  /**
+   * The name of the {@link WaitStrategy} of the parser and aggregator stages.
+   */
+  @Builder.Default
+  private String waitStrategy = WaitStrategy.SLEEPING;
+
+  /**
+   * What the file watcher does with the lines when the ring buffer is full.
+   */
+  @Builder.Default
+  private OverloadPolicy overloadPolicy = OverloadPolicy.BLOCK;
+
+  /**
+   * Indicates if the existing log file content is analysed at once instead of being monitored.
+   */
+  @Builder.Default
+  private boolean batch = false;
+
+  /**
+   * Indicates if the reports are printed on the standard output instead of the console GUI.
+   */
+  @Builder.Default
+  private boolean headless = false;
+
 }
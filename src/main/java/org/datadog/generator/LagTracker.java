@@ -0,0 +1,77 @@
+package org.datadog.generator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.metrics.LatencyHistogram;
+
+/**
+ * Measures the end to end lag of the monitor: the time from the write of a line to the log file
+ *  to its aggregation.
+ * The {@link LoadGenerator} reports every written batch of lines, and the tracker counts the
+ *  entries handed to the statistics manager by the aggregator stage.
+ *  When the count reaches the end of a batch, the time elapsed since the batch write is
+ *  recorded, so the lag is measured without writing any timestamp in the lines.
+ * This class is thread safe.
+ */
+public class LagTracker {
+
+  private final LatencyHistogram lagMillis;
+  private final Deque<long[]> writtenBatches = new ArrayDeque<>();
+  private volatile long nextBatchEnd = Long.MAX_VALUE;
+  private volatile long aggregatedLinesCount = 0L;
+
+  /**
+   * Creates a new {@link LagTracker}.
+   * @param lagMillis The {@link LatencyHistogram} of the lags in milliseconds.
+   */
+  public LagTracker(LatencyHistogram lagMillis) {
+    this.lagMillis = lagMillis;
+  }
+
+  /**
+   * Reports a written batch of lines.
+   * @param writtenLinesCount The number of lines written since the start, this batch included.
+   * @param nanoTime The {@link System#nanoTime()} at which the batch was written.
+   */
+  public synchronized void written(long writtenLinesCount, long nanoTime) {
+    this.writtenBatches.addLast(new long[] {writtenLinesCount, nanoTime});
+    if (this.writtenBatches.size() == 1) {
+      this.nextBatchEnd = writtenLinesCount;
+    }
+    if (this.aggregatedLinesCount >= this.nextBatchEnd) {
+      recordAggregatedBatches(nanoTime);
+    }
+  }
+
+  /**
+   * Counts an aggregated entry. Called by the single thread aggregating the entries, so the
+   *  count is only incremented by that thread.
+   * @param commonLogFormatEntry The aggregated entry.
+   */
+  public void aggregated(CommonLogFormatEntry commonLogFormatEntry) {
+    this.aggregatedLinesCount++;
+    if (this.aggregatedLinesCount >= this.nextBatchEnd) {
+      recordAggregatedBatches(System.nanoTime());
+    }
+  }
+
+  /**
+   * Retrieves the number of aggregated lines.
+   * @return the number of entries counted since the start.
+   */
+  public long getAggregatedLinesCount() {
+    return this.aggregatedLinesCount;
+  }
+
+  private synchronized void recordAggregatedBatches(long nanoTime) {
+    while (!this.writtenBatches.isEmpty()
+        && this.writtenBatches.peekFirst()[0] <= this.aggregatedLinesCount) {
+      this.lagMillis.record((nanoTime - this.writtenBatches.pollFirst()[1]) / 1_000_000L);
+    }
+    this.nextBatchEnd = this.writtenBatches.isEmpty()
+        ? Long.MAX_VALUE : this.writtenBatches.peekFirst()[0];
+  }
+
+}
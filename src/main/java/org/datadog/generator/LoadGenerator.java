@@ -0,0 +1,386 @@
+package org.datadog.generator;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.eventbus.EventBus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.MetricsReport;
+import org.datadog.metrics.MetricsSnapshot;
+import org.datadog.metrics.PipelineMetrics;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.OverloadPolicy;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.EventTimeWindows;
+import org.datadog.statitics.LogHistogram;
+import org.datadog.statitics.TrafficStatisticsManager;
+import org.datadog.utils.GuiFormatUtils;
+import org.datadog.watcher.LineFramer;
+import org.datadog.watcher.MappedFileWatcherImpl;
+
+/**
+ * A synthetic access log load generator, run with {@link #main(String[])}.
+ * It appends {@link LogLineGenerator} lines to a log file following a {@link LoadProfile}, in
+ *  batches every {@link #TICK_MILLIS} milliseconds. Unless disabled, the file is consumed by
+ *  an in-process file watcher, ingest pipeline and statistics manager, wired as in the monitor,
+ *  whose end to end lag is measured by a {@link LagTracker}.
+ * Every second, the target, written and aggregated rates, the lag quantiles and the watcher
+ *  backlog are printed. At the end of the run, the highest aggregated rate whose p99 lag stayed
+ *  under the lag threshold is printed as the maximum sustainable rate.
+ * This class is not thread safe.
+ */
+@Slf4j
+public class LoadGenerator {
+
+  public static final String WRITTEN_LINES = "generator.written.lines";
+  public static final String LAG_MILLIS = "generator.lag.millis";
+
+  static final int TICK_MILLIS = 10;
+  static final long DRAIN_TIMEOUT_MILLIS = 10_000L;
+  private static final long REPORT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAPPING_THRESHOLD = 32L * 1024 * 1024;
+
+  static final String FILE_PATH_OPTION = "log-file-path";
+  static final String START_RATE_OPTION = "start-rate";
+  static final String END_RATE_OPTION = "end-rate";
+  static final String DURATION_OPTION = "duration";
+  static final String BURST_PERIOD_OPTION = "burst-period";
+  static final String BURST_LENGTH_OPTION = "burst-length";
+  static final String BURST_FACTOR_OPTION = "burst-factor";
+  static final String SECTIONS_OPTION = "sections";
+  static final String ZIPF_EXPONENT_OPTION = "zipf-exponent";
+  static final String ERROR_RATIO_OPTION = "error-ratio";
+  static final String OUT_OF_ORDER_RATIO_OPTION = "out-of-order-ratio";
+  static final String MAX_DELAY_OPTION = "max-delay";
+  static final String LAG_THRESHOLD_OPTION = "lag-threshold";
+  static final String NO_MONITOR_OPTION = "no-monitor";
+  static final String SEED_OPTION = "seed";
+  static final String METRICS_DUMP_OPTION = "metrics-dump";
+
+  private final LoadGeneratorOptions options;
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+  private final LagTracker lagTracker;
+  private MetricsSnapshot previousSnapshot;
+  private long previousAggregatedLinesCount = 0L;
+  private double maxSustainableRate = 0;
+
+  /**
+   * Creates a new {@link LoadGenerator}.
+   * @param options The {@link LoadGeneratorOptions}.
+   */
+  public LoadGenerator(LoadGeneratorOptions options) {
+    Preconditions.checkArgument(options.getDurationSeconds() > 0, "Duration must be > 0.");
+    this.options = options;
+    this.lagTracker = new LagTracker(this.metricsRegistry.latency(LAG_MILLIS));
+  }
+
+  /**
+   * Runs the load generator.
+   * @param args The options described by {@link #getOptions()}.
+   */
+  public static void main(String[] args) {
+    LoadGeneratorOptions options = null;
+    try {
+      options = parseOptions(args);
+      new LoadGenerator(options).run();
+      System.exit(0);
+    } catch (ParseException | IllegalArgumentException exception) {
+      System.out.println("Invalid option(s) value(s): " + exception.getMessage());
+      new HelpFormatter().printHelp(150, "./load-generator.sh", "", getOptions(), "", true);
+    } catch (IOException exception) {
+      log.error("Error when generating the load.", exception);
+      System.out.println("Unable to write " + options.getFilePath() + ".");
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+    System.exit(1);
+  }
+
+  /**
+   * Appends the lines for the configured duration, then waits for the in-process monitor to
+   *  aggregate all of them.
+   * @return the maximum sustainable rate in lines per second, 0 without in-process monitor.
+   * @throws IOException If an error occurs when writing the log file.
+   * @throws InterruptedException If the generator is interrupted.
+   */
+  public double run() throws IOException, InterruptedException {
+    Path filePath = Paths.get(this.options.getFilePath());
+    if (!Files.exists(filePath)) {
+      Files.createFile(filePath);
+    }
+    if (this.options.isMonitor()) {
+      startMonitor(filePath);
+    }
+    LoadProfile loadProfile = this.options.toLoadProfile();
+    LogLineGenerator logLineGenerator = new LogLineGenerator(new Random(this.options.getSeed()),
+        this.options.getSectionsCount(), this.options.getZipfExponent(),
+        this.options.getErrorRatio(), this.options.getOutOfOrderRatio(),
+        this.options.getMaxDelaySeconds());
+    LongAdder writtenLinesCounter = this.metricsRegistry.counter(WRITTEN_LINES);
+    StringBuilder batch = new StringBuilder();
+    long writtenLinesCount = 0L;
+    this.previousSnapshot = this.metricsRegistry.snapshot();
+
+    try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND)) {
+      long startNanos = System.nanoTime();
+      long durationNanos = TimeUnit.SECONDS.toNanos(this.options.getDurationSeconds());
+      long previousNanos = startNanos;
+      long nextReportNanos = startNanos + REPORT_PERIOD_NANOS;
+      double dueLinesCount = 0;
+      double targetLinesCount = 0;
+      double reportedTargetLinesCount = 0;
+      long nowNanos;
+      while ((nowNanos = System.nanoTime()) - startNanos < durationNanos) {
+        double seconds = (nowNanos - startNanos) / 1e9;
+        double targetLines = loadProfile.rateAt(seconds) * (nowNanos - previousNanos) / 1e9;
+        dueLinesCount += targetLines;
+        targetLinesCount += targetLines;
+        previousNanos = nowNanos;
+        long linesCount = (long) dueLinesCount;
+        if (linesCount > 0) {
+          dueLinesCount -= linesCount;
+          batch.setLength(0);
+          long epochSecond = System.currentTimeMillis() / 1000;
+          for (long line = 0; line < linesCount; line++) {
+            logLineGenerator.appendLine(batch, epochSecond).append('\n');
+          }
+          ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.US_ASCII));
+          while (bytes.hasRemaining()) {
+            fileChannel.write(bytes);
+          }
+          writtenLinesCount += linesCount;
+          writtenLinesCounter.add(linesCount);
+          this.lagTracker.written(writtenLinesCount, System.nanoTime());
+        }
+        if (nowNanos >= nextReportNanos) {
+          report(seconds, targetLinesCount - reportedTargetLinesCount);
+          reportedTargetLinesCount = targetLinesCount;
+          nextReportNanos += REPORT_PERIOD_NANOS;
+        }
+        Thread.sleep(TICK_MILLIS);
+      }
+    }
+
+    if (!this.options.isMonitor()) {
+      System.out.println("Written lines: " + writtenLinesCount);
+      return 0;
+    }
+    long drainDeadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+    while (this.lagTracker.getAggregatedLinesCount() < writtenLinesCount
+        && System.currentTimeMillis() < drainDeadline) {
+      Thread.sleep(TICK_MILLIS);
+    }
+    System.out.println(String.format("Written lines: %d, aggregated lines: %d",
+        writtenLinesCount, this.lagTracker.getAggregatedLinesCount()));
+    System.out.println(String.format("Max sustainable rate: %.0f lines/s (p99 lag <= %d ms)",
+        this.maxSustainableRate, this.options.getLagThresholdMillis()));
+    return this.maxSustainableRate;
+  }
+
+  /**
+   * Wires a file watcher, an ingest pipeline and a statistics manager as in the monitor,
+   *  sharing the generator {@link MetricsRegistry}, and starts the watcher.
+   */
+  private void startMonitor(Path filePath) throws IOException {
+    EventBus eventBus = new EventBus();
+    TrafficStatisticsManager trafficStatisticsManager = new TrafficStatisticsManager(eventBus,
+        10, EventTimeWindows.DEFAULT_ALLOWED_LATENESS, new ResourceNormalizer(),
+        this.metricsRegistry);
+    IngestPipeline ingestPipeline = new IngestPipeline(
+        new CommonLogFormatHandlerImpl(new CommonLogFormatScannerParserImpl(),
+            this.metricsRegistry),
+        entry -> {
+          trafficStatisticsManager.consumeClfEvent(entry);
+          this.lagTracker.aggregated(entry);
+        },
+        IngestPipeline.DEFAULT_BUFFER_SIZE,
+        WaitStrategy.forName(WaitStrategy.SLEEPING),
+        OverloadPolicy.BLOCK,
+        this.metricsRegistry);
+    ingestPipeline.start();
+    MappedFileWatcherImpl fileWatcher = new MappedFileWatcherImpl(
+        FileSystems.getDefault().newWatchService(),
+        filePath,
+        ingestPipeline,
+        LineFramer.DEFAULT_MAX_LINE_LENGTH,
+        MAPPING_THRESHOLD,
+        MappedFileWatcherImpl.DEFAULT_MAPPING_WINDOW_SIZE,
+        this.metricsRegistry);
+    Thread watcherThread = new Thread(fileWatcher::run, "file-watcher-thread");
+    watcherThread.setDaemon(true);
+    watcherThread.start();
+  }
+
+  /**
+   * Prints the rates and lags since the previous report, dumps the metrics and updates the
+   *  maximum sustainable rate.
+   */
+  private void report(double seconds, double targetLinesCount) {
+    MetricsReport metricsReport = new MetricsReport(this.metricsRegistry.snapshot(),
+        this.previousSnapshot);
+    long aggregatedLinesCount = this.lagTracker.getAggregatedLinesCount();
+    long periodNanos = metricsReport.getSnapshot().getNanoTime()
+        - this.previousSnapshot.getNanoTime();
+    double targetRate = targetLinesCount * 1e9 / periodNanos;
+    this.previousSnapshot = metricsReport.getSnapshot();
+    double writtenRate = metricsReport.getRatePerSecond(WRITTEN_LINES);
+    if (!this.options.isMonitor()) {
+      System.out.println(String.format("%4.0fs target %.0f/s written %.0f/s", seconds,
+          targetRate, writtenRate));
+    } else {
+      double aggregatedRate = (aggregatedLinesCount - this.previousAggregatedLinesCount) * 1e9
+          / periodNanos;
+      this.previousAggregatedLinesCount = aggregatedLinesCount;
+      LogHistogram lag = metricsReport.getSnapshot().getLatencies().get(LAG_MILLIS);
+      long p99Lag = lag.valueAtQuantile(0.99);
+      if (lag.getTotalCount() > 0 && p99Lag <= this.options.getLagThresholdMillis()) {
+        this.maxSustainableRate = Math.max(this.maxSustainableRate, aggregatedRate);
+      }
+      System.out.println(String.format(
+          "%4.0fs target %.0f/s written %.0f/s aggregated %.0f/s lag p50 %d ms p99 %d ms"
+              + " max %d ms backlog %s", seconds, targetRate, writtenRate, aggregatedRate,
+          lag.valueAtQuantile(0.5), p99Lag, lag.getMax(), GuiFormatUtils.humanReadableByteCount(
+              metricsReport.getSnapshot().getGauges()
+                  .getOrDefault(PipelineMetrics.WATCHER_BACKLOG_BYTES, 0L))));
+    }
+    if (this.options.getMetricsDumpPath() != null) {
+      try {
+        Files.write(Paths.get(this.options.getMetricsDumpPath()),
+            Collections.singletonList(metricsReport.toJson()), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (IOException exception) {
+        log.error("Unable to dump the metrics to {}.", this.options.getMetricsDumpPath(),
+            exception);
+      }
+    }
+  }
+
+  /**
+   * Parses the load generator options.
+   * @param args The command line arguments.
+   * @return the {@link LoadGeneratorOptions}, with the default values of the absent options.
+   * @throws ParseException If the command line cannot be parsed.
+   * @throws IllegalArgumentException If an option value is not a number.
+   */
+  @VisibleForTesting
+  static LoadGeneratorOptions parseOptions(String[] args) throws ParseException {
+    CommandLine commandLine = new DefaultParser().parse(getOptions(), args);
+    LoadGeneratorOptions defaults = LoadGeneratorOptions.builder().build();
+    return LoadGeneratorOptions.builder()
+        .filePath(commandLine.getOptionValue(FILE_PATH_OPTION, defaults.getFilePath()))
+        .startRate(doubleOption(commandLine, START_RATE_OPTION, defaults.getStartRate()))
+        .endRate(doubleOption(commandLine, END_RATE_OPTION, defaults.getEndRate()))
+        .durationSeconds((int) longOption(commandLine, DURATION_OPTION,
+            defaults.getDurationSeconds()))
+        .burstPeriodSeconds((int) longOption(commandLine, BURST_PERIOD_OPTION,
+            defaults.getBurstPeriodSeconds()))
+        .burstSeconds((int) longOption(commandLine, BURST_LENGTH_OPTION,
+            defaults.getBurstSeconds()))
+        .burstFactor(doubleOption(commandLine, BURST_FACTOR_OPTION, defaults.getBurstFactor()))
+        .sectionsCount((int) longOption(commandLine, SECTIONS_OPTION,
+            defaults.getSectionsCount()))
+        .zipfExponent(doubleOption(commandLine, ZIPF_EXPONENT_OPTION,
+            defaults.getZipfExponent()))
+        .errorRatio(doubleOption(commandLine, ERROR_RATIO_OPTION, defaults.getErrorRatio()))
+        .outOfOrderRatio(doubleOption(commandLine, OUT_OF_ORDER_RATIO_OPTION,
+            defaults.getOutOfOrderRatio()))
+        .maxDelaySeconds((int) longOption(commandLine, MAX_DELAY_OPTION,
+            defaults.getMaxDelaySeconds()))
+        .lagThresholdMillis(longOption(commandLine, LAG_THRESHOLD_OPTION,
+            defaults.getLagThresholdMillis()))
+        .monitor(!commandLine.hasOption(NO_MONITOR_OPTION))
+        .seed(longOption(commandLine, SEED_OPTION, defaults.getSeed()))
+        .metricsDumpPath(commandLine.getOptionValue(METRICS_DUMP_OPTION))
+        .build();
+  }
+
+  @VisibleForTesting
+  static Options getOptions() {
+    LoadGeneratorOptions defaults = LoadGeneratorOptions.builder().build();
+    Options options = new Options();
+    options.addOption("f", FILE_PATH_OPTION, true,
+        "The log file to which the lines are appended, default " + defaults.getFilePath());
+    options.addOption("s", START_RATE_OPTION, true,
+        "Lines per second at the start of the run, default " + defaults.getStartRate());
+    options.addOption("e", END_RATE_OPTION, true,
+        "Lines per second at the end of the run, reached by a linear ramp, default "
+            + defaults.getEndRate());
+    options.addOption("d", DURATION_OPTION, true,
+        "Duration of the run in seconds, default " + defaults.getDurationSeconds());
+    options.addOption("p", BURST_PERIOD_OPTION, true,
+        "Period of the bursts in seconds, 0 for no burst, default "
+            + defaults.getBurstPeriodSeconds());
+    options.addOption("l", BURST_LENGTH_OPTION, true,
+        "Duration of a burst in seconds, default " + defaults.getBurstSeconds());
+    options.addOption("x", BURST_FACTOR_OPTION, true,
+        "Rate multiplier during a burst, default " + defaults.getBurstFactor());
+    options.addOption("n", SECTIONS_OPTION, true,
+        "Number of distinct sections, default " + defaults.getSectionsCount());
+    options.addOption("z", ZIPF_EXPONENT_OPTION, true,
+        "Skew of the Zipf distribution of the sections hits, default "
+            + defaults.getZipfExponent());
+    options.addOption("r", ERROR_RATIO_OPTION, true,
+        "Ratio of 4xx and 5xx statuses, default " + defaults.getErrorRatio());
+    options.addOption("o", OUT_OF_ORDER_RATIO_OPTION, true,
+        "Ratio of lines dated in the past, default " + defaults.getOutOfOrderRatio());
+    options.addOption("w", MAX_DELAY_OPTION, true,
+        "Maximum delay in seconds of a line dated in the past, default "
+            + defaults.getMaxDelaySeconds());
+    options.addOption("t", LAG_THRESHOLD_OPTION, true,
+        "p99 end to end lag in milliseconds under which a rate is sustained, default "
+            + defaults.getLagThresholdMillis());
+    options.addOption("N", NO_MONITOR_OPTION, false,
+        "Only appends the lines, for a monitor run in another process");
+    options.addOption("S", SEED_OPTION, true,
+        "Seed of the generated lines, default " + defaults.getSeed());
+    options.addOption("D", METRICS_DUMP_OPTION, true,
+        "File to which the metrics are appended as JSON lines every second");
+    return options;
+  }
+
+  private static double doubleOption(CommandLine commandLine, String option,
+                                     double defaultValue) {
+    String value = commandLine.getOptionValue(option);
+    try {
+      return value == null ? defaultValue : Double.parseDouble(value);
+    } catch (NumberFormatException numberFormatException) {
+      throw new IllegalArgumentException(option + " option " + value + " is not a number.",
+          numberFormatException);
+    }
+  }
+
+  private static long longOption(CommandLine commandLine, String option, long defaultValue) {
+    String value = commandLine.getOptionValue(option);
+    try {
+      return value == null ? defaultValue : Long.parseLong(value);
+    } catch (NumberFormatException numberFormatException) {
+      throw new IllegalArgumentException(option + " option " + value + " is not an integer.",
+          numberFormatException);
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.datadog.generator;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The {@link LoadGenerator} options.
+ */
+@Value
+@Builder
+public class LoadGeneratorOptions {
+
+  /**
+   * The path of the log file to which the lines are appended.
+   */
+  @Builder.Default
+  private String filePath = "/tmp/access.log";
+
+  /**
+   * The lines per second at the start of the run.
+   */
+  @Builder.Default
+  private double startRate = 1_000;
+
+  /**
+   * The lines per second at the end of the run, reached by a linear ramp.
+   */
+  @Builder.Default
+  private double endRate = 10_000;
+
+  /**
+   * The duration of the run in seconds.
+   */
+  @Builder.Default
+  private int durationSeconds = 60;
+
+  /**
+   * The period of the bursts in seconds, 0 for no burst.
+   */
+  @Builder.Default
+  private int burstPeriodSeconds = 0;
+
+  /**
+   * The duration of a burst in seconds.
+   */
+  @Builder.Default
+  private int burstSeconds = 5;
+
+  /**
+   * The rate multiplier during a burst.
+   */
+  @Builder.Default
+  private double burstFactor = 5;
+
+  /**
+   * The number of distinct sections.
+   */
+  @Builder.Default
+  private int sectionsCount = 100;
+
+  /**
+   * The skew of the Zipf distribution of the sections hits.
+   */
+  @Builder.Default
+  private double zipfExponent = 1.0;
+
+  /**
+   * The ratio of 4xx and 5xx statuses.
+   */
+  @Builder.Default
+  private double errorRatio = 0.05;
+
+  /**
+   * The ratio of lines dated in the past.
+   */
+  @Builder.Default
+  private double outOfOrderRatio = 0.01;
+
+  /**
+   * The maximum delay in seconds of a line dated in the past.
+   */
+  @Builder.Default
+  private int maxDelaySeconds = 30;
+
+  /**
+   * The p99 end to end lag in milliseconds under which a rate is considered sustained.
+   */
+  @Builder.Default
+  private long lagThresholdMillis = 1_000;
+
+  /**
+   * Indicates if the lines are consumed by an in-process file watcher and statistics manager
+   *  whose end to end lag is measured.
+   */
+  @Builder.Default
+  private boolean monitor = true;
+
+  /**
+   * The seed of the generated lines.
+   */
+  @Builder.Default
+  private long seed = 42;
+
+  /**
+   * The file to which the metrics are appended as JSON lines every second, null for no dump.
+   */
+  @Builder.Default
+  private String metricsDumpPath = null;
+
+  /**
+   * Creates the {@link LoadProfile} of the run: a ramp over the whole run with the bursts.
+   * @return a new {@link LoadProfile}.
+   */
+  public LoadProfile toLoadProfile() {
+    return LoadProfile.builder()
+        .startRate(this.startRate)
+        .endRate(this.endRate)
+        .rampSeconds(this.durationSeconds)
+        .burstPeriodSeconds(this.burstPeriodSeconds)
+        .burstSeconds(this.burstPeriodSeconds == 0 ? 0 : this.burstSeconds)
+        .burstFactor(this.burstFactor)
+        .build();
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.datadog.generator;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The lines per second written by the {@link LoadGenerator} over time.
+ * The rate ramps linearly from the start rate to the end rate during the ramp, then stays at
+ *  the end rate. If a burst period is set, the rate is multiplied by the burst factor during
+ *  the last burst seconds of every period.
+ * This class is immutable.
+ */
+@Value
+@Builder
+public class LoadProfile {
+
+  /**
+   * The lines per second at the start of the ramp.
+   */
+  @Builder.Default
+  private double startRate = 1_000;
+
+  /**
+   * The lines per second at the end of the ramp.
+   */
+  @Builder.Default
+  private double endRate = 1_000;
+
+  /**
+   * The ramp duration in seconds, 0 to start at the end rate.
+   */
+  @Builder.Default
+  private double rampSeconds = 0;
+
+  /**
+   * The period of the bursts in seconds, 0 for no burst.
+   */
+  @Builder.Default
+  private double burstPeriodSeconds = 0;
+
+  /**
+   * The duration of a burst in seconds.
+   */
+  @Builder.Default
+  private double burstSeconds = 0;
+
+  /**
+   * The rate multiplier during a burst.
+   */
+  @Builder.Default
+  private double burstFactor = 1;
+
+  /**
+   * Creates a new {@link LoadProfile}.
+   * @param startRate The lines per second at the start of the ramp.
+   * @param endRate The lines per second at the end of the ramp.
+   * @param rampSeconds The ramp duration in seconds.
+   * @param burstPeriodSeconds The period of the bursts in seconds, 0 for no burst.
+   * @param burstSeconds The duration of a burst in seconds, at most the burst period.
+   * @param burstFactor The rate multiplier during a burst.
+   */
+  public LoadProfile(double startRate, double endRate, double rampSeconds,
+                     double burstPeriodSeconds, double burstSeconds, double burstFactor) {
+    Preconditions.checkArgument(startRate >= 0 && endRate >= 0, "Rates must be >= 0.");
+    Preconditions.checkArgument(rampSeconds >= 0, "Ramp duration must be >= 0.");
+    Preconditions.checkArgument(burstPeriodSeconds >= 0 && burstSeconds >= 0
+        && burstSeconds <= burstPeriodSeconds, "Burst duration must be in [0, burst period].");
+    Preconditions.checkArgument(burstFactor >= 0, "Burst factor must be >= 0.");
+    this.startRate = startRate;
+    this.endRate = endRate;
+    this.rampSeconds = rampSeconds;
+    this.burstPeriodSeconds = burstPeriodSeconds;
+    this.burstSeconds = burstSeconds;
+    this.burstFactor = burstFactor;
+  }
+
+  /**
+   * Computes the target rate at a time.
+   * @param seconds The seconds elapsed since the start of the load.
+   * @return the target lines per second.
+   */
+  public double rateAt(double seconds) {
+    double rate = seconds >= this.rampSeconds ? this.endRate
+        : this.startRate + (this.endRate - this.startRate) * seconds / this.rampSeconds;
+    if (isBursting(seconds)) {
+      rate *= this.burstFactor;
+    }
+    return rate;
+  }
+
+  /**
+   * Indicates if a time is in a burst.
+   * @param seconds The seconds elapsed since the start of the load.
+   * @return true if the rate is multiplied by the burst factor at that time.
+   */
+  public boolean isBursting(double seconds) {
+    return this.burstPeriodSeconds > 0
+        && seconds % this.burstPeriodSeconds >= this.burstPeriodSeconds - this.burstSeconds;
+  }
+
+}
@@ -0,0 +1,112 @@
+package org.datadog.generator;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.datadog.utils.DateTimeUtils;
+
+/**
+ * Generates realistic Common Log Format lines.
+ * The sections follow a {@link ZipfDistribution}, so a few sections get most of the hits as on
+ *  a real web site, and each section is requested with numeric ids. The statuses are mostly
+ *  2xx and 3xx with a configurable ratio of 4xx and 5xx, and the sizes are log-normal.
+ *  A configurable ratio of lines is dated in the past, up to a maximum delay, as the lines
+ *  written late by a load balancer or a slow worker.
+ * This class is not thread safe.
+ */
+public class LogLineGenerator {
+
+  static final String[] SECTIONS = {"api", "users", "static", "images", "report", "search",
+      "cart", "checkout", "login", "pages"};
+  private static final String[] METHODS = {"GET", "GET", "GET", "GET", "GET", "GET", "POST",
+      "POST", "PUT", "DELETE"};
+  private static final String[] USERS = {"-", "-", "-", "frank", "james", "mary"};
+  private static final int[] SUCCESS_STATUSES = {200, 200, 200, 200, 200, 200, 201, 204, 301,
+      304};
+  private static final int[] ERROR_STATUSES = {400, 401, 403, 404, 404, 404, 429, 500, 502, 503};
+  private static final int HOSTS_COUNT = 4096;
+
+  private final Random random;
+  private final ZipfDistribution sectionsDistribution;
+  private final double errorRatio;
+  private final double outOfOrderRatio;
+  private final int maxDelaySeconds;
+  private long formattedEpochSecond = Long.MIN_VALUE;
+  private String formattedDateTime;
+
+  /**
+   * Creates a new {@link LogLineGenerator}.
+   * @param random The {@link Random} source, seeded for reproducible lines.
+   * @param sectionsCount The number of distinct sections.
+   * @param zipfExponent The skew of the sections hits.
+   * @param errorRatio The ratio of 4xx and 5xx statuses.
+   * @param outOfOrderRatio The ratio of lines dated in the past.
+   * @param maxDelaySeconds The maximum delay in seconds of a line dated in the past.
+   */
+  public LogLineGenerator(Random random, int sectionsCount, double zipfExponent,
+                          double errorRatio, double outOfOrderRatio, int maxDelaySeconds) {
+    Preconditions.checkArgument(errorRatio >= 0 && errorRatio <= 1,
+        "Error ratio must be in [0, 1].");
+    Preconditions.checkArgument(outOfOrderRatio >= 0 && outOfOrderRatio <= 1,
+        "Out of order ratio must be in [0, 1].");
+    Preconditions.checkArgument(maxDelaySeconds > 0, "Max delay must be > 0.");
+    this.random = random;
+    this.sectionsDistribution = new ZipfDistribution(sectionsCount, zipfExponent);
+    this.errorRatio = errorRatio;
+    this.outOfOrderRatio = outOfOrderRatio;
+    this.maxDelaySeconds = maxDelaySeconds;
+  }
+
+  /**
+   * Appends a line, without line separator.
+   * @param line The {@link StringBuilder} to which the line is appended.
+   * @param epochSecond The current time in seconds from the epoch. The line is dated at that
+   *                    time, or before if it is out of order.
+   * @return the line {@link StringBuilder}.
+   */
+  public StringBuilder appendLine(StringBuilder line, long epochSecond) {
+    int section = this.sectionsDistribution.sample(this.random);
+    line.append("10.").append(this.random.nextInt(HOSTS_COUNT) >> 8).append('.')
+        .append(this.random.nextInt(HOSTS_COUNT) & 0xFF).append(".1 - ")
+        .append(pick(USERS)).append(" [");
+    if (this.random.nextDouble() < this.outOfOrderRatio) {
+      line.append(format(epochSecond - 1 - this.random.nextInt(this.maxDelaySeconds)));
+    } else {
+      if (epochSecond != this.formattedEpochSecond) {
+        this.formattedDateTime = format(epochSecond);
+        this.formattedEpochSecond = epochSecond;
+      }
+      line.append(this.formattedDateTime);
+    }
+    line.append("] \"").append(pick(METHODS)).append(" /")
+        .append(section < SECTIONS.length ? SECTIONS[section] : "section" + section)
+        .append('/').append(this.random.nextInt(10_000)).append(" HTTP/1.1\" ")
+        .append(this.random.nextDouble() < this.errorRatio
+            ? ERROR_STATUSES[this.random.nextInt(ERROR_STATUSES.length)]
+            : SUCCESS_STATUSES[this.random.nextInt(SUCCESS_STATUSES.length)])
+        .append(' ').append((long) Math.exp(8 + 1.5 * this.random.nextGaussian()));
+    return line;
+  }
+
+  /**
+   * Generates a line.
+   * @param epochSecond The current time in seconds from the epoch.
+   * @return the line, without line separator.
+   */
+  public String nextLine(long epochSecond) {
+    return appendLine(new StringBuilder(128), epochSecond).toString();
+  }
+
+  private String pick(String[] values) {
+    return values[this.random.nextInt(values.length)];
+  }
+
+  private static String format(long epochSecond) {
+    return DateTimeUtils.DATE_TIME_FORMATTER.format(
+        Instant.ofEpochSecond(epochSecond).atOffset(ZoneOffset.UTC));
+  }
+
+}
@@ -0,0 +1,58 @@
+package org.datadog.generator;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A Zipf distribution over the ranks [0, elementsCount[: the probability of the rank k is
+ *  proportional to 1 / (k + 1)^exponent, so a few ranks get most of the samples.
+ * The cumulative probabilities are computed once and a sample is a binary search.
+ * This class is immutable.
+ */
+public class ZipfDistribution {
+
+  private final double[] cumulativeProbabilities;
+
+  /**
+   * Creates a new {@link ZipfDistribution}.
+   * @param elementsCount The number of ranks.
+   * @param exponent The skew of the distribution, 0 for a uniform distribution.
+   */
+  public ZipfDistribution(int elementsCount, double exponent) {
+    Preconditions.checkArgument(elementsCount > 0, "Elements count must be > 0.");
+    Preconditions.checkArgument(exponent >= 0, "Exponent must be >= 0.");
+    this.cumulativeProbabilities = new double[elementsCount];
+    double sum = 0;
+    for (int rank = 0; rank < elementsCount; rank++) {
+      sum += 1 / Math.pow(rank + 1, exponent);
+      this.cumulativeProbabilities[rank] = sum;
+    }
+    for (int rank = 0; rank < elementsCount; rank++) {
+      this.cumulativeProbabilities[rank] /= sum;
+    }
+  }
+
+  /**
+   * Draws a rank.
+   * @param random The {@link Random} source.
+   * @return a rank in [0, elementsCount[.
+   */
+  public int sample(Random random) {
+    int index = Arrays.binarySearch(this.cumulativeProbabilities, random.nextDouble());
+    int rank = index >= 0 ? index : -index - 1;
+    return Math.min(rank, this.cumulativeProbabilities.length - 1);
+  }
+
+  /**
+   * Retrieves the probability of a rank.
+   * @param rank The rank.
+   * @return the probability of the rank.
+   */
+  public double probability(int rank) {
+    return rank == 0 ? this.cumulativeProbabilities[0]
+        : this.cumulativeProbabilities[rank] - this.cumulativeProbabilities[rank - 1];
+  }
+
+}
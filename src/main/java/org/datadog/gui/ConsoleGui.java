@@ -12,6 +12,7 @@ import com.googlecode.lanterna.terminal.Terminal;
 import java.io.IOException;
 import org.datadog.alerts.TrafficAlert;
 import org.datadog.cli.ApplicationOptions;
+import org.datadog.metrics.MetricsReport;
 import org.datadog.statitics.TrafficStatistic;
 
 
@@ -32,6 +33,11 @@ public class ConsoleGui {
     this.monitoringWindow.handleTrafficAlert(trafficAlert);
   }
 
+  @Subscribe
+  public void handleMetricsReport(MetricsReport metricsReport) {
+    this.monitoringWindow.handleMetricsReport(metricsReport);
+  }
+
   /**
    * Runs the Console GUI.
    * @param exitCallback the {@link Runnable} to execute when when closing the Console Gui.
@@ -0,0 +1,48 @@
+package org.datadog.gui;
+
+import com.google.common.eventbus.Subscribe;
+
+import java.io.PrintStream;
+
+import lombok.NonNull;
+import org.datadog.alerts.TrafficAlert;
+import org.datadog.metrics.MetricsReport;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.utils.GuiFormatUtils;
+
+/**
+ * Prints the published {@link TrafficStatistic}, {@link TrafficAlert} and {@link MetricsReport}
+ *  as plain text, for the runs without a terminal such as the load tests, instead of the
+ *  {@link ConsoleGui}.
+ * This class is thread safe.
+ */
+public class HeadlessConsole {
+
+  private final PrintStream printStream;
+
+  /**
+   * Creates a new {@link HeadlessConsole}.
+   * @param printStream The {@link PrintStream} on which the reports are printed.
+   */
+  public HeadlessConsole(@NonNull PrintStream printStream) {
+    this.printStream = printStream;
+  }
+
+  @Subscribe
+  public synchronized void handleTrafficStatistics(TrafficStatistic trafficStatistic) {
+    this.printStream.println(GuiFormatUtils.toTextReport(trafficStatistic));
+  }
+
+  @Subscribe
+  public synchronized void handleTrafficAlert(TrafficAlert trafficAlert) {
+    this.printStream.println(trafficAlert.getMessage() + " - "
+        + trafficAlert.getDistinctClientsCount() + " distinct clients");
+  }
+
+  @Subscribe
+  public synchronized void handleMetricsReport(MetricsReport metricsReport) {
+    this.printStream.println("Pipeline");
+    GuiFormatUtils.toMetricsLines(metricsReport).forEach(this.printStream::println);
+  }
+
+}
@@ -14,9 +14,13 @@ import com.googlecode.lanterna.gui2.Panel;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.datadog.alerts.TrafficAlert;
 import org.datadog.cli.ApplicationOptions;
+import org.datadog.metrics.MetricsReport;
+import org.datadog.statitics.LogHistogram;
 import org.datadog.statitics.TrafficStatistic;
 import org.datadog.utils.GuiFormatUtils;
 
@@ -28,6 +32,7 @@ class MonitoringWindow extends BasicWindow {
   private final Panel settingsPanel = new Panel();
   private final Panel trafficStatisticsPanel = new Panel();
   private final Panel trafficAlertsPanel = new Panel();
+  private final Panel pipelinePanel = new Panel();
   private final Panel optionsPanel = new Panel();
   private final Panel firstColumnSettingsPanel = new Panel();
   private final Panel secondColumnSettingsPanel = new Panel();
@@ -69,13 +74,19 @@ class MonitoringWindow extends BasicWindow {
     this.settingsPanel.addComponent(this.startedTimeLabel);
     this.trafficStatisticsPanel.setLayoutManager(new LinearLayout());
     this.trafficAlertsPanel.setLayoutManager(new LinearLayout());
+    this.pipelinePanel.setLayoutManager(new LinearLayout());
     Panel monitoringPanel = new Panel(new LinearLayout(Direction.HORIZONTAL));
     monitoringPanel.addComponent(
         this.trafficStatisticsPanel.withBorder(Borders.singleLine("Traffic Statistics"))
     );
-    monitoringPanel.addComponent(
+    Panel alertsColumnPanel = new Panel(new LinearLayout(Direction.VERTICAL));
+    alertsColumnPanel.addComponent(
         this.trafficAlertsPanel.withBorder(Borders.singleLine("Traffic Alerts"))
     );
+    alertsColumnPanel.addComponent(
+        this.pipelinePanel.withBorder(Borders.singleLine("Pipeline"))
+    );
+    monitoringPanel.addComponent(alertsColumnPanel);
     Panel rootPanel = new Panel(new LinearLayout(Direction.VERTICAL));
     rootPanel.addComponent(
         this.settingsPanel.withBorder(Borders.singleLine("Monitoring Settings"))
@@ -109,8 +120,24 @@ class MonitoringWindow extends BasicWindow {
         terminalSize.getRows() * 6 / 8
     );
 
+    TerminalSize pipelineSection = new TerminalSize(
+        terminalSize.getColumns() / 2,
+        terminalSize.getRows() * 2 / 8
+    );
+    TerminalSize alertsSection = new TerminalSize(
+        terminalSize.getColumns() / 2,
+        Math.max(1, monitoringSections.getRows() - pipelineSection.getRows() - 2)
+    );
+
     this.trafficStatisticsPanel.setPreferredSize(monitoringSections);
-    this.trafficAlertsPanel.setPreferredSize(monitoringSections);
+    this.trafficAlertsPanel.setPreferredSize(alertsSection);
+    this.pipelinePanel.setPreferredSize(pipelineSection);
+  }
+
+  void handleMetricsReport(MetricsReport metricsReport) {
+    this.pipelinePanel.removeAllComponents();
+    GuiFormatUtils.toMetricsLines(metricsReport)
+        .forEach(line -> this.pipelinePanel.addComponent(new Label(line)));
   }
 
   void handleTrafficStatistics(TrafficStatistic trafficStatistic) {
@@ -138,15 +165,49 @@ class MonitoringWindow extends BasicWindow {
         + trafficStatistic.getServerErrorRequestCount()).setForegroundColor(
         TextColor.Factory.fromString("#cc0000"))
     );
+    this.trafficStatisticsPanel.addComponent(new Label("Informational requests: "
+        + trafficStatistic.getStatusHistogram().getClassCount(1)));
+    this.trafficStatisticsPanel.addComponent(new Label("Redirection requests: "
+        + trafficStatistic.getStatusHistogram().getClassCount(3)));
+    this.trafficStatisticsPanel.addComponent(new Label("Status codes: "
+        + GuiFormatUtils.toStatusCodesLine(trafficStatistic.getStatusHistogram())));
     this.trafficStatisticsPanel.addComponent(new Label("Total traffic size: "
         + GuiFormatUtils.humanReadableByteCount(trafficStatistic.getTotalTrafficSize())));
-    this.trafficStatisticsPanel.addComponent(new Label("\nHits By Section").addStyle(SGR.BOLD));
-    trafficStatistic.getSectionsHits()
-        .forEach(entry ->
+    this.trafficStatisticsPanel.addComponent(new Label("Response size: "
+        + GuiFormatUtils.toSizeQuantiles(trafficStatistic.getSizeHistogram())));
+    this.trafficStatisticsPanel.addComponent(new Label("Distinct clients: "
+        + trafficStatistic.getDistinctClientsCount()));
+    this.trafficStatisticsPanel.addComponent(new Label("Late lines: "
+        + trafficStatistic.getLateEventsCount()));
+    this.trafficStatisticsPanel.addComponent(new Label("Future lines: "
+        + trafficStatistic.getFutureEventsCount()));
+    this.trafficStatisticsPanel.addComponent(new Label("\nHits By Log Time").addStyle(SGR.BOLD));
+    trafficStatistic.getEventTimeWindows()
+        .forEach(window ->
             this.trafficStatisticsPanel.addComponent(
-                new Label(entry.getKey() + " " + entry.getValue())
+                new Label(GuiFormatUtils.toWindowLine(window))
             )
       );
+    addTopHits("Hits By Section", trafficStatistic.getSectionsHits(),
+        trafficStatistic.getSectionsSizeHistograms(), trafficStatistic);
+    this.trafficStatisticsPanel.addComponent(new Label("\nErrors By Section").addStyle(SGR.BOLD));
+    trafficStatistic.getSectionsHits()
+        .forEach(entry ->
+            this.trafficStatisticsPanel.addComponent(new Label(GuiFormatUtils
+                .toSectionErrorsLine(entry.getKey(), trafficStatistic.getTrafficCube())
+            ))
+    );
+    this.trafficStatisticsPanel.addComponent(new Label("\nHits By Path").addStyle(SGR.BOLD));
+    trafficStatistic.getSectionsHits()
+        .forEach(entry ->
+            this.trafficStatisticsPanel.addComponent(new Label(GuiFormatUtils
+                .toSubPathsLine(entry.getKey(), trafficStatistic.getPathTrie())
+            ))
+    );
+    addTopHits("Hits By Host", trafficStatistic.getHostsHits(), Collections.emptyMap(),
+        trafficStatistic);
+    addTopHits("Hits By Resource", trafficStatistic.getResourcesHits(), Collections.emptyMap(),
+        trafficStatistic);
     this.trafficStatisticsPanel.addComponent(new Label("\nHits By Method").addStyle(SGR.BOLD));
     trafficStatistic.getMethodsHits().entrySet().stream()
         .sorted(Collections.reverseOrder(comparingByValue()))
@@ -157,6 +218,18 @@ class MonitoringWindow extends BasicWindow {
     );
   }
 
+  private void addTopHits(String title, List<Map.Entry<String, Integer>> topHits,
+      Map<String, LogHistogram> sizeHistograms, TrafficStatistic trafficStatistic) {
+    this.trafficStatisticsPanel.addComponent(
+        new Label("\n" + GuiFormatUtils.toTopHitsTitle(title, trafficStatistic))
+            .addStyle(SGR.BOLD));
+    topHits.forEach(entry ->
+        this.trafficStatisticsPanel.addComponent(
+            new Label(GuiFormatUtils.toTopHitsLine(entry, sizeHistograms))
+        )
+    );
+  }
+
   void handleTrafficAlert(TrafficAlert alert) {
     this.trafficAlertsBuffer.add(alert);
     this.trafficAlertsPanel.removeAllComponents();
@@ -167,7 +240,8 @@ class MonitoringWindow extends BasicWindow {
       } else {
         label.setForegroundColor(TextColor.Factory.fromString("#003c00"));
       }
-      label.setText(label.getText() + "\n ");
+      label.setText(label.getText() + " - " + trafficAlert.getDistinctClientsCount()
+          + " distinct clients\n ");
       this.trafficAlertsPanel.addComponent(label);
     }
   }
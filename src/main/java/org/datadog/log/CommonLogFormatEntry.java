@@ -1,17 +1,23 @@
 package org.datadog.log;
 
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 import lombok.Builder;
+import lombok.NonNull;
 import lombok.Value;
+import org.datadog.utils.CommonLogFormatUtils;
 
 /**
  * Represents a common log format entry.
+ * The date time, the method, the status and the size are held as primitives or constants and
+ *  the host, the protocol and the section are shared between entries, so an entry only owns
+ *  its resource url and user ids.
  * This class is immutable.
  */
 @Value
 @Builder
-public class CommonLogFormatEntry {
+public class CommonLogFormatEntry implements LogEntry {
 
   /**
    * The IP address of the client (remote host) which made the request to the server.
@@ -29,20 +35,36 @@ public class CommonLogFormatEntry {
   private final String userId;
 
   /**
-   *  The date, time, and time zone that the server finished processing the request..
+   * The date and time that the server finished processing the request, in milliseconds
+   *  from the epoch of 1970-01-01T00:00:00Z.
    */
-  private final ZonedDateTime logDateTime;
+  private final long epochMillis;
 
   /**
-   * The HTTP method used by the client (GET, POST, PUT, PATCH, DELETE ...)
+   * The time zone offset of the server that processed the request.
    */
-  private final String method;
+  private final ZoneOffset zoneOffset;
+
+  /**
+   * The standard HTTP method used by the client, null for an extension method.
+   */
+  private final HttpMethod httpMethod;
+
+  /**
+   * The HTTP method used by the client if it is not a standard one, null otherwise.
+   */
+  private final String extensionMethod;
 
   /**
    * The resource requested by the client.
    */
   private final String resource;
 
+  /**
+   * The web site section of the requested resource, null if the resource has no section.
+   */
+  private final String section;
+
   /**
    * The protocol used by the client to perform the request.
    */
@@ -51,12 +73,123 @@ public class CommonLogFormatEntry {
   /**
    * The status code that the server sends back to the client.
    */
-  private final int status;
+  private final short status;
 
   /**
    * The size of the object returned to the client, not including the response headers,
    *  measured in bytes.
    */
-  private final int size;
+  private final long size;
+
+  /**
+   * A {@link CommonLogFormatEntry} builder.
+   * The host, the protocol and the section are shared through bounded flyweight tables.
+   */
+  public static class CommonLogFormatEntryBuilder {
+
+    /**
+     * Sets the IP address of the client.
+     * @param host The IP address of the client.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder host(String host) {
+      this.host = SharedStrings.HOSTS.intern(host);
+      return this;
+    }
+
+    /**
+     * Sets the IP address of the client from a region of a {@link CharSequence}.
+     * No {@link String} is created if the host is already shared.
+     * @param text The text holding the host.
+     * @param start The index of the first character of the host.
+     * @param end The index after the last character of the host.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder host(CharSequence text, int start, int end) {
+      this.host = SharedStrings.HOSTS.intern(text, start, end);
+      return this;
+    }
+
+    /**
+     * Sets the epoch millis and the zone offset of the entry from a {@link ZonedDateTime}.
+     * @param logDateTime The log {@link ZonedDateTime}.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder logDateTime(@NonNull ZonedDateTime logDateTime) {
+      this.epochMillis = logDateTime.toInstant().toEpochMilli();
+      this.zoneOffset = logDateTime.getOffset();
+      return this;
+    }
+
+    /**
+     * Sets the HTTP method used by the client.
+     * @param method The HTTP method name.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder method(@NonNull String method) {
+      return method(method, 0, method.length());
+    }
+
+    /**
+     * Sets the HTTP method used by the client from a region of a {@link CharSequence}.
+     * No {@link String} is created for a standard HTTP method.
+     * @param text The text holding the HTTP method name.
+     * @param start The index of the first character of the HTTP method name.
+     * @param end The index after the last character of the HTTP method name.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder method(CharSequence text, int start, int end) {
+      this.httpMethod = HttpMethod.fromName(text, start, end);
+      this.extensionMethod = this.httpMethod == null
+          ? SharedStrings.EXTENSION_METHODS.intern(text, start, end) : null;
+      return this;
+    }
+
+    /**
+     * Sets the resource requested by the client and its section.
+     * @param resource The resource url.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder resource(@NonNull String resource) {
+      this.resource = resource;
+      int sectionEnd = CommonLogFormatUtils.findSectionEnd(resource, 0, resource.length());
+      this.section = sectionEnd < 0
+          ? null : SharedStrings.SECTIONS.intern(resource, 1, sectionEnd);
+      return this;
+    }
+
+    /**
+     * Sets the protocol used by the client.
+     * @param protocol The protocol, null if absent.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder protocol(String protocol) {
+      this.protocol = SharedStrings.PROTOCOLS.intern(protocol);
+      return this;
+    }
+
+    /**
+     * Sets the protocol used by the client from a region of a {@link CharSequence}.
+     * @param text The text holding the protocol.
+     * @param start The index of the first character of the protocol.
+     * @param end The index after the last character of the protocol.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder protocol(CharSequence text, int start, int end) {
+      this.protocol = SharedStrings.PROTOCOLS.intern(text, start, end);
+      return this;
+    }
+
+    /**
+     * Sets the status code that the server sends back to the client.
+     * @param status The three digits status code.
+     * @return this builder.
+     */
+    public CommonLogFormatEntryBuilder status(int status) {
+      this.status = (short) status;
+      return this;
+    }
+
+  }
 
 }
@@ -0,0 +1,38 @@
+package org.datadog.log;
+
+/**
+ * The standard HTTP methods.
+ */
+public enum HttpMethod {
+
+  GET, HEAD, POST, PUT, DELETE, CONNECT, OPTIONS, TRACE, PATCH;
+
+  private static final HttpMethod[] METHODS = values();
+
+  /**
+   * Finds the standard HTTP method named by a region of a {@link CharSequence}.
+   * @param text The text holding the method name.
+   * @param start The index of the first character of the method name.
+   * @param end The index after the last character of the method name.
+   * @return the {@link HttpMethod}, null if the name is not a standard HTTP method.
+   */
+  public static HttpMethod fromName(CharSequence text, int start, int end) {
+    for (HttpMethod method : METHODS) {
+      String name = method.name();
+      if (name.length() == end - start && regionMatches(name, text, start)) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static boolean regionMatches(String name, CharSequence text, int start) {
+    for (int index = 0; index < name.length(); index++) {
+      if (name.charAt(index) != text.charAt(start + index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
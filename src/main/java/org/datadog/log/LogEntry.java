@@ -0,0 +1,104 @@
+package org.datadog.log;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * The fields of a HTTP access log entry.
+ * Implemented by the immutable {@link CommonLogFormatEntry} and by reusable views over a log
+ *  line whose fields are only extracted when they are accessed.
+ */
+public interface LogEntry {
+
+  /**
+   * Returns the IP address of the client (remote host) which made the request to the server.
+   * @return the client host.
+   */
+  String getHost();
+
+  /**
+   * Returns the RFC 1413 identity of the client.
+   * @return the identity of the client, null if it is missing.
+   */
+  String getUserRfcId();
+
+  /**
+   * Returns the userid of the person requesting the document.
+   * @return the userid, null if it is missing.
+   */
+  String getUserId();
+
+  /**
+   * Returns the date and time that the server finished processing the request.
+   * @return the number of milliseconds from the epoch of 1970-01-01T00:00:00Z.
+   */
+  long getEpochMillis();
+
+  /**
+   * Returns the time zone offset of the server that processed the request.
+   * @return the {@link ZoneOffset} of the log date time.
+   */
+  ZoneOffset getZoneOffset();
+
+  /**
+   * Returns the standard HTTP method used by the client.
+   * @return the {@link HttpMethod}, null for an extension method.
+   */
+  HttpMethod getHttpMethod();
+
+  /**
+   * Returns the HTTP method used by the client if it is not a standard one.
+   * @return the extension method name, null for a standard method.
+   */
+  String getExtensionMethod();
+
+  /**
+   * Returns the resource requested by the client.
+   * @return the resource url.
+   */
+  String getResource();
+
+  /**
+   * Returns the web site section of the requested resource.
+   * @return the section, null if the resource has no section.
+   */
+  String getSection();
+
+  /**
+   * Returns the protocol used by the client to perform the request.
+   * @return the protocol, null if it is missing.
+   */
+  String getProtocol();
+
+  /**
+   * Returns the status code that the server sends back to the client.
+   * @return the status code.
+   */
+  short getStatus();
+
+  /**
+   * Returns the size of the object returned to the client, measured in bytes.
+   * @return the response size.
+   */
+  long getSize();
+
+  /**
+   * Builds the date, time, and time zone that the server finished processing the request.
+   * The {@link ZonedDateTime} is only created when requested.
+   * @return the log {@link ZonedDateTime}.
+   */
+  default ZonedDateTime getLogDateTime() {
+    return ZonedDateTime.ofInstant(Instant.ofEpochMilli(getEpochMillis()), getZoneOffset());
+  }
+
+  /**
+   * Returns the name of the HTTP method used by the client.
+   * @return the HTTP method name (GET, POST, PUT, PATCH, DELETE ...).
+   */
+  default String getMethod() {
+    HttpMethod httpMethod = getHttpMethod();
+    return httpMethod != null ? httpMethod.name() : getExtensionMethod();
+  }
+
+}
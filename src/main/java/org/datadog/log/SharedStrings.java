@@ -0,0 +1,18 @@
+package org.datadog.log;
+
+import org.datadog.utils.StringInterner;
+
+/**
+ * The bounded flyweight tables of the log entry fields whose values repeat across entries.
+ */
+public final class SharedStrings {
+
+  public static final StringInterner HOSTS = new StringInterner(4096);
+  public static final StringInterner PROTOCOLS = new StringInterner(16);
+  public static final StringInterner SECTIONS = new StringInterner(4096);
+  public static final StringInterner EXTENSION_METHODS = new StringInterner(16);
+
+  private SharedStrings() {
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.datadog.metrics;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Counts the entries of a refresh period by aggregation time, in {@link #BUCKETS_COUNT} buckets
+ *  spanning the period, so that the time elapsed since the aggregation of every entry can be
+ *  recorded at any later time, within 1/{@link #BUCKETS_COUNT} of the period.
+ * The entries aggregated after the expected end of the period, when the refresh is late, are
+ *  counted in the last bucket. The buckets are only allocated by the first record.
+ * This class is not thread safe.
+ */
+public class AggregationTimeline {
+
+  public static final int BUCKETS_COUNT = 1024;
+
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+
+  private final long startNanos;
+  private final long bucketNanos;
+  private long[] counts;
+  private long totalCount = 0L;
+
+  /**
+   * Creates a new empty {@link AggregationTimeline}.
+   * @param startNanos The {@link System#nanoTime()} of the start of the period.
+   * @param periodNanos The expected duration of the period in nanoseconds.
+   */
+  public AggregationTimeline(long startNanos, long periodNanos) {
+    Preconditions.checkArgument(periodNanos > 0, "Period must be > 0.");
+    this.startNanos = startNanos;
+    this.bucketNanos = Math.max(1L, (periodNanos + BUCKETS_COUNT - 1) / BUCKETS_COUNT);
+  }
+
+  /**
+   * Counts an entry aggregated at a time.
+   * @param aggregatedNanos The {@link System#nanoTime()} of the aggregation.
+   */
+  public void record(long aggregatedNanos) {
+    if (this.counts == null) {
+      this.counts = new long[BUCKETS_COUNT];
+    }
+    long bucket = (aggregatedNanos - this.startNanos) / this.bucketNanos;
+    this.counts[(int) Math.max(0L, Math.min(BUCKETS_COUNT - 1, bucket))]++;
+    this.totalCount++;
+  }
+
+  /**
+   * Records, for every counted entry, the milliseconds elapsed since its aggregation.
+   * @param nowNanos The {@link System#nanoTime()} up to which the elapsed time is measured.
+   * @param latencyMillis The {@link LatencyHistogram} of the elapsed milliseconds.
+   */
+  public void recordElapsedMillis(long nowNanos, LatencyHistogram latencyMillis) {
+    if (this.counts == null) {
+      return;
+    }
+    for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+      if (this.counts[bucket] > 0) {
+        long bucketMiddleNanos = this.startNanos + bucket * this.bucketNanos
+            + this.bucketNanos / 2;
+        latencyMillis.record((nowNanos - bucketMiddleNanos) / NANOS_PER_MILLI,
+            this.counts[bucket]);
+      }
+    }
+  }
+
+  /**
+   * Retrieves the number of counted entries.
+   * @return the total count.
+   */
+  public long getTotalCount() {
+    return this.totalCount;
+  }
+
+  @Override
+  public String toString() {
+    return "AggregationTimeline(totalCount=" + this.totalCount + ")";
+  }
+
+}
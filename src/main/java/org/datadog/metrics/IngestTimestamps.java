@@ -0,0 +1,60 @@
+package org.datadog.metrics;
+
+/**
+ * The ingest timestamps of the line processed by the current thread.
+ * The file watcher marks the {@link System#nanoTime()} at which it read the chunk holding the
+ *  line, then the handler marks the time at which the line was parsed. The stages read the
+ *  timestamps of the previous one to record their latency without the timestamps being part of
+ *  the line or of the entry.
+ * As a line is read, parsed and aggregated by different threads, the ingest pipeline carries
+ *  the timestamps in the ring buffer slot of the line, and each stage marks them again on its
+ *  own thread before processing the line.
+ */
+public final class IngestTimestamps {
+
+  /**
+   * The value of a timestamp not marked by the current thread.
+   */
+  public static final long NOT_MARKED = Long.MIN_VALUE;
+
+  private static final ThreadLocal<long[]> TIMESTAMPS = ThreadLocal.withInitial(
+      () -> new long[] {NOT_MARKED, NOT_MARKED});
+
+  private IngestTimestamps() {
+  }
+
+  /**
+   * Marks the read time of the lines the current thread is about to process.
+   * @param readNanos The {@link System#nanoTime()} of the read.
+   */
+  public static void markRead(long readNanos) {
+    long[] timestamps = TIMESTAMPS.get();
+    timestamps[0] = readNanos;
+    timestamps[1] = NOT_MARKED;
+  }
+
+  /**
+   * Marks the parse time of the line processed by the current thread.
+   * @param parsedNanos The {@link System#nanoTime()} at which the line was parsed.
+   */
+  public static void markParsed(long parsedNanos) {
+    TIMESTAMPS.get()[1] = parsedNanos;
+  }
+
+  /**
+   * Retrieves the read time of the line processed by the current thread.
+   * @return the {@link System#nanoTime()} of the read, {@link #NOT_MARKED} if not marked.
+   */
+  public static long getReadNanos() {
+    return TIMESTAMPS.get()[0];
+  }
+
+  /**
+   * Retrieves the parse time of the line processed by the current thread.
+   * @return the {@link System#nanoTime()} of the parse, {@link #NOT_MARKED} if not marked.
+   */
+  public static long getParsedNanos() {
+    return TIMESTAMPS.get()[1];
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.datadog.metrics;
+
+import org.datadog.statitics.LogHistogram;
+
+/**
+ * Records latencies in a {@link LogHistogram} that is handed over and reset at every
+ *  {@link MetricsRegistry} snapshot, so each snapshot holds the latencies of its own interval.
+ * A record takes an uncontended lock, as a stage is timed by the single thread running it.
+ * This class is thread safe.
+ */
+public class LatencyHistogram {
+
+  private LogHistogram intervalHistogram = new LogHistogram();
+
+  /**
+   * Records a latency.
+   * @param latency The latency, in the unit of the histogram name. A negative latency, caused by
+   *                clocks adjustments, is recorded as 0.
+   */
+  public synchronized void record(long latency) {
+    this.intervalHistogram.record(Math.max(0, latency));
+  }
+
+  /**
+   * Records the same latency for several events.
+   * @param latency The latency, in the unit of the histogram name.
+   * @param count The number of events.
+   */
+  public synchronized void record(long latency, long count) {
+    this.intervalHistogram.record(Math.max(0, latency), count);
+  }
+
+  /**
+   * Records the nanoseconds elapsed since a start time.
+   * @param startNanos The start time, as returned by {@link System#nanoTime()}.
+   * @return the current {@link System#nanoTime()}, the start time of the next stage.
+   */
+  public long recordSince(long startNanos) {
+    long nowNanos = System.nanoTime();
+    record(nowNanos - startNanos);
+    return nowNanos;
+  }
+
+  /**
+   * Hands over the latencies recorded since the previous call.
+   * @return the {@link LogHistogram} of the interval, no longer updated.
+   */
+  synchronized LogHistogram getIntervalHistogram() {
+    LogHistogram histogram = this.intervalHistogram;
+    this.intervalHistogram = new LogHistogram();
+    return histogram;
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.datadog.metrics;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.statitics.LogHistogram;
+
+/**
+ * A lightweight registry of the metrics of the ingestion pipeline stages.
+ * The counters are {@link LongAdder} updated by the stages, the gauges are sampled at snapshot
+ *  time and the latencies are recorded in {@link LatencyHistogram}. The metrics are created on
+ *  first use, so a stage looks its metrics up once and keeps them.
+ * This class is thread safe.
+ */
+@Slf4j
+public class MetricsRegistry {
+
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+  /**
+   * Retrieves a counter, creating it if needed.
+   * @param name The counter name.
+   * @return the {@link LongAdder} of the name.
+   */
+  public LongAdder counter(@NonNull String name) {
+    return this.counters.computeIfAbsent(name, counterName -> new LongAdder());
+  }
+
+  /**
+   * Retrieves a latency histogram, creating it if needed.
+   * @param name The latency name, ending with its unit.
+   * @return the {@link LatencyHistogram} of the name.
+   */
+  public LatencyHistogram latency(@NonNull String name) {
+    return this.latencies.computeIfAbsent(name, latencyName -> new LatencyHistogram());
+  }
+
+  /**
+   * Registers a gauge, replacing the gauge of the same name if any.
+   * @param name The gauge name.
+   * @param gauge The {@link LongSupplier} sampled at snapshot time. It must be thread safe.
+   */
+  public void gauge(@NonNull String name, @NonNull LongSupplier gauge) {
+    this.gauges.put(name, gauge);
+  }
+
+  /**
+   * Takes a snapshot of the metrics.
+   * The latencies are the ones recorded since the previous snapshot.
+   * @return a new {@link MetricsSnapshot}.
+   */
+  public MetricsSnapshot snapshot() {
+    SortedMap<String, Long> countersValues = new TreeMap<>();
+    this.counters.forEach((name, counter) -> countersValues.put(name, counter.sum()));
+    SortedMap<String, Long> gaugesValues = new TreeMap<>();
+    for (Map.Entry<String, LongSupplier> gauge : this.gauges.entrySet()) {
+      try {
+        gaugesValues.put(gauge.getKey(), gauge.getValue().getAsLong());
+      } catch (RuntimeException exception) {
+        log.error("Unable to sample the {} gauge.", gauge.getKey(), exception);
+      }
+    }
+    SortedMap<String, LogHistogram> latenciesHistograms = new TreeMap<>();
+    this.latencies.forEach((name, latency) ->
+        latenciesHistograms.put(name, latency.getIntervalHistogram()));
+    return new MetricsSnapshot(Instant.now(), System.nanoTime(), countersValues, gaugesValues,
+        latenciesHistograms);
+  }
+
+}
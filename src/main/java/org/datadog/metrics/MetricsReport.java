@@ -0,0 +1,44 @@
+package org.datadog.metrics;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The event published at every {@link MetricsReporter} period.
+ * It holds the new {@link MetricsSnapshot} and the previous one, against which the counters
+ *  rates are computed.
+ * This class is immutable.
+ */
+@Value
+public class MetricsReport {
+
+  /**
+   * The snapshot of the period.
+   */
+  @NonNull
+  private final MetricsSnapshot snapshot;
+
+  /**
+   * The snapshot of the previous period.
+   */
+  @NonNull
+  private final MetricsSnapshot previousSnapshot;
+
+  /**
+   * Computes the rate of a counter during the period.
+   * @param name The counter name.
+   * @return the counter increase per second.
+   */
+  public double getRatePerSecond(String name) {
+    return this.snapshot.getRatePerSecond(name, this.previousSnapshot);
+  }
+
+  /**
+   * Writes the report as a single line JSON object.
+   * @return the JSON object, see {@link MetricsSnapshot#toJson(MetricsSnapshot)}.
+   */
+  public String toJson() {
+    return this.snapshot.toJson(this.previousSnapshot);
+  }
+
+}
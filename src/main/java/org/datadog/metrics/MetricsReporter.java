@@ -0,0 +1,75 @@
+package org.datadog.metrics;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.eventbus.EventBus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically takes a {@link MetricsSnapshot} of a {@link MetricsRegistry}.
+ * The snapshot is posted on an {@link EventBus} in a {@link MetricsReport} to be displayed and,
+ *  if a dump file is configured, appended to it as a JSON line so that the pipeline behaviour
+ *  can be analysed after a run.
+ */
+@Slf4j
+public class MetricsReporter {
+
+  private final EventBus eventBus;
+  private final MetricsRegistry metricsRegistry;
+  private final Path dumpPath;
+  private MetricsSnapshot previousSnapshot;
+
+  /**
+   * Creates a new {@link MetricsReporter}.
+   * @param eventBus The {@link EventBus} on which the {@link MetricsSnapshot} are posted.
+   * @param metricsRegistry The reported {@link MetricsRegistry}.
+   * @param reportPeriod The report period in seconds.
+   * @param dumpPath The file to which the snapshots are appended as JSON lines,
+   *                 null for no dump.
+   */
+  public MetricsReporter(@NonNull EventBus eventBus, @NonNull MetricsRegistry metricsRegistry,
+                         int reportPeriod, Path dumpPath) {
+    this.eventBus = eventBus;
+    this.metricsRegistry = metricsRegistry;
+    this.dumpPath = dumpPath;
+    this.previousSnapshot = metricsRegistry.snapshot();
+    Timer timer = new Timer(true);
+    timer.scheduleAtFixedRate(new TimerTask() {
+      public void run() {
+        report();
+      }
+    }, reportPeriod * 1000, reportPeriod * 1000);
+  }
+
+  /**
+   * Takes a {@link MetricsSnapshot}, posts it in a {@link MetricsReport} and dumps it.
+   * @return the posted {@link MetricsReport}.
+   */
+  @VisibleForTesting
+  public synchronized MetricsReport report() {
+    MetricsReport metricsReport = new MetricsReport(this.metricsRegistry.snapshot(),
+        this.previousSnapshot);
+    this.eventBus.post(metricsReport);
+    if (this.dumpPath != null) {
+      try {
+        Files.write(this.dumpPath, Collections.singletonList(metricsReport.toJson()),
+            StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (IOException exception) {
+        log.error("Unable to dump the pipeline metrics to {}.", this.dumpPath, exception);
+      }
+    }
+    this.previousSnapshot = metricsReport.getSnapshot();
+    return metricsReport;
+  }
+
+}
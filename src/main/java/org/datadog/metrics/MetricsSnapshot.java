@@ -0,0 +1,147 @@
+package org.datadog.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.datadog.statitics.LogHistogram;
+
+/**
+ * A snapshot of the {@link MetricsRegistry} metrics.
+ * The counters are cumulative, so their rates are computed against a previous snapshot, and the
+ *  latencies are the ones recorded since the previous snapshot.
+ * This class is immutable, the latencies histograms must not be updated.
+ */
+@Value
+public class MetricsSnapshot {
+
+  static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  /**
+   * The time of the snapshot.
+   */
+  private final Instant timestamp;
+
+  /**
+   * The {@link System#nanoTime()} of the snapshot, to compute the rates.
+   */
+  private final long nanoTime;
+
+  /**
+   * The cumulative counters values, by name.
+   */
+  private final SortedMap<String, Long> counters;
+
+  /**
+   * The gauges values, by name.
+   */
+  private final SortedMap<String, Long> gauges;
+
+  /**
+   * The latencies recorded since the previous snapshot, by name.
+   */
+  private final SortedMap<String, LogHistogram> latencies;
+
+  /**
+   * Creates a new {@link MetricsSnapshot}.
+   * @param timestamp The time of the snapshot.
+   * @param nanoTime The {@link System#nanoTime()} of the snapshot.
+   * @param counters The cumulative counters values, by name.
+   * @param gauges The gauges values, by name.
+   * @param latencies The latencies recorded since the previous snapshot, by name.
+   */
+  public MetricsSnapshot(@NonNull Instant timestamp, long nanoTime,
+                         @NonNull SortedMap<String, Long> counters,
+                         @NonNull SortedMap<String, Long> gauges,
+                         @NonNull SortedMap<String, LogHistogram> latencies) {
+    this.timestamp = timestamp;
+    this.nanoTime = nanoTime;
+    this.counters = Collections.unmodifiableSortedMap(counters);
+    this.gauges = Collections.unmodifiableSortedMap(gauges);
+    this.latencies = Collections.unmodifiableSortedMap(latencies);
+  }
+
+  /**
+   * Retrieves a counter value.
+   * @param name The counter name.
+   * @return the counter value, 0 if the counter does not exist.
+   */
+  public long getCounter(String name) {
+    return this.counters.getOrDefault(name, 0L);
+  }
+
+  /**
+   * Computes the rate of a counter since a previous snapshot.
+   * @param name The counter name.
+   * @param previous The previous {@link MetricsSnapshot}, null for the first snapshot.
+   * @return the counter increase per second, 0 if there is no previous snapshot.
+   */
+  public double getRatePerSecond(String name, MetricsSnapshot previous) {
+    if (previous == null || this.nanoTime <= previous.nanoTime) {
+      return 0;
+    }
+    return (getCounter(name) - previous.getCounter(name)) * NANOS_PER_SECOND
+        / (this.nanoTime - previous.nanoTime);
+  }
+
+  /**
+   * Writes the snapshot as a single line JSON object:
+   *  {"timestamp":"…","counters":{"name":{"total":…,"perSecond":…}},"gauges":{"name":…},
+   *  "latencies":{"name":{"count":…,"p50":…,"p90":…,"p99":…,"max":…}}}.
+   * @param previous The previous {@link MetricsSnapshot} to compute the rates, null for the
+   *                 first snapshot.
+   * @return the JSON object.
+   */
+  public String toJson(MetricsSnapshot previous) {
+    StringBuilder json = new StringBuilder("{\"timestamp\":\"").append(this.timestamp)
+        .append("\",\"counters\":{");
+    String separator = "";
+    for (Map.Entry<String, Long> counter : this.counters.entrySet()) {
+      appendName(json.append(separator), counter.getKey())
+          .append("{\"total\":").append(counter.getValue())
+          .append(",\"perSecond\":")
+          .append(String.format(Locale.ROOT, "%.3f", getRatePerSecond(counter.getKey(), previous)))
+          .append('}');
+      separator = ",";
+    }
+    json.append("},\"gauges\":{");
+    separator = "";
+    for (Map.Entry<String, Long> gauge : this.gauges.entrySet()) {
+      appendName(json.append(separator), gauge.getKey()).append(gauge.getValue());
+      separator = ",";
+    }
+    json.append("},\"latencies\":{");
+    separator = "";
+    for (Map.Entry<String, LogHistogram> latency : this.latencies.entrySet()) {
+      LogHistogram histogram = latency.getValue();
+      appendName(json.append(separator), latency.getKey())
+          .append("{\"count\":").append(histogram.getTotalCount());
+      for (double quantile : QUANTILES) {
+        json.append(",\"p").append(Math.round(quantile * 100)).append("\":")
+            .append(histogram.valueAtQuantile(quantile));
+      }
+      json.append(",\"max\":").append(histogram.getMax()).append('}');
+      separator = ",";
+    }
+    return json.append("}}").toString();
+  }
+
+  private static StringBuilder appendName(StringBuilder json, String name) {
+    json.append('"');
+    for (int index = 0; index < name.length(); index++) {
+      char character = name.charAt(index);
+      if (character == '"' || character == '\\') {
+        json.append('\\');
+      }
+      json.append(character);
+    }
+    return json.append("\":");
+  }
+
+}
@@ -0,0 +1,74 @@
+package org.datadog.metrics;
+
+/**
+ * The names of the metrics of the ingestion pipeline stages.
+ * The latencies names end with their unit, the sizes names with bytes.
+ */
+public final class PipelineMetrics {
+
+  /**
+   * The bytes read from the log file by the file watcher.
+   */
+  public static final String WATCHER_BYTES = "watcher.read.bytes";
+
+  /**
+   * The unread bytes between the file watcher cursor and the end of the log file.
+   */
+  public static final String WATCHER_BACKLOG_BYTES = "watcher.backlog.bytes";
+
+  /**
+   * The lines read from the log file and handed to the parser.
+   */
+  public static final String PARSER_LINES = "parser.lines";
+
+  /**
+   * The lines that are not valid Common Log Format lines.
+   */
+  public static final String PARSER_FAILURES = "parser.failures";
+
+  /**
+   * The parse time of a line.
+   */
+  public static final String PARSER_LATENCY_NANOS = "parser.latency.nanos";
+
+  /**
+   * The lag between the log date time of an entry and its processing.
+   */
+  public static final String LOG_LAG_MILLIS = "pipeline.log.lag.millis";
+
+  /**
+   * The time between the read of the chunk holding a line by the file watcher and the parse
+   *  of the line.
+   */
+  public static final String READ_TO_PARSED_NANOS = "ingest.read.parsed.nanos";
+
+  /**
+   * The time between the parse of a line and the aggregation of its entry.
+   */
+  public static final String PARSED_TO_AGGREGATED_NANOS = "ingest.parsed.aggregated.nanos";
+
+  /**
+   * The time between the aggregation of an entry and the evaluation of the alerts on the
+   *  traffic statistic holding it, including the wait for the end of the refresh period.
+   */
+  public static final String AGGREGATED_TO_ALERT_MILLIS = "ingest.aggregated.alert.millis";
+
+  /**
+   * The lines published to the ingest ring buffer and not aggregated yet.
+   */
+  public static final String RING_DEPTH_LINES = "pipeline.ring.depth.lines";
+
+  /**
+   * The lines dropped because the ingest ring buffer was full.
+   */
+  public static final String DROPPED_LINES = "pipeline.dropped.lines";
+
+  /**
+   * The lines skipped by the sampling of an overloaded ingest ring buffer.
+   */
+  public static final String SAMPLED_OUT_LINES = "pipeline.sampled.out.lines";
+
+  private PipelineMetrics() {
+  }
+
+}
@@ -1,7 +1,7 @@
 package org.datadog.modules;
 
 import com.google.inject.AbstractModule;
-import org.datadog.parser.CommonLogFormatParserImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
 import org.datadog.parser.Parser;
 
 /**
@@ -11,7 +11,7 @@ public class ParserModule extends AbstractModule {
 
   @Override
   protected void configure() {
-    bind(Parser.class).to(CommonLogFormatParserImpl.class);
+    bind(Parser.class).to(CommonLogFormatScannerParserImpl.class);
   }
 
 }
@@ -0,0 +1,167 @@
+package org.datadog.normalizer;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+
+/**
+ * A rule replacing the resource url path segments it matches with a placeholder.
+ * The built-in rules match the segments by scanning their characters, the custom ones with a
+ *  regular expression that must match the whole segment.
+ * This class is immutable.
+ */
+public final class NormalizationRule {
+
+  /**
+   * Replaces the UUID segments, such as 123e4567-e89b-12d3-a456-426655440000, with {uuid}.
+   */
+  public static final NormalizationRule UUID
+      = new NormalizationRule("{uuid}", "uuid", NormalizationRule::isUuid);
+
+  /**
+   * Replaces the decimal segments, such as 123, with {id}.
+   */
+  public static final NormalizationRule NUMBER
+      = new NormalizationRule("{id}", "number", NormalizationRule::isNumber);
+
+  /**
+   * Replaces the hexadecimal segments of at least {@link #MIN_HEX_LENGTH} characters holding at
+   *  least one digit, such as 5f3a9c0e, with {hex}. Words such as "deadbeef" are kept.
+   */
+  public static final NormalizationRule HEX
+      = new NormalizationRule("{hex}", "hex", NormalizationRule::isHex);
+
+  public static final int MIN_HEX_LENGTH = 8;
+
+  private static final char RULE_SEPARATOR = '=';
+
+  private final String placeholder;
+  private final String description;
+  private final Predicate<String> segmentMatcher;
+
+  private NormalizationRule(String placeholder, String description,
+      Predicate<String> segmentMatcher) {
+    this.placeholder = placeholder;
+    this.description = description;
+    this.segmentMatcher = segmentMatcher;
+  }
+
+  /**
+   * Creates a new {@link NormalizationRule} matching the segments with a regular expression.
+   * @param placeholder The placeholder replacing the matched segments.
+   * @param regex The regular expression that the whole segment must match.
+   * @return a new {@link NormalizationRule}.
+   * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid.
+   */
+  public static NormalizationRule ofPattern(@NonNull String placeholder, @NonNull String regex) {
+    Pattern pattern = Pattern.compile(regex);
+    return new NormalizationRule(placeholder, regex,
+        segment -> pattern.matcher(segment).matches());
+  }
+
+  /**
+   * Parses a rule of the form placeholder=regex, such as {sku}=SKU-[0-9]+.
+   * @param rule The rule.
+   * @return a new {@link NormalizationRule}.
+   * @throws IllegalArgumentException if the rule has no placeholder or no regular expression,
+   *     or if the regular expression is invalid.
+   */
+  public static NormalizationRule parse(@NonNull String rule) {
+    int separatorIndex = rule.indexOf(RULE_SEPARATOR);
+    if (separatorIndex <= 0 || separatorIndex == rule.length() - 1) {
+      throw new IllegalArgumentException(
+          String.format("Invalid normalization rule %s. Expected placeholder=regex", rule));
+    }
+    return ofPattern(rule.substring(0, separatorIndex), rule.substring(separatorIndex + 1));
+  }
+
+  /**
+   * Indicates if a path segment is replaced by this rule.
+   * @param segment The non empty path segment.
+   * @return true if the segment matches the rule.
+   */
+  public boolean matches(String segment) {
+    return this.segmentMatcher.test(segment);
+  }
+
+  /**
+   * Retrieves the placeholder replacing the matched segments.
+   * @return the placeholder.
+   */
+  public String getPlaceholder() {
+    return this.placeholder;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof NormalizationRule)) {
+      return false;
+    }
+    NormalizationRule otherRule = (NormalizationRule) other;
+    return this.placeholder.equals(otherRule.placeholder)
+        && this.description.equals(otherRule.description);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.placeholder, this.description);
+  }
+
+  @Override
+  public String toString() {
+    return this.placeholder + RULE_SEPARATOR + this.description;
+  }
+
+  private static boolean isNumber(String segment) {
+    for (int index = 0; index < segment.length(); index++) {
+      char character = segment.charAt(index);
+      if (character < '0' || character > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isHex(String segment) {
+    if (segment.length() < MIN_HEX_LENGTH) {
+      return false;
+    }
+    boolean hasDigit = false;
+    for (int index = 0; index < segment.length(); index++) {
+      char character = segment.charAt(index);
+      if (character >= '0' && character <= '9') {
+        hasDigit = true;
+      } else if (!isHexLetter(character)) {
+        return false;
+      }
+    }
+    return hasDigit;
+  }
+
+  private static boolean isUuid(String segment) {
+    if (segment.length() != 36) {
+      return false;
+    }
+    for (int index = 0; index < segment.length(); index++) {
+      char character = segment.charAt(index);
+      if (index == 8 || index == 13 || index == 18 || index == 23) {
+        if (character != '-') {
+          return false;
+        }
+      } else if ((character < '0' || character > '9') && !isHexLetter(character)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isHexLetter(char character) {
+    return (character >= 'a' && character <= 'f') || (character >= 'A' && character <= 'F');
+  }
+
+}
@@ -0,0 +1,148 @@
+package org.datadog.normalizer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import org.datadog.utils.StringInterner;
+
+/**
+ * Normalizes the resource urls before they are aggregated, so that /users/123/orders/456?x=1
+ *  and /users/124/orders/457 are both counted as /users/{id}/orders/{id}.
+ * The query string and the fragment are stripped, then every path segment is replaced by the
+ *  placeholder of the first {@link NormalizationRule} it matches.
+ * The normalized resources are memoized by path in a least recently used map of bounded size,
+ *  so a repeated url costs one hash lookup, and the normalized values are shared.
+ * This class is thread safe, but a normalizer is meant to be used by a single thread: the
+ *  other threads should use a {@link #copy()}.
+ */
+public class ResourceNormalizer {
+
+  public static final int DEFAULT_MEMO_SIZE = 10_000;
+
+  /**
+   * The built-in rules, applied after the custom ones.
+   */
+  public static final List<NormalizationRule> DEFAULT_RULES = Collections.unmodifiableList(
+      Arrays.asList(NormalizationRule.UUID, NormalizationRule.NUMBER, NormalizationRule.HEX));
+
+  private final List<NormalizationRule> rules;
+  private final int memoSize;
+  private final Map<String, String> memo;
+  private final StringInterner normalizedResources;
+
+  /**
+   * Creates a new {@link ResourceNormalizer} with the {@link #DEFAULT_RULES}.
+   */
+  public ResourceNormalizer() {
+    this(DEFAULT_RULES, DEFAULT_MEMO_SIZE);
+  }
+
+  /**
+   * Creates a new {@link ResourceNormalizer}.
+   * @param rules The {@link NormalizationRule} applied to every path segment, in order.
+   * @param memoSize The maximum number of memoized paths.
+   */
+  public ResourceNormalizer(@NonNull List<NormalizationRule> rules, int memoSize) {
+    Preconditions.checkArgument(memoSize > 0, "The memo size must be positive");
+    this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    this.memoSize = memoSize;
+    this.memo = new LinkedHashMap<String, String>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > memoSize;
+      }
+    };
+    this.normalizedResources = new StringInterner(memoSize);
+  }
+
+  /**
+   * Normalizes a resource url.
+   * @param resource The resource url.
+   * @return the resource path with its matching segments replaced by placeholders.
+   */
+  public synchronized String normalize(@NonNull String resource) {
+    int pathEnd = findPathEnd(resource);
+    String path = pathEnd == resource.length() ? resource : resource.substring(0, pathEnd);
+    String normalized = this.memo.get(path);
+    if (normalized == null) {
+      normalized = this.normalizedResources.intern(normalizePath(path));
+      this.memo.put(path, normalized);
+    }
+    return normalized;
+  }
+
+  /**
+   * Creates a normalizer with the same rules and memo size and an empty memo.
+   * @return a new {@link ResourceNormalizer}.
+   */
+  public ResourceNormalizer copy() {
+    return new ResourceNormalizer(this.rules, this.memoSize);
+  }
+
+  /**
+   * Retrieves the rules applied to every path segment.
+   * @return the {@link NormalizationRule} list.
+   */
+  public List<NormalizationRule> getRules() {
+    return this.rules;
+  }
+
+  @VisibleForTesting
+  synchronized boolean isMemoized(String path) {
+    return this.memo.containsKey(path);
+  }
+
+  private String normalizePath(String path) {
+    StringBuilder normalized = null;
+    int segmentStart = 0;
+    for (int index = 0; index <= path.length(); index++) {
+      if (index < path.length() && path.charAt(index) != '/') {
+        continue;
+      }
+      if (index > segmentStart) {
+        String placeholder = findPlaceholder(path.substring(segmentStart, index));
+        if (placeholder != null) {
+          if (normalized == null) {
+            normalized = new StringBuilder(path.length()).append(path, 0, segmentStart);
+          }
+          normalized.append(placeholder);
+        } else if (normalized != null) {
+          normalized.append(path, segmentStart, index);
+        }
+      }
+      if (index < path.length() && normalized != null) {
+        normalized.append('/');
+      }
+      segmentStart = index + 1;
+    }
+    return normalized == null ? path : normalized.toString();
+  }
+
+  private String findPlaceholder(String segment) {
+    for (NormalizationRule rule : this.rules) {
+      if (rule.matches(segment)) {
+        return rule.getPlaceholder();
+      }
+    }
+    return null;
+  }
+
+  private static int findPathEnd(String resource) {
+    for (int index = 0; index < resource.length(); index++) {
+      char character = resource.charAt(index);
+      if (character == '?' || character == '#') {
+        return index;
+      }
+    }
+    return resource.length();
+  }
+
+}
@@ -0,0 +1,56 @@
+package org.datadog.parser;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharSequence} view over a slice of a byte array holding ASCII characters.
+ * Every byte is read as an ISO-8859-1 char so no decoding nor copy is performed.
+ */
+public final class AsciiSequence implements CharSequence {
+
+  private final byte[] bytes;
+  private final int offset;
+  private final int length;
+
+  /**
+   * Creates a {@link CharSequence} view over a byte array slice.
+   * @param bytes The byte array.
+   * @param offset The index of the first byte of the slice.
+   * @param length The number of bytes of the slice.
+   */
+  public AsciiSequence(byte[] bytes, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > bytes.length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Invalid slice [%d, %d[ of %d bytes", offset, offset + length,
+              bytes.length));
+    }
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public int length() {
+    return this.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (this.bytes[this.offset + index] & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > this.length || start > end) {
+      throw new IndexOutOfBoundsException(
+          String.format("Invalid sub sequence [%d, %d[ of %d chars", start, end, this.length));
+    }
+    return new AsciiSequence(this.bytes, this.offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    return new String(this.bytes, this.offset, this.length, StandardCharsets.ISO_8859_1);
+  }
+
+}
@@ -0,0 +1,256 @@
+package org.datadog.parser;
+
+import java.time.ZoneOffset;
+
+import lombok.NonNull;
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.log.HttpMethod;
+import org.datadog.log.LogEntry;
+import org.datadog.log.SharedStrings;
+import org.datadog.utils.CommonLogFormatUtils;
+import org.datadog.utils.LogDateTimeDecoder;
+
+import static org.datadog.parser.CommonLogFormatScanner.DATE_TIME;
+import static org.datadog.parser.CommonLogFormatScanner.HOST;
+import static org.datadog.parser.CommonLogFormatScanner.METHOD;
+import static org.datadog.parser.CommonLogFormatScanner.PROTOCOL;
+import static org.datadog.parser.CommonLogFormatScanner.RESOURCE;
+import static org.datadog.parser.CommonLogFormatScanner.USER_ID;
+import static org.datadog.parser.CommonLogFormatScanner.USER_RFC_ID;
+
+/**
+ * A reusable {@link LogEntry} view over a Common Log Format line.
+ * Wrapping a line scans it with a {@link CommonLogFormatScanner} and decodes its date time,
+ *  status and size, so invalid lines are rejected as by {@link CommonLogFormatScannerParserImpl}.
+ *  The other fields are extracted from the line on first access only.
+ * The view reads the wrapped line directly: it is only valid until the next wrap or until the
+ *  line content is overwritten. {@link #detach()} copies it out to a {@link CommonLogFormatEntry}
+ *  that can be kept.
+ * This class is not thread safe.
+ */
+public class CommonLogFormatEntryView implements LogEntry {
+
+  private static final int SECTION = CommonLogFormatScanner.SIZE + 1;
+
+  private final LogDateTimeDecoder logDateTimeDecoder;
+  private final LogDateTimeDecoder.DecodedDateTime decodedDateTime
+      = new LogDateTimeDecoder.DecodedDateTime();
+  private final int[] boundaries = new int[CommonLogFormatScanner.BOUNDARIES_LENGTH];
+  private CharSequence line;
+  private int extractedFields;
+  private long epochMillis;
+  private ZoneOffset zoneOffset;
+  private short status;
+  private long size;
+  private String host;
+  private String userRfcId;
+  private String userId;
+  private HttpMethod httpMethod;
+  private String extensionMethod;
+  private String resource;
+  private String section;
+  private String protocol;
+
+  /**
+   * Creates a new {@link CommonLogFormatEntryView} with its own {@link LogDateTimeDecoder}.
+   */
+  public CommonLogFormatEntryView() {
+    this(new LogDateTimeDecoder());
+  }
+
+  /**
+   * Creates a new {@link CommonLogFormatEntryView}.
+   * @param logDateTimeDecoder The {@link LogDateTimeDecoder} used to decode the date times.
+   */
+  public CommonLogFormatEntryView(@NonNull LogDateTimeDecoder logDateTimeDecoder) {
+    this.logDateTimeDecoder = logDateTimeDecoder;
+  }
+
+  /**
+   * Wraps a Common Log Format line.
+   * @param line The line to wrap. It must not change while the view is used.
+   * @return this view.
+   * @throws ParseException if the line is not a valid Common Log Format line.
+   *     The view is then left empty.
+   */
+  public CommonLogFormatEntryView wrap(@NonNull CharSequence line) throws ParseException {
+    this.line = null;
+    CommonLogFormatScanner.scan(line, this.boundaries);
+    int dateTimeStart = this.boundaries[2 * DATE_TIME];
+    int dateTimeEnd = this.boundaries[2 * DATE_TIME + 1];
+    this.logDateTimeDecoder.decode(line, dateTimeStart, dateTimeEnd, this.decodedDateTime);
+    this.epochMillis = this.decodedDateTime.getEpochSecond() * 1000;
+    this.zoneOffset = this.decodedDateTime.getZoneOffset();
+    this.status = (short) CommonLogFormatScanner.status(line, this.boundaries);
+    this.size = CommonLogFormatScanner.size(line, this.boundaries);
+    this.extractedFields = 0;
+    this.line = line;
+    return this;
+  }
+
+  /**
+   * Wraps a Common Log Format line held by a slice of a byte array of ASCII characters.
+   * @param bytes The byte array. The slice must not change while the view is used.
+   * @param offset The index of the first byte of the line.
+   * @param length The number of bytes of the line.
+   * @return this view.
+   * @throws ParseException if the line is not a valid Common Log Format line.
+   *     The view is then left empty.
+   */
+  public CommonLogFormatEntryView wrap(@NonNull byte[] bytes, int offset, int length)
+      throws ParseException {
+    return wrap(new AsciiSequence(bytes, offset, length));
+  }
+
+  /**
+   * Copies the wrapped line out to an entry that does not depend on the line anymore.
+   * @return a new {@link CommonLogFormatEntry} equal to the one parsed from the line.
+   */
+  public CommonLogFormatEntry detach() {
+    return CommonLogFormatEntry.builder()
+        .host(getHost())
+        .userRfcId(getUserRfcId())
+        .userId(getUserId())
+        .epochMillis(this.epochMillis)
+        .zoneOffset(this.zoneOffset)
+        .httpMethod(getHttpMethod())
+        .extensionMethod(getExtensionMethod())
+        .resource(getResource())
+        .protocol(getProtocol())
+        .status(this.status)
+        .size(this.size)
+        .build();
+  }
+
+  @Override
+  public String getHost() {
+    if (extract(HOST)) {
+      this.host = SharedStrings.HOSTS.intern(wrappedLine(), this.boundaries[2 * HOST],
+          this.boundaries[2 * HOST + 1]);
+    }
+    return this.host;
+  }
+
+  @Override
+  public String getUserRfcId() {
+    if (extract(USER_RFC_ID)) {
+      this.userRfcId = CommonLogFormatScanner.optionalField(wrappedLine(), this.boundaries,
+          USER_RFC_ID);
+    }
+    return this.userRfcId;
+  }
+
+  @Override
+  public String getUserId() {
+    if (extract(USER_ID)) {
+      this.userId = CommonLogFormatScanner.optionalField(wrappedLine(), this.boundaries, USER_ID);
+    }
+    return this.userId;
+  }
+
+  @Override
+  public long getEpochMillis() {
+    wrappedLine();
+    return this.epochMillis;
+  }
+
+  @Override
+  public ZoneOffset getZoneOffset() {
+    wrappedLine();
+    return this.zoneOffset;
+  }
+
+  @Override
+  public HttpMethod getHttpMethod() {
+    extractMethod();
+    return this.httpMethod;
+  }
+
+  @Override
+  public String getExtensionMethod() {
+    extractMethod();
+    return this.extensionMethod;
+  }
+
+  @Override
+  public String getResource() {
+    if (extract(RESOURCE)) {
+      this.resource = CommonLogFormatScanner.field(wrappedLine(), this.boundaries, RESOURCE);
+    }
+    return this.resource;
+  }
+
+  @Override
+  public String getSection() {
+    if (extract(SECTION)) {
+      CharSequence wrappedLine = wrappedLine();
+      int resourceStart = this.boundaries[2 * RESOURCE];
+      int sectionEnd = CommonLogFormatUtils.findSectionEnd(wrappedLine, resourceStart,
+          this.boundaries[2 * RESOURCE + 1]);
+      this.section = sectionEnd < 0
+          ? null : SharedStrings.SECTIONS.intern(wrappedLine, resourceStart + 1, sectionEnd);
+    }
+    return this.section;
+  }
+
+  @Override
+  public String getProtocol() {
+    if (extract(PROTOCOL)) {
+      int protocolStart = this.boundaries[2 * PROTOCOL];
+      this.protocol = protocolStart < 0 ? null : SharedStrings.PROTOCOLS.intern(wrappedLine(),
+          protocolStart, this.boundaries[2 * PROTOCOL + 1]);
+    }
+    return this.protocol;
+  }
+
+  @Override
+  public short getStatus() {
+    wrappedLine();
+    return this.status;
+  }
+
+  @Override
+  public long getSize() {
+    wrappedLine();
+    return this.size;
+  }
+
+  @Override
+  public String toString() {
+    return this.line == null ? "CommonLogFormatEntryView()"
+        : "CommonLogFormatEntryView(" + this.line + ")";
+  }
+
+  private void extractMethod() {
+    if (extract(METHOD)) {
+      CharSequence wrappedLine = wrappedLine();
+      int start = this.boundaries[2 * METHOD];
+      int end = this.boundaries[2 * METHOD + 1];
+      this.httpMethod = HttpMethod.fromName(wrappedLine, start, end);
+      this.extensionMethod = this.httpMethod == null
+          ? SharedStrings.EXTENSION_METHODS.intern(wrappedLine, start, end) : null;
+    }
+  }
+
+  /**
+   * Marks a field as extracted.
+   * @return true if the field was not extracted yet since the last wrap.
+   */
+  private boolean extract(int field) {
+    int mask = 1 << field;
+    if ((this.extractedFields & mask) != 0) {
+      return false;
+    }
+    wrappedLine();
+    this.extractedFields |= mask;
+    return true;
+  }
+
+  private CharSequence wrappedLine() {
+    if (this.line == null) {
+      throw new IllegalStateException("No valid line is wrapped by the view.");
+    }
+    return this.line;
+  }
+
+}
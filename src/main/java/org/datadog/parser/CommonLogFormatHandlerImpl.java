@@ -1,38 +1,88 @@
 package org.datadog.parser;
 
-import com.google.common.eventbus.EventBus;
 import com.google.inject.Inject;
+
+import java.util.concurrent.atomic.LongAdder;
+
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.LatencyHistogram;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.PipelineMetrics;
 
 /**
  * A {@link String} output handler.
  * It uses a Common Log Format Parser to process the output.
+ * The processed lines, the parse failures, the parse time and the lag between the log date
+ *  time and the processing of each line are recorded in a {@link MetricsRegistry}.
+ * The time since the read of each line, as marked in {@link IngestTimestamps} by the file
+ *  watcher, is recorded too and the parse time marked for the next stage.
+ * The parsed entries are not dispatched: the ingest pipeline parser stage hands them over to
+ *  its aggregator stage.
  */
 @Slf4j
 public class CommonLogFormatHandlerImpl implements OutputHandler<String> {
 
   private Parser<CommonLogFormatEntry, String> parser;
-  private EventBus eventBus;
+  private final LongAdder linesCount;
+  private final LongAdder failuresCount;
+  private final LatencyHistogram parseLatency;
+  private final LatencyHistogram readToParsedLatency;
+  private final LatencyHistogram logLag;
 
   @Inject
-  public CommonLogFormatHandlerImpl(@NonNull Parser parser, @NonNull EventBus eventBus) {
+  public CommonLogFormatHandlerImpl(@NonNull Parser parser) {
+    this(parser, new MetricsRegistry());
+  }
+
+  /**
+   * Creates a new {@link CommonLogFormatHandlerImpl}.
+   * @param parser The {@link Parser} of the lines.
+   * @param metricsRegistry The {@link MetricsRegistry} of the parser metrics.
+   */
+  public CommonLogFormatHandlerImpl(@NonNull Parser parser,
+                                    @NonNull MetricsRegistry metricsRegistry) {
     this.parser = parser;
-    this.eventBus = eventBus;
+    this.linesCount = metricsRegistry.counter(PipelineMetrics.PARSER_LINES);
+    this.failuresCount = metricsRegistry.counter(PipelineMetrics.PARSER_FAILURES);
+    this.parseLatency = metricsRegistry.latency(PipelineMetrics.PARSER_LATENCY_NANOS);
+    this.readToParsedLatency = metricsRegistry.latency(PipelineMetrics.READ_TO_PARSED_NANOS);
+    this.logLag = metricsRegistry.latency(PipelineMetrics.LOG_LAG_MILLIS);
   }
 
   /**
-   * Processes a log line and generates a  {@link CommonLogFormatEntry}.
+   * Parses a log line and records the parser metrics, see {@link #parse(String)}.
    * @param line The log line from the log file.
    */
   @Override
   public void process(String line) {
+    parse(line);
+  }
+
+  /**
+   * Parses a log line and records the parser metrics.
+   * @param line The log line from the log file.
+   * @return the parsed {@link CommonLogFormatEntry}, null if the line is not valid.
+   */
+  public CommonLogFormatEntry parse(String line) {
+    this.linesCount.increment();
+    long startNanos = System.nanoTime();
     try {
       CommonLogFormatEntry commonLogFormatEntry = this.parser.parse(line);
-      this.eventBus.post(commonLogFormatEntry);
+      long parsedNanos = this.parseLatency.recordSince(startNanos);
+      long readNanos = IngestTimestamps.getReadNanos();
+      if (readNanos != IngestTimestamps.NOT_MARKED) {
+        this.readToParsedLatency.record(parsedNanos - readNanos);
+      }
+      IngestTimestamps.markParsed(parsedNanos);
+      this.logLag.record(System.currentTimeMillis() - commonLogFormatEntry.getEpochMillis());
+      return commonLogFormatEntry;
     } catch (ParseException parseException) {
+      this.failuresCount.increment();
       log.error("Invalid Common Log Format. Line : {}", line, parseException);
+      return null;
     }
   }
 }
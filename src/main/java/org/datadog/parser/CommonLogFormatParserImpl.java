@@ -9,6 +9,7 @@ import org.datadog.log.CommonLogFormatEntry;
 import static org.datadog.utils.DateTimeUtils.retrieveLogDateTime;
 
 import static org.datadog.utils.CommonLogFormatUtils.retrieveIntValue;
+import static org.datadog.utils.CommonLogFormatUtils.retrieveLongValue;
 import static org.datadog.utils.CommonLogFormatUtils.retrieveString;
 
 /**
@@ -60,7 +61,7 @@ public class CommonLogFormatParserImpl implements Parser<CommonLogFormatEntry, S
           .resource(commonLogFormatMatcher.group(RESOURCE_GROUP))
           .protocol(commonLogFormatMatcher.group(PROTOCOL_GROUP))
           .status(retrieveIntValue(commonLogFormatMatcher.group(STATUS_GROUP), false))
-          .size(retrieveIntValue(commonLogFormatMatcher.group(SIZE_GROUP), true))
+          .size(retrieveLongValue(commonLogFormatMatcher.group(SIZE_GROUP), true))
           .build();
     } else {
       throw new ParseException(
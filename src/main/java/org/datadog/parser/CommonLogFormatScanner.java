@@ -0,0 +1,221 @@
+package org.datadog.parser;
+
+import lombok.NonNull;
+import org.datadog.utils.CommonLogFormatUtils;
+
+/**
+ * Locates the fields of a Common Log Format line in a single pass without regular expression.
+ * A line is accepted if and only if it is matched by the pattern of
+ *  {@link CommonLogFormatParserImpl}. The fields are not extracted, their boundaries are
+ *  written in an int array: the start index of a field is at {@code 2 * field} and its end
+ *  index at {@code 2 * field + 1}. The boundaries of an absent protocol are both -1.
+ */
+public class CommonLogFormatScanner {
+
+  public static final int HOST = 0;
+  public static final int USER_RFC_ID = 1;
+  public static final int USER_ID = 2;
+  public static final int DATE_TIME = 3;
+  public static final int METHOD = 4;
+  public static final int RESOURCE = 5;
+  public static final int PROTOCOL = 6;
+  public static final int STATUS = 7;
+  public static final int SIZE = 8;
+
+  /**
+   * The length of the boundaries array filled by {@link #scan(CharSequence, int[])}.
+   */
+  public static final int BOUNDARIES_LENGTH = 18;
+
+  private static final char MISSING_VALUE = '-';
+
+  /**
+   * Scans a Common Log Format line and writes the boundaries of its fields.
+   * @param line The line to scan.
+   * @param boundaries The array of at least {@link #BOUNDARIES_LENGTH} ints receiving
+   *                   the fields boundaries.
+   * @throws ParseException if the line is not a valid Common Log Format line.
+   */
+  public static void scan(@NonNull CharSequence line, int[] boundaries) throws ParseException {
+    int end = CommonLogFormatUtils.findContentEnd(line, 0, line.length());
+    int index = scanNonSpaces(line, 0, end, boundaries, HOST);
+    index = expect(line, index, end, ' ');
+    index = scanNonSpaces(line, index, end, boundaries, USER_RFC_ID);
+    index = expect(line, index, end, ' ');
+    index = scanNonSpaces(line, index, end, boundaries, USER_ID);
+    index = expect(line, index, end, ' ');
+
+    index = expect(line, index, end, '[');
+    int start = index;
+    while (index < end && line.charAt(index) != ']') {
+      index++;
+    }
+    index = setBoundaries(line, start, index, end, boundaries, DATE_TIME);
+    index = expect(line, index, end, ']');
+    index = expect(line, index, end, ' ');
+    index = expect(line, index, end, '"');
+
+    start = index;
+    char current;
+    while (index < end && (current = line.charAt(index)) >= 'A' && current <= 'Z') {
+      index++;
+    }
+    index = setBoundaries(line, start, index, end, boundaries, METHOD);
+    index = expect(line, index, end, ' ');
+
+    start = index;
+    while (index < end && (current = line.charAt(index)) != ' ' && current != '"') {
+      index++;
+    }
+    index = setBoundaries(line, start, index, end, boundaries, RESOURCE);
+    if (index < end && line.charAt(index) == ' ') {
+      index++;
+    }
+    start = index;
+    while (index < end && line.charAt(index) != '"') {
+      index++;
+    }
+    if (index == start) {
+      boundaries[2 * PROTOCOL] = -1;
+      boundaries[2 * PROTOCOL + 1] = -1;
+    } else {
+      index = setBoundaries(line, start, index, end, boundaries, PROTOCOL);
+    }
+    index = expect(line, index, end, '"');
+    index = expect(line, index, end, ' ');
+
+    start = index;
+    while (index < end && index - start < 3 && isDigit(line.charAt(index))) {
+      index++;
+    }
+    if (index - start != 3) {
+      throw invalidLine(line);
+    }
+    index = setBoundaries(line, start, index, end, boundaries, STATUS);
+    index = expect(line, index, end, ' ');
+
+    start = index;
+    if (index < end && line.charAt(index) == MISSING_VALUE) {
+      index++;
+    } else {
+      while (index < end && isDigit(line.charAt(index))) {
+        index++;
+      }
+    }
+    setBoundaries(line, start, index, end, boundaries, SIZE);
+    if (index != end) {
+      throw invalidLine(line);
+    }
+  }
+
+  /**
+   * Extracts a field from a scanned line.
+   * @param line The scanned line.
+   * @param boundaries The fields boundaries written by {@link #scan(CharSequence, int[])}.
+   * @param field The field index.
+   * @return the field value, null if the field is absent.
+   */
+  public static String field(CharSequence line, int[] boundaries, int field) {
+    int start = boundaries[2 * field];
+    return start < 0 ? null : line.subSequence(start, boundaries[2 * field + 1]).toString();
+  }
+
+  /**
+   * Extracts a field that can be missing (represented by a hyphen "-") from a scanned line.
+   * @param line The scanned line.
+   * @param boundaries The fields boundaries written by {@link #scan(CharSequence, int[])}.
+   * @param field The field index.
+   * @return the field value, null if the field is a hyphen "-".
+   */
+  public static String optionalField(CharSequence line, int[] boundaries, int field) {
+    return isMissing(line, boundaries, field) ? null : field(line, boundaries, field);
+  }
+
+  /**
+   * Computes the status code of a scanned line.
+   * @param line The scanned line.
+   * @param boundaries The fields boundaries written by {@link #scan(CharSequence, int[])}.
+   * @return the status code.
+   */
+  public static int status(CharSequence line, int[] boundaries) {
+    int start = boundaries[2 * STATUS];
+    return (line.charAt(start) - '0') * 100
+        + (line.charAt(start + 1) - '0') * 10
+        + (line.charAt(start + 2) - '0');
+  }
+
+  /**
+   * Computes the response size of a scanned line.
+   * @param line The scanned line.
+   * @param boundaries The fields boundaries written by {@link #scan(CharSequence, int[])}.
+   * @return the response size, 0 if the size is a hyphen "-".
+   * @throws ParseException if the size overflows a long.
+   */
+  public static long size(CharSequence line, int[] boundaries) throws ParseException {
+    if (isMissing(line, boundaries, SIZE)) {
+      return 0;
+    }
+    long size = 0;
+    try {
+      for (int index = boundaries[2 * SIZE]; index < boundaries[2 * SIZE + 1]; index++) {
+        size = Math.addExact(Math.multiplyExact(size, 10), line.charAt(index) - '0');
+      }
+    } catch (ArithmeticException arithmeticException) {
+      throw new ParseException(
+          String.format("Invalid long value %s", field(line, boundaries, SIZE)),
+          arithmeticException);
+    }
+    return size;
+  }
+
+  private static boolean isMissing(CharSequence line, int[] boundaries, int field) {
+    int start = boundaries[2 * field];
+    return boundaries[2 * field + 1] - start == 1 && line.charAt(start) == MISSING_VALUE;
+  }
+
+  private static int scanNonSpaces(CharSequence line, int start, int end, int[] boundaries,
+                                   int field) throws ParseException {
+    int index = start;
+    while (index < end && !isSpace(line.charAt(index))) {
+      index++;
+    }
+    return setBoundaries(line, start, index, end, boundaries, field);
+  }
+
+  private static int setBoundaries(CharSequence line, int start, int index, int end,
+                                   int[] boundaries, int field) throws ParseException {
+    if (index == start || index > end) {
+      throw invalidLine(line);
+    }
+    boundaries[2 * field] = start;
+    boundaries[2 * field + 1] = index;
+    return index;
+  }
+
+  private static int expect(CharSequence line, int index, int end, char expected)
+      throws ParseException {
+    if (index >= end || line.charAt(index) != expected) {
+      throw invalidLine(line);
+    }
+    return index + 1;
+  }
+
+  /**
+   * Matches the characters of the '\s' class of a {@link java.util.regex.Pattern}.
+   */
+  private static boolean isSpace(char character) {
+    return character == ' ' || character == '\t' || character == '\n' || character == '\u000B'
+        || character == '\f' || character == '\r';
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  private static ParseException invalidLine(CharSequence line) {
+    return new ParseException(
+        String.format("Invalid Common Log Format. Unable to parse log input : %s.", line)
+    );
+  }
+
+}
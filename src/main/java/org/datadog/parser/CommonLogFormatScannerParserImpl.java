@@ -0,0 +1,56 @@
+package org.datadog.parser;
+
+import lombok.NonNull;
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.utils.LogDateTimeDecoder;
+
+/**
+ * A Common Log Format {@link Parser} implementation.
+ * It locates the fields of the log input in a single pass with a
+ *  {@link CommonLogFormatScanner} and accepts the same inputs as
+ *  {@link CommonLogFormatParserImpl} without running a regular expression.
+ * The entries are copied out of a {@link CommonLogFormatEntryView} over the input.
+ * This class is thread safe.
+ * @see CommonLogFormatEntry
+ */
+public class CommonLogFormatScannerParserImpl implements Parser<CommonLogFormatEntry, String> {
+
+  private final LogDateTimeDecoder logDateTimeDecoder = new LogDateTimeDecoder();
+
+  /**
+   * Parses a {@link String} to a {@link CommonLogFormatEntry}.
+   * @param input The input to parse.
+   * @return a {@link CommonLogFormatEntry}.
+   * @throws ParseException if the input {@link String} can not be parsed
+   *     to a {@link CommonLogFormatEntry}.
+   */
+  @Override
+  public CommonLogFormatEntry parse(@NonNull String input) throws ParseException {
+    return parse((CharSequence) input);
+  }
+
+  /**
+   * Parses a slice of a byte array holding an ASCII encoded log line to a
+   *  {@link CommonLogFormatEntry}.
+   * @param bytes The byte array.
+   * @param offset The index of the first byte of the line.
+   * @param length The number of bytes of the line.
+   * @return a {@link CommonLogFormatEntry}.
+   * @throws ParseException if the line can not be parsed to a {@link CommonLogFormatEntry}.
+   */
+  public CommonLogFormatEntry parse(@NonNull byte[] bytes, int offset, int length)
+      throws ParseException {
+    return parse(new AsciiSequence(bytes, offset, length));
+  }
+
+  /**
+   * Parses a {@link CharSequence} to a {@link CommonLogFormatEntry}.
+   * @param input The input to parse.
+   * @return a {@link CommonLogFormatEntry}.
+   * @throws ParseException if the input can not be parsed to a {@link CommonLogFormatEntry}.
+   */
+  public CommonLogFormatEntry parse(@NonNull CharSequence input) throws ParseException {
+    return new CommonLogFormatEntryView(this.logDateTimeDecoder).wrap(input).detach();
+  }
+
+}
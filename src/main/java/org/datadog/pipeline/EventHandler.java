@@ -0,0 +1,18 @@
+package org.datadog.pipeline;
+
+/**
+ * Handles the events of a {@link RingBuffer} on behalf of an {@link EventProcessor}.
+ * @param <E> The type of the events.
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+  /**
+   * Handles an event. The event is a reused slot of the ring buffer, so it must not be kept.
+   * @param event The event.
+   * @param sequence The sequence of the event.
+   * @param endOfBatch Indicates if the event is the last one available to the processor.
+   */
+  void onEvent(E event, long sequence, boolean endOfBatch);
+
+}
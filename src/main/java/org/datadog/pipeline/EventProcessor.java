@@ -0,0 +1,88 @@
+package org.datadog.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands the events of a {@link RingBuffer} to an {@link EventHandler} in batches.
+ * The processor waits, with the {@link WaitStrategy} of the ring, for the sequence of the stage
+ *  it depends on to pass its own, then handles all the available events at once and publishes
+ *  its sequence once per batch. A processor falling behind therefore catches up with larger
+ *  batches instead of paying the handoff for every event.
+ * The exceptions thrown by the handler are logged and the event skipped.
+ * This class is thread safe.
+ */
+@Slf4j
+public class EventProcessor<E> implements Runnable {
+
+  private final RingBuffer<E> ringBuffer;
+  private final AtomicLong dependency;
+  private final EventHandler<E> eventHandler;
+  private final AtomicLong sequence = new AtomicLong(-1L);
+  private volatile boolean halted = false;
+
+  /**
+   * Creates a new {@link EventProcessor}.
+   * @param ringBuffer The {@link RingBuffer} of the events.
+   * @param dependency The sequence of the stage which must have handled the events first, the
+   *                   cursor of the ring for the first stage.
+   * @param eventHandler The {@link EventHandler} of the events.
+   */
+  public EventProcessor(@NonNull RingBuffer<E> ringBuffer, @NonNull AtomicLong dependency,
+                        @NonNull EventHandler<E> eventHandler) {
+    this.ringBuffer = ringBuffer;
+    this.dependency = dependency;
+    this.eventHandler = eventHandler;
+  }
+
+  /**
+   * Handles the events until halted or interrupted.
+   */
+  @Override
+  public void run() {
+    WaitStrategy waitStrategy = this.ringBuffer.getWaitStrategy();
+    long nextSequence = this.sequence.get() + 1;
+    while (!this.halted) {
+      long availableSequence;
+      try {
+        availableSequence = waitStrategy.waitFor(nextSequence, this.dependency,
+            () -> this.halted);
+      } catch (InterruptedException interruptedException) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      for (long current = nextSequence; current <= availableSequence; current++) {
+        try {
+          this.eventHandler.onEvent(this.ringBuffer.get(current), current,
+              current == availableSequence);
+        } catch (RuntimeException exception) {
+          log.error("Unable to handle the event of sequence {}.", current, exception);
+        }
+      }
+      if (availableSequence >= nextSequence) {
+        this.sequence.set(availableSequence);
+        waitStrategy.signalAllWhenBlocking();
+        nextSequence = availableSequence + 1;
+      }
+    }
+  }
+
+  /**
+   * Stops the processor once its current batch is handled.
+   */
+  public void halt() {
+    this.halted = true;
+    this.ringBuffer.getWaitStrategy().signalAllWhenBlocking();
+  }
+
+  /**
+   * Retrieves the last sequence handled by the processor, -1 before the first event.
+   * @return the sequence of the processor.
+   */
+  public AtomicLong getSequence() {
+    return this.sequence;
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.datadog.pipeline;
+
+import org.datadog.log.CommonLogFormatEntry;
+
+/**
+ * The pre-allocated slot of an {@link IngestPipeline} ring, holding a line from its read to
+ *  its aggregation along with its ingest timestamps.
+ * This class is not thread safe: the ring sequences order the accesses of the stages.
+ */
+final class IngestEvent {
+
+  String line;
+  long readNanos;
+  CommonLogFormatEntry entry;
+  long parsedNanos;
+
+}
@@ -0,0 +1,196 @@
+package org.datadog.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.PipelineMetrics;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.OutputHandler;
+
+/**
+ * Hands the lines framed by the file watcher over to a parser stage and an aggregator stage,
+ *  each running on its own thread, through a single {@link RingBuffer} of {@link IngestEvent}.
+ * The file watcher thread publishes every line in the next slot of the ring. The parser
+ *  {@link EventProcessor} parses the published lines with a {@link CommonLogFormatHandlerImpl}
+ *  and stores the entries in their slots, then the aggregator {@link EventProcessor}, which
+ *  depends on the parser sequence, hands the parsed entries to the aggregator. The slots are
+ *  reused once aggregated, so reading is decoupled from aggregation by at most the ring size.
+ * The ingest timestamps of each line travel in its slot and are marked again in
+ *  {@link IngestTimestamps} by each stage.
+ * When the ring fills up, the {@link OverloadPolicy} decides if the file watcher waits, drops
+ *  the line or samples the lines. The depth of the ring and the dropped and sampled out lines
+ *  are recorded in a {@link MetricsRegistry}, and the discarded lines are logged at most every
+ *  {@link #OVERLOAD_LOG_PERIOD_SECONDS} seconds.
+ * This class is thread safe as long as a single thread processes the lines.
+ */
+@Slf4j
+public class IngestPipeline implements OutputHandler<String> {
+
+  public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+  public static final int MAX_BUFFER_SIZE = 1 << 24;
+  public static final int SAMPLING_RATIO = 8;
+  public static final long OVERLOAD_LOG_PERIOD_SECONDS = 10L;
+
+  private static final long OVERLOAD_LOG_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(
+      OVERLOAD_LOG_PERIOD_SECONDS);
+
+  private final RingBuffer<IngestEvent> ringBuffer;
+  private final OverloadPolicy overloadPolicy;
+  private final long samplingDepth;
+  private final LongAdder droppedLinesCount;
+  private final LongAdder sampledOutLinesCount;
+  private long overloadedLinesCount = 0L;
+  private long unloggedDiscardedLinesCount = 0L;
+  private long overloadLogNanos;
+  private final EventProcessor<IngestEvent> parserProcessor;
+  private final EventProcessor<IngestEvent> aggregatorProcessor;
+
+  /**
+   * Creates a new {@link IngestPipeline} blocking the file watcher when the ring is full.
+   *  The stages only run once started.
+   * @param handler The {@link CommonLogFormatHandlerImpl} parsing the lines.
+   * @param aggregator The consumer of the parsed entries, the traffic statistics manager.
+   * @param bufferSize The number of slots of the ring. It must be a power of 2.
+   * @param waitStrategy The {@link WaitStrategy} of the stages.
+   */
+  public IngestPipeline(@NonNull CommonLogFormatHandlerImpl handler,
+                        @NonNull Consumer<CommonLogFormatEntry> aggregator,
+                        int bufferSize,
+                        @NonNull WaitStrategy waitStrategy) {
+    this(handler, aggregator, bufferSize, waitStrategy, OverloadPolicy.BLOCK,
+        new MetricsRegistry());
+  }
+
+  /**
+   * Creates a new {@link IngestPipeline}. The stages only run once started.
+   * @param handler The {@link CommonLogFormatHandlerImpl} parsing the lines.
+   * @param aggregator The consumer of the parsed entries, the traffic statistics manager.
+   * @param bufferSize The number of slots of the ring. It must be a power of 2.
+   * @param waitStrategy The {@link WaitStrategy} of the stages.
+   * @param overloadPolicy The {@link OverloadPolicy} applied when the ring fills up.
+   * @param metricsRegistry The {@link MetricsRegistry} of the ring depth and of the dropped and
+   *                        sampled out lines.
+   */
+  public IngestPipeline(@NonNull CommonLogFormatHandlerImpl handler,
+                        @NonNull Consumer<CommonLogFormatEntry> aggregator,
+                        int bufferSize,
+                        @NonNull WaitStrategy waitStrategy,
+                        @NonNull OverloadPolicy overloadPolicy,
+                        @NonNull MetricsRegistry metricsRegistry) {
+    this.ringBuffer = new RingBuffer<>(bufferSize, IngestEvent::new, waitStrategy);
+    this.overloadPolicy = overloadPolicy;
+    this.samplingDepth = bufferSize - bufferSize / 4;
+    this.droppedLinesCount = metricsRegistry.counter(PipelineMetrics.DROPPED_LINES);
+    this.sampledOutLinesCount = metricsRegistry.counter(PipelineMetrics.SAMPLED_OUT_LINES);
+    metricsRegistry.gauge(PipelineMetrics.RING_DEPTH_LINES, this.ringBuffer::getDepth);
+    this.overloadLogNanos = System.nanoTime() - OVERLOAD_LOG_PERIOD_NANOS;
+    this.parserProcessor = new EventProcessor<>(this.ringBuffer, this.ringBuffer.getCursor(),
+        (event, sequence, endOfBatch) -> {
+          IngestTimestamps.markRead(event.readNanos);
+          event.entry = handler.parse(event.line);
+          event.parsedNanos = IngestTimestamps.getParsedNanos();
+          event.line = null;
+        });
+    this.aggregatorProcessor = new EventProcessor<>(this.ringBuffer,
+        this.parserProcessor.getSequence(),
+        (event, sequence, endOfBatch) -> {
+          CommonLogFormatEntry entry = event.entry;
+          event.entry = null;
+          if (entry != null) {
+            IngestTimestamps.markRead(event.readNanos);
+            IngestTimestamps.markParsed(event.parsedNanos);
+            aggregator.accept(entry);
+          }
+        });
+    this.ringBuffer.addGatingSequences(this.aggregatorProcessor.getSequence());
+  }
+
+  /**
+   * Starts the parser and aggregator stages on daemon threads.
+   */
+  public void start() {
+    startThread(this.parserProcessor, "parser-thread");
+    startThread(this.aggregatorProcessor, "aggregator-thread");
+  }
+
+  /**
+   * Stops the stages once their current batch is handled.
+   */
+  public void halt() {
+    this.parserProcessor.halt();
+    this.aggregatorProcessor.halt();
+  }
+
+  /**
+   * Publishes a line to the parser stage, unless the {@link OverloadPolicy} discards it.
+   * @param line The framed line.
+   */
+  @Override
+  public void process(String line) {
+    long sequence;
+    switch (this.overloadPolicy) {
+      case DROP:
+        sequence = this.ringBuffer.tryNext();
+        if (sequence < 0) {
+          overloaded(this.droppedLinesCount);
+          return;
+        }
+        break;
+      case SAMPLE:
+        if (this.ringBuffer.getDepth() >= this.samplingDepth
+            && this.overloadedLinesCount++ % SAMPLING_RATIO != 0) {
+          overloaded(this.sampledOutLinesCount);
+          return;
+        }
+        sequence = this.ringBuffer.next();
+        break;
+      default:
+        sequence = this.ringBuffer.next();
+    }
+    IngestEvent event = this.ringBuffer.get(sequence);
+    event.line = line;
+    event.readNanos = IngestTimestamps.getReadNanos();
+    this.ringBuffer.publish(sequence);
+  }
+
+  /**
+   * Indicates if all the published lines have been aggregated.
+   * @return true if the aggregator stage has caught up with the ring cursor.
+   */
+  public boolean isDrained() {
+    return this.aggregatorProcessor.getSequence().get() == this.ringBuffer.getCursor().get();
+  }
+
+  /**
+   * Counts a discarded line and logs the discarded lines if the log period has elapsed.
+   */
+  private void overloaded(LongAdder discardedLinesCount) {
+    discardedLinesCount.increment();
+    this.unloggedDiscardedLinesCount++;
+    long nowNanos = System.nanoTime();
+    if (nowNanos - this.overloadLogNanos >= OVERLOAD_LOG_PERIOD_NANOS) {
+      if (this.overloadPolicy == OverloadPolicy.DROP) {
+        log.warn("The ingest ring buffer is full: {} lines dropped since the previous warning.",
+            this.unloggedDiscardedLinesCount);
+      } else {
+        log.warn("The ingest ring buffer is three quarters full: {} lines sampled out since the"
+            + " previous warning.", this.unloggedDiscardedLinesCount);
+      }
+      this.unloggedDiscardedLinesCount = 0L;
+      this.overloadLogNanos = nowNanos;
+    }
+  }
+
+  private static void startThread(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+}
@@ -0,0 +1,50 @@
+package org.datadog.pipeline;
+
+/**
+ * What the file watcher does with a line when the stages of the {@link IngestPipeline} fall
+ *  behind and its ring fills up.
+ */
+public enum OverloadPolicy {
+
+  /**
+   * Waits for a free slot, so the reader is slowed down to the aggregation rate and the
+   *  unread lines stay in the log file.
+   */
+  BLOCK,
+
+  /**
+   * Drops the line when the ring is full, and counts it.
+   */
+  DROP,
+
+  /**
+   * Only keeps one line out of {@link IngestPipeline#SAMPLING_RATIO} once the ring is three
+   *  quarters full, and counts the others. It waits for a free slot like {@link #BLOCK} when
+   *  the ring is full anyway.
+   */
+  SAMPLE;
+
+  /**
+   * Retrieves an {@link OverloadPolicy} from its lower case name.
+   * @param name The name of the policy, block, drop or sample.
+   * @return the {@link OverloadPolicy}.
+   * @throws IllegalArgumentException if the name is unknown.
+   */
+  public static OverloadPolicy fromName(String name) {
+    for (OverloadPolicy overloadPolicy : values()) {
+      if (overloadPolicy.getName().equals(name)) {
+        return overloadPolicy;
+      }
+    }
+    throw new IllegalArgumentException("Unknown overload policy " + name);
+  }
+
+  /**
+   * Retrieves the name of the policy as given in the options.
+   * @return the lower case name of the policy.
+   */
+  public String getName() {
+    return name().toLowerCase();
+  }
+
+}
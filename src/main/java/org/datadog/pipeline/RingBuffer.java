@@ -0,0 +1,161 @@
+package org.datadog.pipeline;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+
+/**
+ * A bounded ring of pre-allocated events handed over from a single producer thread to the
+ *  stages of {@link EventProcessor}.
+ * The producer claims the next sequence, fills the event of its slot and publishes it by
+ *  advancing the cursor. The slot is reused once the gating sequences, those of the last
+ *  stages, have passed it: until then the producer waits, so the ring never grows.
+ * The events are created once by the event factory and never reallocated, and a sequence
+ *  counter replaces the locks of a queue.
+ * This class is thread safe as long as a single thread produces.
+ */
+public class RingBuffer<E> {
+
+  private final Object[] events;
+  private final int mask;
+  private final WaitStrategy waitStrategy;
+  private final AtomicLong cursor = new AtomicLong(-1L);
+  private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+  private long nextSequence = 0L;
+  private long cachedGatingSequence = -1L;
+
+  /**
+   * Creates a new {@link RingBuffer} filled with the events of the factory.
+   * @param bufferSize The number of events of the ring. It must be a power of 2.
+   * @param eventFactory The factory of the pre-allocated events.
+   * @param waitStrategy The {@link WaitStrategy} of the processors of the ring.
+   */
+  public RingBuffer(int bufferSize, @NonNull Supplier<E> eventFactory,
+                    @NonNull WaitStrategy waitStrategy) {
+    Preconditions.checkArgument(bufferSize > 0 && Integer.bitCount(bufferSize) == 1,
+        "Buffer size must be a power of 2.");
+    this.events = new Object[bufferSize];
+    for (int index = 0; index < bufferSize; index++) {
+      this.events[index] = eventFactory.get();
+    }
+    this.mask = bufferSize - 1;
+    this.waitStrategy = waitStrategy;
+  }
+
+  /**
+   * Adds the sequences of the processors which must have handled an event before its slot
+   *  is reused, usually those of the last stage.
+   * @param sequences The processed sequences.
+   */
+  public synchronized void addGatingSequences(AtomicLong... sequences) {
+    AtomicLong[] extendedSequences = new AtomicLong[this.gatingSequences.length
+        + sequences.length];
+    System.arraycopy(this.gatingSequences, 0, extendedSequences, 0,
+        this.gatingSequences.length);
+    System.arraycopy(sequences, 0, extendedSequences, this.gatingSequences.length,
+        sequences.length);
+    this.gatingSequences = extendedSequences;
+  }
+
+  /**
+   * Claims the next sequence, waiting for its slot to be released by the gating sequences.
+   * @return the claimed sequence, to publish once its event is filled.
+   */
+  public long next() {
+    long sequence = this.nextSequence;
+    long wrapPoint = sequence - this.events.length;
+    if (wrapPoint > this.cachedGatingSequence) {
+      long gatingSequence;
+      while (wrapPoint > (gatingSequence = getMinimumGatingSequence())) {
+        LockSupport.parkNanos(1L);
+      }
+      this.cachedGatingSequence = gatingSequence;
+    }
+    this.nextSequence = sequence + 1;
+    return sequence;
+  }
+
+  /**
+   * Claims the next sequence if its slot is released by the gating sequences, without waiting.
+   * @return the claimed sequence, to publish once its event is filled, -1 if the ring is full.
+   */
+  public long tryNext() {
+    long sequence = this.nextSequence;
+    long wrapPoint = sequence - this.events.length;
+    if (wrapPoint > this.cachedGatingSequence) {
+      this.cachedGatingSequence = getMinimumGatingSequence();
+      if (wrapPoint > this.cachedGatingSequence) {
+        return -1L;
+      }
+    }
+    this.nextSequence = sequence + 1;
+    return sequence;
+  }
+
+  /**
+   * Retrieves the event of a sequence.
+   * @param sequence The sequence.
+   * @return the event of the slot of the sequence.
+   */
+  @SuppressWarnings("unchecked")
+  public E get(long sequence) {
+    return (E) this.events[(int) (sequence & this.mask)];
+  }
+
+  /**
+   * Publishes a claimed sequence to the processors.
+   * @param sequence The sequence whose event has been filled.
+   */
+  public void publish(long sequence) {
+    this.cursor.set(sequence);
+    this.waitStrategy.signalAllWhenBlocking();
+  }
+
+  /**
+   * Retrieves the lowest sequence processed by the gating sequences.
+   * @return the minimum gating sequence, the cursor if there is no gating sequence.
+   */
+  public long getMinimumGatingSequence() {
+    return getMinimumGatingSequence(this.cursor.get());
+  }
+
+  /**
+   * Computes the number of published events not handled by the gating sequences yet.
+   * The cursor is read once, and the result clamped as the gating sequences move meanwhile.
+   * @return the depth of the ring, between 0 and its size.
+   */
+  public long getDepth() {
+    long cursor = this.cursor.get();
+    long depth = cursor - getMinimumGatingSequence(cursor);
+    return Math.max(0L, Math.min(depth, this.events.length));
+  }
+
+  private long getMinimumGatingSequence(long cursor) {
+    long minimum = cursor;
+    for (AtomicLong gatingSequence : this.gatingSequences) {
+      minimum = Math.min(minimum, gatingSequence.get());
+    }
+    return minimum;
+  }
+
+  /**
+   * Retrieves the last published sequence, -1 before the first publication.
+   * @return the cursor of the ring.
+   */
+  public AtomicLong getCursor() {
+    return this.cursor;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return this.waitStrategy;
+  }
+
+  public int getBufferSize() {
+    return this.events.length;
+  }
+
+}
@@ -0,0 +1,41 @@
+package org.datadog.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins, then yields, then parks the waiting processors for {@link #SLEEP_NANOS} between
+ *  checks.
+ * The publications take no lock and an idle processor only wakes up periodically, so it suits
+ *  a monitor mostly waiting for appended lines.
+ * This class is thread safe.
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+  static final int SPIN_TRIES = 100;
+  static final int YIELD_TRIES = 100;
+  static final long SLEEP_NANOS = 100_000L;
+
+  @Override
+  public long waitFor(long sequence, AtomicLong dependency, BooleanSupplier halted) {
+    long available;
+    int tries = 0;
+    while ((available = dependency.get()) < sequence && !halted.getAsBoolean()) {
+      if (tries < SPIN_TRIES) {
+        tries++;
+      } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+        tries++;
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(SLEEP_NANOS);
+      }
+    }
+    return available;
+  }
+
+  @Override
+  public void signalAllWhenBlocking() {
+  }
+
+}
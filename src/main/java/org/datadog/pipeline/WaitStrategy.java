@@ -0,0 +1,55 @@
+package org.datadog.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The way an {@link EventProcessor} waits for the sequences of the {@link RingBuffer} it
+ *  depends on to be published.
+ * The strategies trade the latency of the handoff against the CPU used while waiting.
+ */
+public interface WaitStrategy {
+
+  String BLOCKING = "blocking";
+  String SLEEPING = "sleeping";
+  String YIELDING = "yielding";
+  String BUSY_SPIN = "busy-spin";
+
+  /**
+   * Waits for a sequence to be available.
+   * @param sequence The sequence to wait for.
+   * @param dependency The sequence of the stage the waiting processor depends on.
+   * @param halted Indicates if the waiting processor has been halted.
+   * @return the highest available sequence, greater than or equal to the requested one, or
+   *     lower if the processor has been halted.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  long waitFor(long sequence, AtomicLong dependency, BooleanSupplier halted)
+      throws InterruptedException;
+
+  /**
+   * Wakes up the processors blocked waiting, after a sequence has been published or processed.
+   */
+  void signalAllWhenBlocking();
+
+  /**
+   * Creates a {@link WaitStrategy} from its name.
+   * @param name One of {@link #BLOCKING}, {@link #SLEEPING}, {@link #YIELDING} and
+   *             {@link #BUSY_SPIN}.
+   * @return a new {@link WaitStrategy}.
+   * @throws IllegalArgumentException if the name is unknown.
+   */
+  static WaitStrategy forName(String name) {
+    if (BLOCKING.equals(name)) {
+      return new BlockingWaitStrategy();
+    } else if (SLEEPING.equals(name)) {
+      return new SleepingWaitStrategy();
+    } else if (YIELDING.equals(name)) {
+      return new YieldingWaitStrategy();
+    } else if (BUSY_SPIN.equals(name)) {
+      return new BusySpinWaitStrategy();
+    }
+    throw new IllegalArgumentException("Unknown wait strategy " + name);
+  }
+
+}
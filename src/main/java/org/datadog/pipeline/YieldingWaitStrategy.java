@@ -0,0 +1,34 @@
+package org.datadog.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins, then yields the CPU between checks.
+ * The handoff latency is low, but an idle processor keeps a core busy whenever no other thread
+ *  is runnable.
+ * This class is thread safe.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+  static final int SPIN_TRIES = 100;
+
+  @Override
+  public long waitFor(long sequence, AtomicLong dependency, BooleanSupplier halted) {
+    long available;
+    int tries = 0;
+    while ((available = dependency.get()) < sequence && !halted.getAsBoolean()) {
+      if (tries < SPIN_TRIES) {
+        tries++;
+      } else {
+        Thread.yield();
+      }
+    }
+    return available;
+  }
+
+  @Override
+  public void signalAllWhenBlocking() {
+  }
+
+}
@@ -0,0 +1,185 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Clock;
+import java.util.Arrays;
+
+import org.datadog.log.LogEntry;
+
+/**
+ * Counts the traffic by log date time in a ring of per second buckets.
+ * The watermark is the latest log second seen. An entry older than the watermark minus the
+ *  allowed lateness is counted as late and not added to any bucket, so a late line never
+ *  shifts the traffic of a window. A bucket is reset when its slot is reused by a newer second.
+ * An entry more than {@link #MAX_AHEAD_SECONDS} ahead of the processing clock is counted as a
+ *  future entry and does not move the watermark, so a single wrongly dated line cannot turn
+ *  every following line late.
+ * A window ending at the watermark is answered by summing its buckets, in O(window seconds)
+ *  whatever the number of entries.
+ * This class is not thread safe.
+ */
+public class EventTimeWindows {
+
+  public static final int DEFAULT_CAPACITY = 3600;
+  public static final int DEFAULT_ALLOWED_LATENESS = 60;
+  public static final int MAX_AHEAD_SECONDS = 60;
+
+  private final int capacity;
+  private final int allowedLateness;
+  private final Clock clock;
+  private final long[] bucketSeconds;
+  private final long[] hits;
+  private final long[] trafficSizes;
+  private final long[] successCounts;
+  private final long[] clientErrorCounts;
+  private final long[] serverErrorCounts;
+  private long watermark = Long.MIN_VALUE;
+  private long lateEventsCount = 0;
+  private long futureEventsCount = 0;
+
+  /**
+   * Creates a new {@link EventTimeWindows} holding the last {@link #DEFAULT_CAPACITY} seconds.
+   * @param allowedLateness The number of seconds an entry may lag behind the watermark
+   *                        before being counted as late.
+   */
+  public EventTimeWindows(int allowedLateness) {
+    this(DEFAULT_CAPACITY, allowedLateness);
+  }
+
+  /**
+   * Creates a new {@link EventTimeWindows}.
+   * @param capacity The number of per second buckets, that is the longest window length.
+   * @param allowedLateness The number of seconds an entry may lag behind the watermark
+   *                        before being counted as late.
+   */
+  public EventTimeWindows(int capacity, int allowedLateness) {
+    this(capacity, allowedLateness, Clock.systemUTC());
+  }
+
+  /**
+   * Creates a new {@link EventTimeWindows}.
+   * @param capacity The number of per second buckets, that is the longest window length.
+   * @param allowedLateness The number of seconds an entry may lag behind the watermark
+   *                        before being counted as late.
+   * @param clock The processing {@link Clock} bounding how far ahead the watermark may move.
+   */
+  public EventTimeWindows(int capacity, int allowedLateness, Clock clock) {
+    Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+    Preconditions.checkArgument(allowedLateness >= 0 && allowedLateness < capacity,
+        "The allowed lateness must be between 0 and the capacity excluded");
+    this.capacity = capacity;
+    this.allowedLateness = allowedLateness;
+    this.clock = clock;
+    this.bucketSeconds = new long[capacity];
+    Arrays.fill(this.bucketSeconds, Long.MIN_VALUE);
+    this.hits = new long[capacity];
+    this.trafficSizes = new long[capacity];
+    this.successCounts = new long[capacity];
+    this.clientErrorCounts = new long[capacity];
+    this.serverErrorCounts = new long[capacity];
+  }
+
+  /**
+   * Adds a {@link LogEntry} to the bucket of its log second.
+   * The entry is not kept so it can be a reused view.
+   * @param logEntry The {@link LogEntry} to add.
+   * @return false if the entry is late or in the future and was only counted as such.
+   */
+  public boolean add(LogEntry logEntry) {
+    long second = Math.floorDiv(logEntry.getEpochMillis(), 1000L);
+    if (this.watermark != Long.MIN_VALUE && second < this.watermark - this.allowedLateness) {
+      this.lateEventsCount++;
+      return false;
+    }
+    if (second > this.watermark) {
+      if (second > Math.floorDiv(this.clock.millis(), 1000L) + MAX_AHEAD_SECONDS) {
+        this.futureEventsCount++;
+        return false;
+      }
+      this.watermark = second;
+    }
+    int slot = (int) Math.floorMod(second, (long) this.capacity);
+    if (this.bucketSeconds[slot] != second) {
+      this.bucketSeconds[slot] = second;
+      this.hits[slot] = 0;
+      this.trafficSizes[slot] = 0;
+      this.successCounts[slot] = 0;
+      this.clientErrorCounts[slot] = 0;
+      this.serverErrorCounts[slot] = 0;
+    }
+    this.hits[slot]++;
+    this.trafficSizes[slot] += logEntry.getSize();
+    short status = logEntry.getStatus();
+    if (status >= 200 && status < 300) {
+      this.successCounts[slot]++;
+    } else if (status >= 400 && status < 500) {
+      this.clientErrorCounts[slot]++;
+    } else if (status >= 500 && status < 600) {
+      this.serverErrorCounts[slot]++;
+    }
+    return true;
+  }
+
+  /**
+   * Sums the buckets of the window of the given length ending at the watermark.
+   * @param windowSeconds The window length in seconds.
+   * @return a new {@link WindowStatistic}, empty if no entry was added yet.
+   * @throws IllegalArgumentException if the window is longer than the capacity.
+   */
+  public WindowStatistic query(int windowSeconds) {
+    Preconditions.checkArgument(windowSeconds > 0 && windowSeconds <= this.capacity,
+        "The window length must be between 1 and %s seconds", this.capacity);
+    long hitsCount = 0;
+    long trafficSize = 0;
+    long successCount = 0;
+    long clientErrorCount = 0;
+    long serverErrorCount = 0;
+    if (this.watermark != Long.MIN_VALUE) {
+      for (long second = this.watermark - windowSeconds + 1; second <= this.watermark; second++) {
+        int slot = (int) Math.floorMod(second, (long) this.capacity);
+        if (this.bucketSeconds[slot] == second) {
+          hitsCount += this.hits[slot];
+          trafficSize += this.trafficSizes[slot];
+          successCount += this.successCounts[slot];
+          clientErrorCount += this.clientErrorCounts[slot];
+          serverErrorCount += this.serverErrorCounts[slot];
+        }
+      }
+    }
+    return WindowStatistic.builder()
+        .windowSeconds(windowSeconds)
+        .hitsCount(hitsCount)
+        .trafficSize(trafficSize)
+        .successRequestsCount(successCount)
+        .clientErrorRequestCount(clientErrorCount)
+        .serverErrorRequestCount(serverErrorCount)
+        .build();
+  }
+
+  /**
+   * Retrieves the latest log second seen.
+   * @return the watermark in seconds from the epoch, {@link Long#MIN_VALUE} if no entry was
+   *     added yet.
+   */
+  public long getWatermark() {
+    return this.watermark;
+  }
+
+  /**
+   * Retrieves the number of late entries since the creation.
+   * @return the late entries count.
+   */
+  public long getLateEventsCount() {
+    return this.lateEventsCount;
+  }
+
+  /**
+   * Retrieves the number of entries too far ahead of the processing clock since the creation.
+   * @return the future entries count.
+   */
+  public long getFutureEventsCount() {
+    return this.futureEventsCount;
+  }
+
+}
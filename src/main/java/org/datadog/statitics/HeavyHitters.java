@@ -0,0 +1,206 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the most frequent keys of a stream with the Space-Saving algorithm.
+ * At most capacity keys are counted: an untracked key replaces the key with the lowest count
+ *  and inherits that count as its error, so the memory used never depends on the number of
+ *  distinct keys.
+ * Each count overestimates the real one by at most {@link #getMaximumError()}, which is never
+ *  more than the total count divided by the capacity, and every key hit more often than that
+ *  is tracked.
+ * The counters are held in a binary min heap indexed by key so an update is in O(log capacity).
+ * This class is not thread safe.
+ */
+public class HeavyHitters {
+
+  private final int capacity;
+  private final String[] keys;
+  private final int[] counts;
+  private final int[] errors;
+  private final StringLongMap positions;
+  private int size = 0;
+  private long totalCount = 0;
+
+  /**
+   * Creates a new {@link HeavyHitters}.
+   * @param capacity The maximum number of keys counted.
+   */
+  public HeavyHitters(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+    this.capacity = capacity;
+    this.keys = new String[capacity];
+    this.counts = new int[capacity];
+    this.errors = new int[capacity];
+    this.positions = new StringLongMap(capacity);
+  }
+
+  /**
+   * Counts a hit of a key.
+   * @param key The key hit.
+   * @return the key no longer tracked to make room for the hit key, null if none.
+   */
+  public String add(String key) {
+    this.totalCount++;
+    int position = (int) this.positions.get(key, -1);
+    if (position >= 0) {
+      this.counts[position]++;
+      siftDown(position);
+      return null;
+    }
+    if (this.size < this.capacity) {
+      set(this.size, key, 1, 0);
+      siftUp(this.size++);
+      return null;
+    }
+    String evictedKey = this.keys[0];
+    this.positions.remove(evictedKey);
+    set(0, key, this.counts[0] + 1, this.counts[0]);
+    siftDown(0);
+    return evictedKey;
+  }
+
+  /**
+   * Indicates if a key is tracked.
+   * @param key The key.
+   * @return true if the key is counted.
+   */
+  public boolean contains(String key) {
+    return this.positions.containsKey(key);
+  }
+
+  /**
+   * Merges another {@link HeavyHitters} into this one.
+   * A key missing from one of the summaries is counted with the lowest count of that summary,
+   *  so the merged counts keep the error bound of the Space-Saving algorithm.
+   * @param other The {@link HeavyHitters} to merge.
+   * @return this {@link HeavyHitters}.
+   */
+  public HeavyHitters merge(HeavyHitters other) {
+    int thisMinimum = getMaximumError();
+    int otherMinimum = other.getMaximumError();
+    List<String> mergedKeys = new ArrayList<>(this.size + other.size);
+    Map<String, int[]> merged = new HashMap<>();
+    for (int index = 0; index < this.size; index++) {
+      int otherPosition = (int) other.positions.get(this.keys[index], -1);
+      mergedKeys.add(this.keys[index]);
+      merged.put(this.keys[index], new int[] {
+          this.counts[index] + (otherPosition < 0 ? otherMinimum : other.counts[otherPosition]),
+          this.errors[index] + (otherPosition < 0 ? otherMinimum : other.errors[otherPosition])
+      });
+    }
+    for (int index = 0; index < other.size; index++) {
+      if (!this.positions.containsKey(other.keys[index])) {
+        mergedKeys.add(other.keys[index]);
+        merged.put(other.keys[index], new int[] {
+            other.counts[index] + thisMinimum, other.errors[index] + thisMinimum
+        });
+      }
+    }
+    mergedKeys.sort(Comparator.comparingInt((String key) -> merged.get(key)[0]).reversed());
+
+    this.positions.clear();
+    this.size = Math.min(mergedKeys.size(), this.capacity);
+    for (int index = 0; index < this.size; index++) {
+      String key = mergedKeys.get(index);
+      set(this.size - 1 - index, key, merged.get(key)[0], merged.get(key)[1]);
+    }
+    this.totalCount += other.totalCount;
+    return this;
+  }
+
+  /**
+   * Returns the keys with the highest counts.
+   * @param limit The maximum number of keys returned.
+   * @return A {@link List} of keys and counts sorted by ascending count then descending key.
+   */
+  public List<Map.Entry<String, Integer>> top(int limit) {
+    List<Map.Entry<String, Integer>> entries = new ArrayList<>(this.size);
+    for (int index = 0; index < this.size; index++) {
+      entries.add(new AbstractMap.SimpleImmutableEntry<>(this.keys[index], this.counts[index]));
+    }
+    entries.sort(Map.Entry.<String, Integer>comparingByValue()
+        .thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed()));
+    return new ArrayList<>(entries.subList(Math.max(0, entries.size() - limit), entries.size()));
+  }
+
+  /**
+   * Retrieves a guaranteed lower bound of the hits of a key.
+   * @param key The key.
+   * @return the count of the key minus its error, 0 if the key is not tracked.
+   */
+  public int getLowerBound(String key) {
+    int position = (int) this.positions.get(key, -1);
+    return position < 0 ? 0 : this.counts[position] - this.errors[position];
+  }
+
+  /**
+   * Retrieves the maximum overestimation of a count.
+   * @return the lowest tracked count once the capacity is reached, 0 before as counts are exact.
+   */
+  public int getMaximumError() {
+    return this.size < this.capacity ? 0 : this.counts[0];
+  }
+
+  /**
+   * Retrieves the number of hits counted, including the ones of keys no longer tracked.
+   * @return the total count.
+   */
+  public long getTotalCount() {
+    return this.totalCount;
+  }
+
+  private void set(int position, String key, int count, int error) {
+    this.keys[position] = key;
+    this.counts[position] = count;
+    this.errors[position] = error;
+    this.positions.put(key, position);
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (this.counts[parent] <= this.counts[position]) {
+        return;
+      }
+      swap(parent, position);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    while (true) {
+      int smallest = position;
+      int left = 2 * position + 1;
+      int right = left + 1;
+      if (left < this.size && this.counts[left] < this.counts[smallest]) {
+        smallest = left;
+      }
+      if (right < this.size && this.counts[right] < this.counts[smallest]) {
+        smallest = right;
+      }
+      if (smallest == position) {
+        return;
+      }
+      swap(smallest, position);
+      position = smallest;
+    }
+  }
+
+  private void swap(int first, int second) {
+    String key = this.keys[first];
+    int count = this.counts[first];
+    int error = this.errors[first];
+    set(first, this.keys[second], this.counts[second], this.errors[second]);
+    set(second, key, count, error);
+  }
+
+}
@@ -0,0 +1,148 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Records non negative values in logarithmic buckets to estimate their quantiles, as an
+ *  HdrHistogram does.
+ * The values below 16 have their own bucket, then each power of two is split into 16 buckets,
+ *  so a quantile is estimated with a relative error below 1/16. The values from 2^40 share
+ *  the last bucket. The counts are held in a fixed long array of about 4.7 KB whatever the
+ *  number of values, and the exact maximum is kept aside.
+ * Histograms can be merged without keeping the values.
+ * This class is not thread safe.
+ */
+public class LogHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKETS_COUNT
+      = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS_COUNT;
+
+  private final long[] counts = new long[BUCKETS_COUNT];
+  private long totalCount = 0;
+  private long max = 0;
+
+  /**
+   * Records a value.
+   * @param value The value to record.
+   */
+  public void record(long value) {
+    record(value, 1);
+  }
+
+  /**
+   * Records a value several times.
+   * @param value The value to record.
+   * @param count The number of times the value is recorded.
+   */
+  public void record(long value, long count) {
+    Preconditions.checkArgument(value >= 0, "Only non negative values can be recorded");
+    Preconditions.checkArgument(count >= 0, "Count must be >= 0");
+    this.counts[bucketIndex(value)] += count;
+    this.totalCount += count;
+    if (count > 0) {
+      this.max = Math.max(this.max, value);
+    }
+  }
+
+  /**
+   * Merges another {@link LogHistogram} into this one.
+   * @param other The {@link LogHistogram} to merge.
+   * @return this {@link LogHistogram}.
+   */
+  public LogHistogram merge(LogHistogram other) {
+    for (int index = 0; index < BUCKETS_COUNT; index++) {
+      this.counts[index] += other.counts[index];
+    }
+    this.totalCount += other.totalCount;
+    this.max = Math.max(this.max, other.max);
+    return this;
+  }
+
+  /**
+   * Estimates the value below which a fraction of the recorded values fall.
+   * @param quantile The fraction, between 0 and 1.
+   * @return the highest value of the bucket holding the quantile, at most the maximum recorded
+   *     value, 0 if no value was recorded.
+   */
+  public long valueAtQuantile(double quantile) {
+    Preconditions.checkArgument(quantile >= 0 && quantile <= 1,
+        "The quantile must be between 0 and 1");
+    long rank = Math.max(1, (long) Math.ceil(quantile * this.totalCount));
+    long cumulativeCount = 0;
+    for (int index = 0; index < BUCKETS_COUNT; index++) {
+      cumulativeCount += this.counts[index];
+      if (cumulativeCount >= rank) {
+        return index == BUCKETS_COUNT - 1
+            ? this.max : Math.min(highestEquivalentValue(index), this.max);
+      }
+    }
+    return this.max;
+  }
+
+  /**
+   * Retrieves the number of recorded values.
+   * @return the total count.
+   */
+  public long getTotalCount() {
+    return this.totalCount;
+  }
+
+  /**
+   * Retrieves the highest recorded value.
+   * @return the exact maximum, 0 if no value was recorded.
+   */
+  public long getMax() {
+    return this.max;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof LogHistogram)) {
+      return false;
+    }
+    LogHistogram otherHistogram = (LogHistogram) other;
+    return this.totalCount == otherHistogram.totalCount && this.max == otherHistogram.max
+        && Arrays.equals(this.counts, otherHistogram.counts);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(this.max) + Arrays.hashCode(this.counts);
+  }
+
+  @Override
+  public String toString() {
+    return "LogHistogram(totalCount=" + this.totalCount + ", p50=" + valueAtQuantile(0.5)
+        + ", p99=" + valueAtQuantile(0.99) + ", max=" + this.max + ")";
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS_COUNT) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    if (exponent >= MAX_EXPONENT) {
+      return BUCKETS_COUNT - 1;
+    }
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS_COUNT + subBucket;
+  }
+
+  private static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKETS_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS_COUNT - 1;
+    long lowestValue = (long) (SUB_BUCKETS_COUNT + index % SUB_BUCKETS_COUNT) << shift;
+    return lowestValue + (1L << shift) - 1;
+  }
+
+}
@@ -0,0 +1,417 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the hits of every prefix of the resource paths, such as /api, /api/v2 and
+ *  /api/v2/orders, so the traffic can be drilled down to any depth.
+ * The nodes are held in parallel arrays of primitive counters, grown by doubling, and found
+ *  through an open addressing index of their parent and segment, so counting a known path
+ *  allocates nothing.
+ * The number of nodes is bounded: when a new node does not fit, the least hit half of the nodes
+ *  is pruned, the deepest and newest nodes first among equal hits. The hits of a node that are
+ *  not counted by its remaining children nor ended on it are reported as its
+ *  {@link #OTHER_SEGMENT} child, so the hits of a prefix are exact while the hits of its
+ *  children may be underestimated.
+ * This class is not thread safe.
+ */
+public class PathTrie {
+
+  public static final int DEFAULT_MAX_NODES = 4096;
+
+  /**
+   * The segment of the virtual child holding the hits of the pruned children of a node.
+   */
+  public static final String OTHER_SEGMENT = "(other)";
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+
+  private final int maxNodes;
+  private String[] segments;
+  private int[] segmentHashes;
+  private int[] parents;
+  private int[] firstChildren;
+  private int[] nextSiblings;
+  private long[] hits;
+  private long[] endHits;
+  private int[] index;
+  private int indexMask;
+  private int nodesCount;
+
+  /**
+   * Creates a new empty {@link PathTrie} of {@link #DEFAULT_MAX_NODES} nodes.
+   */
+  public PathTrie() {
+    this(DEFAULT_MAX_NODES);
+  }
+
+  /**
+   * Creates a new empty {@link PathTrie}.
+   * @param maxNodes The maximum number of nodes, including the root.
+   */
+  public PathTrie(int maxNodes) {
+    Preconditions.checkArgument(maxNodes > 1 && maxNodes <= 1 << 28,
+        "The maximum number of nodes must be between 2 and 2^28");
+    this.maxNodes = maxNodes;
+    int capacity = Math.min(INITIAL_CAPACITY, maxNodes);
+    this.segments = new String[capacity];
+    this.segmentHashes = new int[capacity];
+    this.parents = new int[capacity];
+    this.firstChildren = new int[capacity];
+    this.nextSiblings = new int[capacity];
+    this.hits = new long[capacity];
+    this.endHits = new long[capacity];
+    this.index = new int[2 * Integer.highestOneBit(2 * capacity - 1)];
+    this.indexMask = this.index.length - 1;
+    clear();
+  }
+
+  /**
+   * Counts a hit of a path and of all its prefixes.
+   * The query string and the fragment are ignored, as the empty segments.
+   * @param path The resource path.
+   */
+  public void add(CharSequence path) {
+    int pathEnd = findPathEnd(path);
+    int node = ROOT;
+    int segmentStart = nextSegmentStart(path, 0, pathEnd);
+    boolean compacted = false;
+    while (segmentStart < pathEnd) {
+      int segmentEnd = segmentEnd(path, segmentStart, pathEnd);
+      int child = findChild(node, path, segmentStart, segmentEnd);
+      if (child == NONE) {
+        if (this.nodesCount == this.maxNodes && !compacted) {
+          compact();
+          compacted = true;
+          node = ROOT;
+          segmentStart = nextSegmentStart(path, 0, pathEnd);
+          continue;
+        }
+        if (this.nodesCount == this.maxNodes) {
+          break;
+        }
+        child = addChild(node, path, segmentStart, segmentEnd);
+      }
+      node = child;
+      segmentStart = nextSegmentStart(path, segmentEnd, pathEnd);
+    }
+    if (segmentStart >= pathEnd) {
+      this.endHits[node]++;
+    }
+    for (int ancestor = node; ancestor != NONE; ancestor = this.parents[ancestor]) {
+      this.hits[ancestor]++;
+    }
+  }
+
+  /**
+   * Merges another {@link PathTrie} into this one.
+   * The children of the other trie that do not fit are counted as the other child of their
+   *  parent.
+   * @param other The {@link PathTrie} to merge.
+   * @return this {@link PathTrie}.
+   */
+  public PathTrie merge(PathTrie other) {
+    if (this.nodesCount + other.nodesCount - 1 > this.maxNodes) {
+      compact();
+    }
+    mergeNode(other, ROOT, ROOT);
+    return this;
+  }
+
+  /**
+   * Retrieves the hits of a prefix.
+   * @param prefix The path prefix, such as /api/v2.
+   * @return the hits of the paths starting with the prefix, 0 if the prefix is not tracked.
+   */
+  public long getHits(CharSequence prefix) {
+    int node = findNode(prefix);
+    return node == NONE ? 0 : this.hits[node];
+  }
+
+  /**
+   * Returns the most hit children of a prefix.
+   * @param prefix The path prefix, such as /api, or / for the first segments.
+   * @param limit The maximum number of children returned.
+   * @return A {@link List} of children paths and hits sorted by ascending hits then descending
+   *     path, the pruned children being counted as the {@link #OTHER_SEGMENT} child.
+   *     The list is empty if the prefix is not tracked.
+   */
+  public List<Map.Entry<String, Long>> top(CharSequence prefix, int limit) {
+    int node = findNode(prefix);
+    List<Map.Entry<String, Long>> children = new ArrayList<>();
+    if (node == NONE) {
+      return children;
+    }
+    String childPrefix = node == ROOT ? "/" : toPath(node) + "/";
+    long otherHits = this.hits[node] - this.endHits[node];
+    for (int child = this.firstChildren[node]; child != NONE; child = this.nextSiblings[child]) {
+      children.add(new AbstractMap.SimpleImmutableEntry<>(childPrefix + this.segments[child],
+          this.hits[child]));
+      otherHits -= this.hits[child];
+    }
+    if (otherHits > 0) {
+      children.add(new AbstractMap.SimpleImmutableEntry<>(childPrefix + OTHER_SEGMENT,
+          otherHits));
+    }
+    children.sort(Map.Entry.<String, Long>comparingByValue()
+        .thenComparing(Map.Entry.<String, Long>comparingByKey().reversed()));
+    return new ArrayList<>(children.subList(Math.max(0, children.size() - limit),
+        children.size()));
+  }
+
+  /**
+   * Retrieves the number of nodes, including the root.
+   * @return the nodes count.
+   */
+  public int getNodesCount() {
+    return this.nodesCount;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof PathTrie)) {
+      return false;
+    }
+    return nodesHits().equals(((PathTrie) other).nodesHits());
+  }
+
+  @Override
+  public int hashCode() {
+    return nodesHits().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "PathTrie(hits=" + this.hits[ROOT] + ", nodesCount=" + this.nodesCount + ")";
+  }
+
+  /**
+   * Maps the path of every node to its hits and the hits ended on it, whatever the node ids.
+   */
+  private Map<String, List<Long>> nodesHits() {
+    Map<String, List<Long>> nodesHits = new HashMap<>();
+    for (int node = 0; node < this.nodesCount; node++) {
+      nodesHits.put(toPath(node), Arrays.asList(this.hits[node], this.endHits[node]));
+    }
+    return nodesHits;
+  }
+
+  private void mergeNode(PathTrie other, int otherNode, int node) {
+    this.hits[node] += other.hits[otherNode];
+    this.endHits[node] += other.endHits[otherNode];
+    for (int otherChild = other.firstChildren[otherNode]; otherChild != NONE;
+        otherChild = other.nextSiblings[otherChild]) {
+      String segment = other.segments[otherChild];
+      int child = findChild(node, segment, 0, segment.length());
+      if (child == NONE && this.nodesCount < this.maxNodes) {
+        child = addChild(node, segment, 0, segment.length());
+      }
+      if (child != NONE) {
+        mergeNode(other, otherChild, child);
+      }
+    }
+  }
+
+  /**
+   * Prunes the least hit half of the nodes, the deepest then newest ones first among equal hits.
+   * As a node has at least the hits of its children, the pruned nodes are whole subtrees and
+   *  their hits stay counted by their ancestors.
+   */
+  private void compact() {
+    if (this.nodesCount == 1) {
+      return;
+    }
+    int[] depths = new int[this.nodesCount];
+    Integer[] pruningOrder = new Integer[this.nodesCount - 1];
+    for (int node = 1; node < this.nodesCount; node++) {
+      depths[node] = depths[this.parents[node]] + 1;
+      pruningOrder[node - 1] = node;
+    }
+    Arrays.sort(pruningOrder, Comparator.<Integer>comparingLong(node -> this.hits[node])
+        .thenComparing(Comparator.<Integer>comparingInt(node -> depths[node]).reversed())
+        .thenComparing(Comparator.<Integer>reverseOrder()));
+    boolean[] pruned = new boolean[this.nodesCount];
+    for (int rank = 0; rank < Math.max(1, pruningOrder.length / 2); rank++) {
+      pruned[pruningOrder[rank]] = true;
+    }
+
+    String[] keptSegments = Arrays.copyOf(this.segments, this.nodesCount);
+    int[] keptParents = Arrays.copyOf(this.parents, this.nodesCount);
+    long[] keptHits = Arrays.copyOf(this.hits, this.nodesCount);
+    long[] keptEndHits = Arrays.copyOf(this.endHits, this.nodesCount);
+    int[] newIds = new int[this.nodesCount];
+    int previousNodesCount = this.nodesCount;
+    clear();
+    this.hits[ROOT] = keptHits[ROOT];
+    this.endHits[ROOT] = keptEndHits[ROOT];
+    newIds[ROOT] = ROOT;
+    // A parent always has a lower id than its children, in the old ids as in the new ones.
+    for (int node = 1; node < previousNodesCount; node++) {
+      int parent = newIds[keptParents[node]];
+      if (parent == NONE || pruned[node]) {
+        newIds[node] = NONE;
+        continue;
+      }
+      String segment = keptSegments[node];
+      int newNode = addChild(parent, segment, 0, segment.length());
+      this.hits[newNode] = keptHits[node];
+      this.endHits[newNode] = keptEndHits[node];
+      newIds[node] = newNode;
+    }
+  }
+
+  private void clear() {
+    Arrays.fill(this.index, 0);
+    Arrays.fill(this.hits, 0);
+    Arrays.fill(this.endHits, 0);
+    Arrays.fill(this.segments, null);
+    this.segments[ROOT] = "";
+    this.parents[ROOT] = NONE;
+    this.firstChildren[ROOT] = NONE;
+    this.nextSiblings[ROOT] = NONE;
+    this.nodesCount = 1;
+  }
+
+  private int addChild(int parent, CharSequence text, int start, int end) {
+    if (this.nodesCount == this.segments.length) {
+      grow();
+    }
+    int child = this.nodesCount++;
+    this.segments[child] = text.subSequence(start, end).toString();
+    this.segmentHashes[child] = hash(text, start, end);
+    this.parents[child] = parent;
+    this.firstChildren[child] = NONE;
+    this.nextSiblings[child] = this.firstChildren[parent];
+    this.firstChildren[parent] = child;
+    indexNode(child);
+    return child;
+  }
+
+  private void indexNode(int node) {
+    int slot = spread(this.parents[node], this.segmentHashes[node]) & this.indexMask;
+    while (this.index[slot] != 0) {
+      slot = (slot + 1) & this.indexMask;
+    }
+    this.index[slot] = node + 1;
+  }
+
+  /**
+   * Doubles the capacity of the node arrays, up to the maximum number of nodes.
+   */
+  private void grow() {
+    int capacity = Math.min(2 * this.segments.length, this.maxNodes);
+    this.segments = Arrays.copyOf(this.segments, capacity);
+    this.segmentHashes = Arrays.copyOf(this.segmentHashes, capacity);
+    this.parents = Arrays.copyOf(this.parents, capacity);
+    this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+    this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+    this.hits = Arrays.copyOf(this.hits, capacity);
+    this.endHits = Arrays.copyOf(this.endHits, capacity);
+    this.index = new int[2 * Integer.highestOneBit(2 * capacity - 1)];
+    this.indexMask = this.index.length - 1;
+    for (int node = 1; node < this.nodesCount; node++) {
+      indexNode(node);
+    }
+  }
+
+  private int findChild(int parent, CharSequence text, int start, int end) {
+    int segmentHash = hash(text, start, end);
+    for (int slot = spread(parent, segmentHash) & this.indexMask; this.index[slot] != 0;
+        slot = (slot + 1) & this.indexMask) {
+      int node = this.index[slot] - 1;
+      if (this.parents[node] == parent && this.segmentHashes[node] == segmentHash
+          && regionEquals(this.segments[node], text, start, end)) {
+        return node;
+      }
+    }
+    return NONE;
+  }
+
+  private int findNode(CharSequence prefix) {
+    int pathEnd = findPathEnd(prefix);
+    int node = ROOT;
+    for (int segmentStart = nextSegmentStart(prefix, 0, pathEnd);
+        segmentStart < pathEnd && node != NONE; ) {
+      int segmentEnd = segmentEnd(prefix, segmentStart, pathEnd);
+      node = findChild(node, prefix, segmentStart, segmentEnd);
+      segmentStart = nextSegmentStart(prefix, segmentEnd, pathEnd);
+    }
+    return node;
+  }
+
+  private String toPath(int node) {
+    if (node == ROOT) {
+      return "/";
+    }
+    StringBuilder path = new StringBuilder();
+    for (int ancestor = node; ancestor != ROOT; ancestor = this.parents[ancestor]) {
+      path.insert(0, this.segments[ancestor]).insert(0, '/');
+    }
+    return path.toString();
+  }
+
+  private static int findPathEnd(CharSequence path) {
+    for (int index = 0; index < path.length(); index++) {
+      char character = path.charAt(index);
+      if (character == '?' || character == '#') {
+        return index;
+      }
+    }
+    return path.length();
+  }
+
+  private static int nextSegmentStart(CharSequence path, int from, int pathEnd) {
+    int segmentStart = from;
+    while (segmentStart < pathEnd && path.charAt(segmentStart) == '/') {
+      segmentStart++;
+    }
+    return segmentStart;
+  }
+
+  private static int segmentEnd(CharSequence path, int segmentStart, int pathEnd) {
+    int segmentEnd = segmentStart;
+    while (segmentEnd < pathEnd && path.charAt(segmentEnd) != '/') {
+      segmentEnd++;
+    }
+    return segmentEnd;
+  }
+
+  private static int hash(CharSequence text, int start, int end) {
+    int hash = 0;
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + text.charAt(index);
+    }
+    return hash;
+  }
+
+  private static int spread(int parent, int segmentHash) {
+    int spreadHash = (segmentHash + parent * 0x61c88647) * 0x9e3779b9;
+    return spreadHash ^ (spreadHash >>> 16);
+  }
+
+  private static boolean regionEquals(String segment, CharSequence text, int start, int end) {
+    if (segment.length() != end - start) {
+      return false;
+    }
+    for (int index = start; index < end; index++) {
+      if (segment.charAt(index - start) != text.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,114 @@
+package org.datadog.statitics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the hits of each status code in a dense int array indexed by the code.
+ * The codes from {@link #MAX_STATUS} are counted together as invalid. The class totals are
+ *  summed from the codes, so no status code is dropped and no map is updated per hit.
+ * Histograms can be merged.
+ * This class is not thread safe.
+ */
+public class StatusHistogram {
+
+  public static final int MAX_STATUS = 600;
+
+  private final int[] counts = new int[MAX_STATUS];
+  private int invalidCount = 0;
+
+  /**
+   * Counts a hit of a status code.
+   * @param status The status code.
+   */
+  public void record(int status) {
+    if (status >= 0 && status < MAX_STATUS) {
+      this.counts[status]++;
+    } else {
+      this.invalidCount++;
+    }
+  }
+
+  /**
+   * Merges another {@link StatusHistogram} into this one.
+   * @param other The {@link StatusHistogram} to merge.
+   * @return this {@link StatusHistogram}.
+   */
+  public StatusHistogram merge(StatusHistogram other) {
+    for (int status = 0; status < MAX_STATUS; status++) {
+      this.counts[status] += other.counts[status];
+    }
+    this.invalidCount += other.invalidCount;
+    return this;
+  }
+
+  /**
+   * Retrieves the hits of a status code.
+   * @param status The status code.
+   * @return the number of hits, those of all the invalid codes for a code from
+   *     {@link #MAX_STATUS} or negative.
+   */
+  public int getCount(int status) {
+    return status >= 0 && status < MAX_STATUS ? this.counts[status] : this.invalidCount;
+  }
+
+  /**
+   * Sums the hits of a status class.
+   * @param statusClass The first digit of the status codes, from 1 to 5.
+   * @return the number of hits of the codes from statusClass * 100 to statusClass * 100 + 99.
+   */
+  public int getClassCount(int statusClass) {
+    int classCount = 0;
+    for (int status = statusClass * 100; status < statusClass * 100 + 100; status++) {
+      classCount += this.counts[status];
+    }
+    return classCount;
+  }
+
+  /**
+   * Lists the hit status codes.
+   * @return the hits by status code in ascending code order, without the invalid codes.
+   */
+  public Map<Integer, Integer> getCounts() {
+    Map<Integer, Integer> counts = new LinkedHashMap<>();
+    for (int status = 0; status < MAX_STATUS; status++) {
+      if (this.counts[status] > 0) {
+        counts.put(status, this.counts[status]);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Retrieves the hits of the status codes from {@link #MAX_STATUS}.
+   * @return the number of hits of invalid codes.
+   */
+  public int getInvalidCount() {
+    return this.invalidCount;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof StatusHistogram)) {
+      return false;
+    }
+    StatusHistogram otherHistogram = (StatusHistogram) other;
+    return this.invalidCount == otherHistogram.invalidCount
+        && Arrays.equals(this.counts, otherHistogram.counts);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.invalidCount + Arrays.hashCode(this.counts);
+  }
+
+  @Override
+  public String toString() {
+    return "StatusHistogram(counts=" + getCounts() + ", invalidCount=" + this.invalidCount + ")";
+  }
+
+}
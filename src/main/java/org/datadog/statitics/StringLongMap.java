@@ -0,0 +1,197 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A map of {@link String} keys to primitive long values, used as counters and as key indexes.
+ * The keys and the values are held in two parallel arrays addressed by the key hash with
+ *  linear probing, so an update neither boxes the value nor allocates an entry. The arrays
+ *  are doubled when half full, and a removal shifts back the following keys of its probe
+ *  sequence instead of leaving a tombstone.
+ * The keys must not be null.
+ * This class is not thread safe.
+ */
+public class StringLongMap {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+  private String[] keys;
+  private long[] values;
+  private int mask;
+  private int size = 0;
+
+  /**
+   * Creates a new empty {@link StringLongMap}.
+   */
+  public StringLongMap() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * Creates a new empty {@link StringLongMap}.
+   * @param expectedSize The number of keys held without growing the arrays.
+   */
+  public StringLongMap(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0 && expectedSize <= 1 << 29,
+        "The expected size must be between 0 and 2^29");
+    int capacity = Integer.highestOneBit(Math.max(2 * expectedSize, 2) - 1) << 1;
+    this.keys = new String[capacity];
+    this.values = new long[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Retrieves the value of a key.
+   * @param key The key.
+   * @param defaultValue The value returned if the key is absent.
+   * @return the value of the key, the default value if it is absent.
+   */
+  public long get(String key, long defaultValue) {
+    int slot = find(key);
+    return slot < 0 ? defaultValue : this.values[slot];
+  }
+
+  /**
+   * Indicates if a key is present.
+   * @param key The key.
+   * @return true if the key has a value.
+   */
+  public boolean containsKey(String key) {
+    return find(key) >= 0;
+  }
+
+  /**
+   * Sets the value of a key.
+   * @param key The key.
+   * @param value The value.
+   */
+  public void put(String key, long value) {
+    int slot = insert(key);
+    this.values[slot] = value;
+  }
+
+  /**
+   * Adds a delta to the value of a key, the absent keys having the value 0.
+   * @param key The key.
+   * @param delta The delta to add.
+   * @return the new value of the key.
+   */
+  public long addTo(String key, long delta) {
+    int slot = insert(key);
+    this.values[slot] += delta;
+    return this.values[slot];
+  }
+
+  /**
+   * Removes a key.
+   * @param key The key.
+   * @return true if the key was present.
+   */
+  public boolean remove(String key) {
+    int gap = find(key);
+    if (gap < 0) {
+      return false;
+    }
+    this.size--;
+    for (int slot = (gap + 1) & this.mask; this.keys[slot] != null;
+        slot = (slot + 1) & this.mask) {
+      int idealSlot = spread(this.keys[slot].hashCode()) & this.mask;
+      if (((slot - idealSlot) & this.mask) >= ((slot - gap) & this.mask)) {
+        this.keys[gap] = this.keys[slot];
+        this.values[gap] = this.values[slot];
+        gap = slot;
+      }
+    }
+    this.keys[gap] = null;
+    this.values[gap] = 0;
+    return true;
+  }
+
+  /**
+   * Removes all the keys, keeping the arrays.
+   */
+  public void clear() {
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.values, 0);
+    this.size = 0;
+  }
+
+  /**
+   * Retrieves the number of keys.
+   * @return the number of keys.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Calls an action for each key and its value, in no particular order.
+   * @param action The action to call.
+   */
+  public void forEach(ObjLongConsumer<String> action) {
+    for (int slot = 0; slot < this.keys.length; slot++) {
+      if (this.keys[slot] != null) {
+        action.accept(this.keys[slot], this.values[slot]);
+      }
+    }
+  }
+
+  private int find(String key) {
+    for (int slot = spread(key.hashCode()) & this.mask; ; slot = (slot + 1) & this.mask) {
+      String held = this.keys[slot];
+      if (held == null) {
+        return -1;
+      }
+      if (held == key || held.equals(key)) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Finds the slot of a key, adding the key with the value 0 if it is absent.
+   */
+  private int insert(String key) {
+    int slot = spread(key.hashCode()) & this.mask;
+    for (String held = this.keys[slot]; held != null; held = this.keys[slot]) {
+      if (held == key || held.equals(key)) {
+        return slot;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    if (2 * (this.size + 1) > this.keys.length) {
+      grow();
+      return insert(key);
+    }
+    this.keys[slot] = key;
+    this.size++;
+    return slot;
+  }
+
+  private void grow() {
+    String[] oldKeys = this.keys;
+    long[] oldValues = this.values;
+    this.keys = new String[2 * oldKeys.length];
+    this.values = new long[2 * oldKeys.length];
+    this.mask = this.keys.length - 1;
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldKeys[oldSlot] != null) {
+        int slot = spread(oldKeys[oldSlot].hashCode()) & this.mask;
+        while (this.keys[slot] != null) {
+          slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = oldKeys[oldSlot];
+        this.values[slot] = oldValues[oldSlot];
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    int spreadHash = hash * 0x9e3779b9;
+    return spreadHash ^ (spreadHash >>> 16);
+  }
+
+}
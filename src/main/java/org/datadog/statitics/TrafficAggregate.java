@@ -0,0 +1,163 @@
+package org.datadog.statitics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.log.LogEntry;
+import org.datadog.normalizer.ResourceNormalizer;
+
+/**
+ * Accumulates {@link CommonLogFormatEntry} into the figures of a {@link TrafficStatistic}.
+ * The most hit sections, hosts and resources are tracked by {@link HeavyHitters} of
+ *  {@link #HEAVY_HITTERS_CAPACITY} keys, so the memory used is bounded whatever the number of
+ *  distinct values. The resources are counted once normalized by a {@link ResourceNormalizer},
+ *  and all their prefixes in a {@link PathTrie}.
+ * The response sizes are recorded in {@link LogHistogram}, overall and for each tracked section.
+ * The hits are counted by section, status class and method in a {@link TrafficCube}, from which
+ *  the method totals are rolled up, and by status code in a {@link StatusHistogram}, from which
+ *  the status class totals are summed. The other counters are {@link StringLongMap}.
+ * Aggregates computed from distinct sets of entries can be merged into a single one.
+ * This class is not thread safe.
+ */
+@Slf4j
+public class TrafficAggregate {
+
+  public static final int HEAVY_HITTERS_CAPACITY = 1024;
+
+  private long trafficSize = 0;
+  private int totalHits = 0;
+  private final HeavyHitters sectionsHits = new HeavyHitters(HEAVY_HITTERS_CAPACITY);
+  private final HeavyHitters hostsHits = new HeavyHitters(HEAVY_HITTERS_CAPACITY);
+  private final HeavyHitters resourcesHits = new HeavyHitters(HEAVY_HITTERS_CAPACITY);
+  private final HyperLogLog distinctClients = new HyperLogLog();
+  private final LogHistogram sizeHistogram = new LogHistogram();
+  private final Map<String, LogHistogram> sectionsSizeHistograms = new HashMap<>();
+  private final TrafficCube trafficCube = new TrafficCube();
+  private final StatusHistogram statusHistogram = new StatusHistogram();
+  private final PathTrie pathTrie = new PathTrie();
+  private final StringLongMap extensionMethodsHits = new StringLongMap();
+  private final ResourceNormalizer resourceNormalizer;
+
+  /**
+   * Creates a new empty {@link TrafficAggregate} with its own default {@link ResourceNormalizer}.
+   */
+  public TrafficAggregate() {
+    this(new ResourceNormalizer());
+  }
+
+  /**
+   * Creates a new empty {@link TrafficAggregate}.
+   * @param resourceNormalizer The {@link ResourceNormalizer} of the counted resources. It can be
+   *                           shared by the successive aggregates of a thread.
+   */
+  public TrafficAggregate(@NonNull ResourceNormalizer resourceNormalizer) {
+    this.resourceNormalizer = resourceNormalizer;
+  }
+
+  /**
+   * Adds a {@link LogEntry} to the aggregate. The entry is not kept so it can be a reused view.
+   * @param commonLogFormatEntry The {@link LogEntry} to add.
+   */
+  public void add(LogEntry commonLogFormatEntry) {
+    this.trafficSize += commonLogFormatEntry.getSize();
+    this.sizeHistogram.record(commonLogFormatEntry.getSize());
+    this.totalHits++;
+    this.trafficCube.add(commonLogFormatEntry);
+    this.statusHistogram.record(commonLogFormatEntry.getStatus());
+
+    if (commonLogFormatEntry.getSection() != null) {
+      String evictedSection = this.sectionsHits.add(commonLogFormatEntry.getSection());
+      if (evictedSection != null) {
+        this.sectionsSizeHistograms.remove(evictedSection);
+      }
+      this.sectionsSizeHistograms
+          .computeIfAbsent(commonLogFormatEntry.getSection(), section -> new LogHistogram())
+          .record(commonLogFormatEntry.getSize());
+    } else {
+      log.error("Invalid resource url. Unable to retrieve section from {}."
+              + " This request will not be considered in hits by section statistics.",
+          commonLogFormatEntry.getResource()
+      );
+    }
+
+    this.hostsHits.add(commonLogFormatEntry.getHost());
+    this.distinctClients.add(commonLogFormatEntry.getHost());
+    String normalizedResource = this.resourceNormalizer.normalize(
+        commonLogFormatEntry.getResource());
+    this.resourcesHits.add(normalizedResource);
+    this.pathTrie.add(normalizedResource);
+
+    if (commonLogFormatEntry.getHttpMethod() == null) {
+      this.extensionMethodsHits.addTo(commonLogFormatEntry.getExtensionMethod(), 1);
+    }
+  }
+
+  /**
+   * Merges another {@link TrafficAggregate} into this one.
+   * @param other The {@link TrafficAggregate} to merge.
+   * @return this {@link TrafficAggregate}.
+   */
+  public TrafficAggregate merge(TrafficAggregate other) {
+    this.trafficSize += other.trafficSize;
+    this.totalHits += other.totalHits;
+    this.trafficCube.merge(other.trafficCube);
+    this.statusHistogram.merge(other.statusHistogram);
+    this.pathTrie.merge(other.pathTrie);
+    this.sectionsHits.merge(other.sectionsHits);
+    this.hostsHits.merge(other.hostsHits);
+    this.resourcesHits.merge(other.resourcesHits);
+    this.distinctClients.merge(other.distinctClients);
+    this.sizeHistogram.merge(other.sizeHistogram);
+    other.sectionsSizeHistograms.forEach((section, histogram) ->
+        this.sectionsSizeHistograms.merge(section, histogram, LogHistogram::merge));
+    this.sectionsSizeHistograms.keySet().removeIf(section -> !this.sectionsHits.contains(section));
+    other.extensionMethodsHits.forEach(this.extensionMethodsHits::addTo);
+    return this;
+  }
+
+  /**
+   * Creates a {@link TrafficStatistic} from the aggregated figures.
+   * The statistic holds the distinct clients sketch, the size and status histograms, the
+   *  traffic cube and the path trie of the aggregate, so the aggregate must not be updated
+   *  anymore.
+   * @param sectionsLimit The number of most hit sections, hosts and resources to keep.
+   * @return a new {@link TrafficStatistic}.
+   */
+  public TrafficStatistic toTrafficStatistic(int sectionsLimit) {
+    Map<String, Integer> methodsHits = new HashMap<>();
+    this.extensionMethodsHits.forEach((method, hits) -> methodsHits.put(method, (int) hits));
+    this.trafficCube.getHitsByMethod(null, TrafficCube.ANY_STATUS_CLASS).forEach((method, hits) -> {
+      if (!TrafficCube.EXTENSION_METHODS.equals(method)) {
+        methodsHits.put(method, hits.intValue());
+      }
+    });
+    List<Map.Entry<String, Integer>> topSections = this.sectionsHits.top(sectionsLimit);
+    Map<String, LogHistogram> topSectionsSizeHistograms = new HashMap<>();
+    topSections.forEach(entry -> topSectionsSizeHistograms.put(entry.getKey(),
+        this.sectionsSizeHistograms.get(entry.getKey())));
+    return TrafficStatistic.builder()
+        .totalTrafficSize(this.trafficSize)
+        .totalHitsCount(this.totalHits)
+        .successRequestsCount(this.statusHistogram.getClassCount(2))
+        .clientErrorRequestCount(this.statusHistogram.getClassCount(4))
+        .serverErrorRequestCount(this.statusHistogram.getClassCount(5))
+        .statusHistogram(this.statusHistogram)
+        .sectionsHits(topSections)
+        .hostsHits(this.hostsHits.top(sectionsLimit))
+        .resourcesHits(this.resourcesHits.top(sectionsLimit))
+        .topHitsMaxError(Math.max(this.sectionsHits.getMaximumError(),
+            Math.max(this.hostsHits.getMaximumError(), this.resourcesHits.getMaximumError())))
+        .distinctClients(this.distinctClients)
+        .sizeHistogram(this.sizeHistogram)
+        .sectionsSizeHistograms(topSectionsSizeHistograms)
+        .methodsHits(methodsHits)
+        .trafficCube(this.trafficCube)
+        .pathTrie(this.pathTrie)
+        .build();
+  }
+
+}
@@ -0,0 +1,305 @@
+package org.datadog.statitics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.datadog.log.HttpMethod;
+import org.datadog.log.LogEntry;
+
+/**
+ * Counts the hits and the traffic size by section, status class and HTTP method.
+ * Each section is given a dense id on its first hit, so a cell is an index into primitive
+ *  arrays: (section id * status classes + status class) * methods + method. The extension
+ *  methods share a single method slot and the status codes outside 1xx to 5xx share the status
+ *  class 0. Once the maximum number of sections is reached, the new sections and the entries
+ *  without section are counted in {@link #OTHER_SECTION}.
+ * A query can fix or roll up any of the three dimensions.
+ * This class is not thread safe.
+ */
+public class TrafficCube {
+
+  public static final String OTHER_SECTION = "(other)";
+  public static final String EXTENSION_METHODS = "(extension)";
+  public static final int MAX_SECTIONS = 1024;
+
+  /**
+   * Rolls up the status class dimension in a query.
+   */
+  public static final int ANY_STATUS_CLASS = -1;
+
+  private static final HttpMethod[] HTTP_METHODS = HttpMethod.values();
+  private static final int STATUS_CLASSES = 6;
+  private static final int METHODS = HTTP_METHODS.length + 1;
+  private static final int EXTENSION_METHOD_INDEX = HTTP_METHODS.length;
+  private static final int CELLS_PER_SECTION = STATUS_CLASSES * METHODS;
+  private static final int OTHER_SECTION_ID = 0;
+
+  private final int maxSections;
+  private final StringLongMap sectionIds = new StringLongMap();
+  private String[] sections = new String[16];
+  private int sectionsCount = 0;
+  private long[] hits = new long[16 * CELLS_PER_SECTION];
+  private long[] trafficSizes = new long[16 * CELLS_PER_SECTION];
+  private String lastSection;
+  private int lastSectionId;
+
+  /**
+   * Creates a new {@link TrafficCube} of at most {@link #MAX_SECTIONS} sections.
+   */
+  public TrafficCube() {
+    this(MAX_SECTIONS);
+  }
+
+  /**
+   * Creates a new {@link TrafficCube}.
+   * @param maxSections The maximum number of sections, including {@link #OTHER_SECTION}.
+   */
+  public TrafficCube(int maxSections) {
+    Preconditions.checkArgument(maxSections > 1, "The maximum number of sections must be > 1");
+    this.maxSections = maxSections;
+    sectionId(OTHER_SECTION);
+  }
+
+  /**
+   * Adds a {@link LogEntry} to its cell. The entry is not kept so it can be a reused view.
+   * @param logEntry The {@link LogEntry} to add.
+   */
+  public void add(LogEntry logEntry) {
+    add(logEntry.getSection(), logEntry.getStatus(), logEntry.getHttpMethod(),
+        logEntry.getSize());
+  }
+
+  /**
+   * Adds a request to its cell.
+   * @param section The section of the requested resource, null if it has none.
+   * @param status The status code.
+   * @param httpMethod The standard HTTP method, null for an extension method.
+   * @param size The response size.
+   */
+  public void add(String section, int status, HttpMethod httpMethod, long size) {
+    int cell = cell(sectionId(section), statusClass(status),
+        httpMethod == null ? EXTENSION_METHOD_INDEX : httpMethod.ordinal());
+    this.hits[cell]++;
+    this.trafficSizes[cell] += size;
+  }
+
+  /**
+   * Merges another {@link TrafficCube} into this one.
+   * @param other The {@link TrafficCube} to merge.
+   * @return this {@link TrafficCube}.
+   */
+  public TrafficCube merge(TrafficCube other) {
+    for (int otherId = 0; otherId < other.sectionsCount; otherId++) {
+      int firstCell = sectionId(other.sections[otherId]) * CELLS_PER_SECTION;
+      int otherFirstCell = otherId * CELLS_PER_SECTION;
+      for (int offset = 0; offset < CELLS_PER_SECTION; offset++) {
+        this.hits[firstCell + offset] += other.hits[otherFirstCell + offset];
+        this.trafficSizes[firstCell + offset] += other.trafficSizes[otherFirstCell + offset];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Counts the hits of a cell or of a roll-up of cells.
+   * @param section The section, null to roll up all the sections.
+   * @param statusClass The first digit of the status codes, 0 for the invalid ones,
+   *                    {@link #ANY_STATUS_CLASS} to roll up all the status classes.
+   * @param method The HTTP method name, {@link #EXTENSION_METHODS} for the extension methods,
+   *               null to roll up all the methods.
+   * @return the number of hits.
+   */
+  public long getHits(String section, int statusClass, String method) {
+    return sum(this.hits, section, statusClass, method);
+  }
+
+  /**
+   * Sums the traffic size of a cell or of a roll-up of cells.
+   * @param section The section, null to roll up all the sections.
+   * @param statusClass The first digit of the status codes, 0 for the invalid ones,
+   *                    {@link #ANY_STATUS_CLASS} to roll up all the status classes.
+   * @param method The HTTP method name, {@link #EXTENSION_METHODS} for the extension methods,
+   *               null to roll up all the methods.
+   * @return the traffic size in bytes.
+   */
+  public long getTrafficSize(String section, int statusClass, String method) {
+    return sum(this.trafficSizes, section, statusClass, method);
+  }
+
+  /**
+   * Rolls up the hits by section.
+   * @param statusClass The status class to count, {@link #ANY_STATUS_CLASS} for all of them.
+   * @param method The HTTP method name to count, null for all of them.
+   * @return the non zero hits by section.
+   */
+  public Map<String, Long> getHitsBySection(int statusClass, String method) {
+    Map<String, Long> hitsBySection = new LinkedHashMap<>();
+    for (int sectionId = 0; sectionId < this.sectionsCount; sectionId++) {
+      long sectionHits = sum(this.hits, sectionId, sectionId + 1, statusClass, method);
+      if (sectionHits > 0) {
+        hitsBySection.put(this.sections[sectionId], sectionHits);
+      }
+    }
+    return hitsBySection;
+  }
+
+  /**
+   * Rolls up the hits by status class.
+   * @param section The section to count, null for all of them.
+   * @param method The HTTP method name to count, null for all of them.
+   * @return the hits indexed by status class, from 0 for the invalid status codes to 5.
+   */
+  public long[] getHitsByStatusClass(String section, String method) {
+    long[] hitsByStatusClass = new long[STATUS_CLASSES];
+    for (int statusClass = 0; statusClass < STATUS_CLASSES; statusClass++) {
+      hitsByStatusClass[statusClass] = getHits(section, statusClass, method);
+    }
+    return hitsByStatusClass;
+  }
+
+  /**
+   * Rolls up the hits by HTTP method.
+   * @param section The section to count, null for all of them.
+   * @param statusClass The status class to count, {@link #ANY_STATUS_CLASS} for all of them.
+   * @return the non zero hits by method name, the extension methods being counted together
+   *     as {@link #EXTENSION_METHODS}.
+   */
+  public Map<String, Long> getHitsByMethod(String section, int statusClass) {
+    Map<String, Long> hitsByMethod = new LinkedHashMap<>();
+    for (HttpMethod httpMethod : HTTP_METHODS) {
+      long methodHits = getHits(section, statusClass, httpMethod.name());
+      if (methodHits > 0) {
+        hitsByMethod.put(httpMethod.name(), methodHits);
+      }
+    }
+    long extensionHits = getHits(section, statusClass, EXTENSION_METHODS);
+    if (extensionHits > 0) {
+      hitsByMethod.put(EXTENSION_METHODS, extensionHits);
+    }
+    return hitsByMethod;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof TrafficCube)) {
+      return false;
+    }
+    Map<String, long[]> cells = nonEmptySectionsCells();
+    Map<String, long[]> otherCells = ((TrafficCube) other).nonEmptySectionsCells();
+    return cells.keySet().equals(otherCells.keySet())
+        && cells.entrySet().stream().allMatch(entry ->
+            Arrays.equals(entry.getValue(), otherCells.get(entry.getKey())));
+  }
+
+  @Override
+  public int hashCode() {
+    return nonEmptySectionsCells().entrySet().stream()
+        .mapToInt(entry -> entry.getKey().hashCode() ^ Arrays.hashCode(entry.getValue()))
+        .sum();
+  }
+
+  @Override
+  public String toString() {
+    return "TrafficCube(hitsBySection=" + getHitsBySection(ANY_STATUS_CLASS, null) + ")";
+  }
+
+  private long sum(long[] counters, String section, int statusClass, String method) {
+    if (section == null) {
+      return sum(counters, 0, this.sectionsCount, statusClass, method);
+    }
+    int sectionId = (int) this.sectionIds.get(section, -1);
+    return sectionId < 0 ? 0 : sum(counters, sectionId, sectionId + 1, statusClass, method);
+  }
+
+  private long sum(long[] counters, int fromSectionId, int toSectionId, int statusClass,
+      String method) {
+    int fromStatusClass = statusClass == ANY_STATUS_CLASS ? 0 : statusClass;
+    int toStatusClass = statusClass == ANY_STATUS_CLASS ? STATUS_CLASSES : statusClass + 1;
+    int fromMethod = 0;
+    int toMethod = METHODS;
+    if (method != null) {
+      fromMethod = methodIndex(method);
+      toMethod = fromMethod + 1;
+    }
+    long sum = 0;
+    for (int sectionId = fromSectionId; sectionId < toSectionId; sectionId++) {
+      for (int statusClassIndex = fromStatusClass; statusClassIndex < toStatusClass;
+          statusClassIndex++) {
+        for (int methodIndex = fromMethod; methodIndex < toMethod; methodIndex++) {
+          sum += counters[cell(sectionId, statusClassIndex, methodIndex)];
+        }
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Maps each hit section to its hits cells followed by its traffic size cells, whatever the
+   *  ids given to the sections.
+   */
+  private Map<String, long[]> nonEmptySectionsCells() {
+    Map<String, long[]> nonEmptySectionsCells = new HashMap<>();
+    for (int sectionId = 0; sectionId < this.sectionsCount; sectionId++) {
+      int firstCell = sectionId * CELLS_PER_SECTION;
+      long[] sectionCells = new long[2 * CELLS_PER_SECTION];
+      System.arraycopy(this.hits, firstCell, sectionCells, 0, CELLS_PER_SECTION);
+      System.arraycopy(this.trafficSizes, firstCell, sectionCells, CELLS_PER_SECTION,
+          CELLS_PER_SECTION);
+      for (int offset = 0; offset < CELLS_PER_SECTION; offset++) {
+        if (sectionCells[offset] > 0) {
+          nonEmptySectionsCells.put(this.sections[sectionId], sectionCells);
+          break;
+        }
+      }
+    }
+    return nonEmptySectionsCells;
+  }
+
+  private int sectionId(String section) {
+    if (section == null) {
+      return OTHER_SECTION_ID;
+    }
+    if (section == this.lastSection) {
+      return this.lastSectionId;
+    }
+    int sectionId = (int) this.sectionIds.get(section, -1);
+    if (sectionId < 0) {
+      if (this.sectionsCount == this.maxSections) {
+        return OTHER_SECTION_ID;
+      }
+      sectionId = this.sectionsCount++;
+      if (sectionId == this.sections.length) {
+        this.sections = Arrays.copyOf(this.sections, 2 * sectionId);
+        this.hits = Arrays.copyOf(this.hits, 2 * sectionId * CELLS_PER_SECTION);
+        this.trafficSizes = Arrays.copyOf(this.trafficSizes, 2 * sectionId * CELLS_PER_SECTION);
+      }
+      this.sections[sectionId] = section;
+      this.sectionIds.put(section, sectionId);
+    }
+    this.lastSection = section;
+    this.lastSectionId = sectionId;
+    return sectionId;
+  }
+
+  private static int statusClass(int status) {
+    int statusClass = status / 100;
+    return statusClass >= 1 && statusClass < STATUS_CLASSES ? statusClass : 0;
+  }
+
+  private static int methodIndex(String method) {
+    HttpMethod httpMethod = HttpMethod.fromName(method, 0, method.length());
+    return httpMethod == null ? EXTENSION_METHOD_INDEX : httpMethod.ordinal();
+  }
+
+  private static int cell(int sectionId, int statusClass, int methodIndex) {
+    return (sectionId * STATUS_CLASSES + statusClass) * METHODS + methodIndex;
+  }
+
+}
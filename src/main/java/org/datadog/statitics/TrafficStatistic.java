@@ -1,13 +1,16 @@
 package org.datadog.statitics;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.datadog.metrics.AggregationTimeline;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class TrafficStatistic {
 
   private final long totalTrafficSize;
@@ -16,6 +19,85 @@ public class TrafficStatistic {
   private final int clientErrorRequestCount;
   private final int serverErrorRequestCount;
   List<Map.Entry<String, Integer>> sectionsHits;
+  List<Map.Entry<String, Integer>> hostsHits;
+  List<Map.Entry<String, Integer>> resourcesHits;
   Map<String, Integer> methodsHits;
 
+  /**
+   * The maximum overestimation of the hits by section, host and resource, 0 when exact.
+   */
+  private final int topHitsMaxError;
+
+  /**
+   * The number of lines older than the allowed lateness consumed during the refresh period.
+   */
+  private final long lateEventsCount;
+
+  /**
+   * The number of lines dated too far ahead of the processing clock consumed during the refresh
+   *  period.
+   */
+  private final long futureEventsCount;
+
+  /**
+   * The traffic of the event time windows ending at the latest log date time seen.
+   */
+  @Builder.Default
+  List<WindowStatistic> eventTimeWindows = Collections.emptyList();
+
+  /**
+   * The sketch of the distinct client hosts of the refresh period.
+   * It must not be updated, but it can be merged into another sketch to count the distinct
+   *  clients of several refresh periods.
+   */
+  @Builder.Default
+  HyperLogLog distinctClients = new HyperLogLog();
+
+  /**
+   * The histogram of the response sizes of the refresh period.
+   */
+  @Builder.Default
+  LogHistogram sizeHistogram = new LogHistogram();
+
+  /**
+   * The histograms of the response sizes of the most hit sections.
+   */
+  @Builder.Default
+  Map<String, LogHistogram> sectionsSizeHistograms = Collections.emptyMap();
+
+  /**
+   * The hits and traffic size by section, status class and method of the refresh period.
+   */
+  @Builder.Default
+  TrafficCube trafficCube = new TrafficCube();
+
+  /**
+   * The hits by status code of the refresh period, from which the status class counts are
+   *  summed.
+   */
+  @Builder.Default
+  StatusHistogram statusHistogram = new StatusHistogram();
+
+  /**
+   * The hits of every prefix of the normalized resource paths of the refresh period.
+   */
+  @Builder.Default
+  PathTrie pathTrie = new PathTrie();
+
+  /**
+   * The aggregation times of the entries of the refresh period. They are not part of the
+   *  traffic figures, so they are ignored by equals.
+   */
+  @Builder.Default
+  @EqualsAndHashCode.Exclude
+  AggregationTimeline aggregationTimeline = new AggregationTimeline(0L, 1L);
+
+  /**
+   * Estimates the number of distinct client hosts of the refresh period.
+   * @return the estimated number of distinct clients.
+   */
+  public long getDistinctClientsCount() {
+    return this.distinctClients.estimate();
+  }
+
 }
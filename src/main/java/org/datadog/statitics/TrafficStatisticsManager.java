@@ -2,133 +2,178 @@ package org.datadog.statitics;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import com.google.inject.Inject;
 
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 import org.datadog.log.CommonLogFormatEntry;
-import org.datadog.parser.ParseException;
-import org.datadog.utils.CommonLogFormatUtils;
-
-import static org.datadog.utils.CommonLogFormatUtils.retrieveSection;
+import org.datadog.metrics.AggregationTimeline;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.LatencyHistogram;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.PipelineMetrics;
+import org.datadog.normalizer.ResourceNormalizer;
 
 /**
  * Consumes the events of type {@link CommonLogFormatEntry} and generates {@link TrafficStatistic}.
- * The events are processed periodically according to the refresh period configuration.
- * The events are stored internally in {@link ConcurrentLinkedQueue}
- *  and retrieved from an {@link EventBus}
+ * The events are handed over by the aggregator stage of the ingest pipeline and added to a
+ *  {@link TrafficAggregate} as soon as they are consumed, so the memory used depends on the
+ *  number of distinct sections and methods and not on the number of requests.
+ * The aggregate is periodically swapped for a fresh one according to the refresh period
+ *  configuration and published as a {@link TrafficStatistic} on an {@link EventBus}.
+ * The events are also counted by log date time in {@link EventTimeWindows}, so the published
+ *  {@link TrafficStatistic} holds the traffic of the last 10 seconds, 2 minutes and hour
+ *  of log time and the number of late lines whatever the tick that consumed them.
+ * The time since the parse of each entry, as marked in {@link IngestTimestamps}, is recorded
+ *  in a {@link MetricsRegistry}, and the aggregation times of the entries are published along
+ *  with the statistic in an {@link AggregationTimeline}.
  */
 @Slf4j
 public class TrafficStatisticsManager {
 
+  public static final int SECTIONS_LIMIT = 5;
+  private static final int[] EVENT_TIME_WINDOWS = {10, 120, EventTimeWindows.DEFAULT_CAPACITY};
+
   private final EventBus eventBus;
-  private final Queue<CommonLogFormatEntry> logStore = new ConcurrentLinkedQueue<>();
-  private Instant maxAge = Instant.now();
+  private final EventTimeWindows eventTimeWindows;
+  private final ResourceNormalizer resourceNormalizer;
+  private final LatencyHistogram parsedToAggregatedLatency;
+  private final long refreshPeriodNanos;
+  private TrafficAggregate trafficAggregate;
+  private AggregationTimeline aggregationTimeline;
+  private long reportedLateEventsCount = 0;
+  private long reportedFutureEventsCount = 0;
 
   /**
    * Creates a consumer of events of type {@link CommonLogFormatEntry}.
-   * @param eventBus The {@link EventBus} used to listen to the events
-   *                of type {@link CommonLogFormatEntry}
+   * @param eventBus The {@link EventBus} on which the {@link TrafficStatistic} are published.
    * @param refreshPeriod The refresh period in seconds after which
-   *                     the {@link CommonLogFormatEntry} events buffer is checked and all
-   *                     the events of the last refresh periods seconds are processed.
+   *                     the {@link CommonLogFormatEntry} events aggregated during the last
+   *                     refresh period are published.
    */
   @Inject
   public TrafficStatisticsManager(EventBus eventBus, int refreshPeriod) {
+    this(eventBus, refreshPeriod, EventTimeWindows.DEFAULT_ALLOWED_LATENESS);
+  }
+
+  /**
+   * Creates a consumer of events of type {@link CommonLogFormatEntry}.
+   * @param eventBus The {@link EventBus} on which the {@link TrafficStatistic} are published.
+   * @param refreshPeriod The refresh period in seconds after which
+   *                     the {@link CommonLogFormatEntry} events aggregated during the last
+   *                     refresh period are published.
+   * @param allowedLateness The number of seconds a {@link CommonLogFormatEntry} may lag behind
+   *                        the latest log date time before being counted as late.
+   */
+  public TrafficStatisticsManager(EventBus eventBus, int refreshPeriod, int allowedLateness) {
+    this(eventBus, refreshPeriod, allowedLateness, new ResourceNormalizer());
+  }
+
+  /**
+   * Creates a consumer of events of type {@link CommonLogFormatEntry}.
+   * @param eventBus The {@link EventBus} on which the {@link TrafficStatistic} are published.
+   * @param refreshPeriod The refresh period in seconds after which
+   *                     the {@link CommonLogFormatEntry} events aggregated during the last
+   *                     refresh period are published.
+   * @param allowedLateness The number of seconds a {@link CommonLogFormatEntry} may lag behind
+   *                        the latest log date time before being counted as late.
+   * @param resourceNormalizer The {@link ResourceNormalizer} of the resources counted by the
+   *                           successive aggregates.
+   */
+  public TrafficStatisticsManager(EventBus eventBus, int refreshPeriod, int allowedLateness,
+      ResourceNormalizer resourceNormalizer) {
+    this(eventBus, refreshPeriod, allowedLateness, resourceNormalizer, new MetricsRegistry());
+  }
+
+  /**
+   * Creates a consumer of events of type {@link CommonLogFormatEntry}.
+   * @param eventBus The {@link EventBus} on which the {@link TrafficStatistic} are published.
+   * @param refreshPeriod The refresh period in seconds after which
+   *                     the {@link CommonLogFormatEntry} events aggregated during the last
+   *                     refresh period are published.
+   * @param allowedLateness The number of seconds a {@link CommonLogFormatEntry} may lag behind
+   *                        the latest log date time before being counted as late.
+   * @param resourceNormalizer The {@link ResourceNormalizer} of the resources counted by the
+   *                           successive aggregates.
+   * @param metricsRegistry The {@link MetricsRegistry} of the aggregation latency.
+   */
+  public TrafficStatisticsManager(EventBus eventBus, int refreshPeriod, int allowedLateness,
+      ResourceNormalizer resourceNormalizer, MetricsRegistry metricsRegistry) {
     this.eventBus = eventBus;
+    this.eventTimeWindows = new EventTimeWindows(allowedLateness);
+    this.resourceNormalizer = resourceNormalizer;
+    this.parsedToAggregatedLatency = metricsRegistry.latency(
+        PipelineMetrics.PARSED_TO_AGGREGATED_NANOS);
+    this.refreshPeriodNanos = TimeUnit.SECONDS.toNanos(refreshPeriod);
+    this.trafficAggregate = new TrafficAggregate(resourceNormalizer);
+    this.aggregationTimeline = new AggregationTimeline(System.nanoTime(), this.refreshPeriodNanos);
     Executor executor = Executors.newCachedThreadPool();
     Timer timer = new Timer();
     timer.scheduleAtFixedRate(new TimerTask() {
       public void run() {
-        executor.execute(() -> {
-          maxAge = Instant.now().plusSeconds(refreshPeriod);
-          refreshStatistics(maxAge);
-        });
+        executor.execute(() -> refreshStatistics());
       }
-    }, 0, refreshPeriod * 1000);
+    }, refreshPeriod * 1000, refreshPeriod * 1000);
   }
 
   /**
-   * Processes all the {@link CommonLogFormatEntry} present in the buffer whose log date time
-   *  is "timeSecondsInterval" seconds before now and produces a new {@link TrafficStatistic}.
-   * @param maxAge the maximum log date time to process from the buffer.
+   * Swaps the current {@link TrafficAggregate} for a fresh one and publishes the
+   *  {@link TrafficStatistic} of all the {@link CommonLogFormatEntry} consumed since the
+   *  previous refresh, along with the event time windows.
    */
   @VisibleForTesting
-  public void refreshStatistics(Instant maxAge) {
-    long trafficSize = 0;
-    int totalHits = 0;
-    int successCount = 0;
-    int clientErrorCount = 0;
-    int serverErrorCount = 0;
-    Map<String, Integer> sectionsHits = new HashMap<>();
-    Map<String, Integer> methodsHits = new HashMap<>();
-    CommonLogFormatEntry commonLogFormatEntry = logStore.poll();
-    while (commonLogFormatEntry != null
-        && !commonLogFormatEntry.getLogDateTime().toInstant().isAfter(maxAge)) {
-      trafficSize += commonLogFormatEntry.getSize();
-      totalHits++;
-      if (commonLogFormatEntry.getStatus() >= 200
-          && commonLogFormatEntry.getStatus() < 300) {
-        successCount++;
-      } else if (commonLogFormatEntry.getStatus() >= 400
-          && commonLogFormatEntry.getStatus() < 500) {
-        clientErrorCount++;
-      } else if (commonLogFormatEntry.getStatus() >= 500
-          && commonLogFormatEntry.getStatus() < 600) {
-        serverErrorCount++;
-      }
-
-      try {
-        sectionsHits.merge(
-            retrieveSection(commonLogFormatEntry.getResource()),
-            1,
-            Integer::sum
-        );
-      } catch (ParseException parseException) {
-        log.error("Invalid resource url. Unable to retrieve section from {}."
-                + " This request will not be considered in hits by section statistics.",
-            commonLogFormatEntry.getResource(),
-            parseException
-        );
+  public void refreshStatistics() {
+    TrafficAggregate refreshedAggregate;
+    AggregationTimeline refreshedTimeline;
+    List<WindowStatistic> windowStatistics = new ArrayList<>(EVENT_TIME_WINDOWS.length);
+    long lateEventsCount;
+    long futureEventsCount;
+    synchronized (this) {
+      refreshedAggregate = this.trafficAggregate;
+      this.trafficAggregate = new TrafficAggregate(this.resourceNormalizer);
+      refreshedTimeline = this.aggregationTimeline;
+      this.aggregationTimeline = new AggregationTimeline(System.nanoTime(),
+          this.refreshPeriodNanos);
+      for (int windowSeconds : EVENT_TIME_WINDOWS) {
+        windowStatistics.add(this.eventTimeWindows.query(windowSeconds));
       }
-
-      methodsHits.merge(commonLogFormatEntry.getMethod(), 1, Integer::sum);
-
-      commonLogFormatEntry = this.logStore.poll();
+      lateEventsCount = this.eventTimeWindows.getLateEventsCount() - this.reportedLateEventsCount;
+      this.reportedLateEventsCount = this.eventTimeWindows.getLateEventsCount();
+      futureEventsCount = this.eventTimeWindows.getFutureEventsCount()
+          - this.reportedFutureEventsCount;
+      this.reportedFutureEventsCount = this.eventTimeWindows.getFutureEventsCount();
     }
 
-    this.eventBus.post(
-        TrafficStatistic.builder()
-            .totalTrafficSize(trafficSize)
-            .totalHitsCount(totalHits)
-            .successRequestsCount(successCount)
-            .clientErrorRequestCount(clientErrorCount)
-            .serverErrorRequestCount(serverErrorCount)
-            .sectionsHits(CommonLogFormatUtils.findGreatestValues(sectionsHits, 5))
-            .methodsHits(methodsHits)
-            .build()
-    );
+    this.eventBus.post(refreshedAggregate.toTrafficStatistic(SECTIONS_LIMIT).toBuilder()
+        .lateEventsCount(lateEventsCount)
+        .futureEventsCount(futureEventsCount)
+        .eventTimeWindows(windowStatistics)
+        .aggregationTimeline(refreshedTimeline)
+        .build());
   }
 
   /**
    * Consumes a {@link CommonLogFormatEntry} event.
-   * It adds the {@link CommonLogFormatEntry} to the log buffer if its log date time is after
-   *  the most recent stored log entry and discards it otherwise.
+   * It adds the {@link CommonLogFormatEntry} to the aggregate of the current refresh period and
+   *  to the bucket of its log second. The entry itself is not kept.
    * @param commonLogFormatEntry a {@link CommonLogFormatEntry} type event.
    */
-  @Subscribe
-  public void consumeClfEvent(CommonLogFormatEntry commonLogFormatEntry) {
-    this.logStore.add(commonLogFormatEntry);
+  public synchronized void consumeClfEvent(CommonLogFormatEntry commonLogFormatEntry) {
+    this.trafficAggregate.add(commonLogFormatEntry);
+    this.eventTimeWindows.add(commonLogFormatEntry);
+    long aggregatedNanos = System.nanoTime();
+    this.aggregationTimeline.record(aggregatedNanos);
+    long parsedNanos = IngestTimestamps.getParsedNanos();
+    if (parsedNanos != IngestTimestamps.NOT_MARKED) {
+      this.parsedToAggregatedLatency.record(aggregatedNanos - parsedNanos);
+    }
   }
 
 }
@@ -0,0 +1,31 @@
+package org.datadog.statitics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The traffic of an event time window ending at the latest log date time seen.
+ */
+@Value
+@Builder
+public class WindowStatistic {
+
+  /**
+   * The window length in seconds.
+   */
+  private final int windowSeconds;
+  private final long hitsCount;
+  private final long trafficSize;
+  private final long successRequestsCount;
+  private final long clientErrorRequestCount;
+  private final long serverErrorRequestCount;
+
+  /**
+   * Computes the average number of hits per second over the window.
+   * @return the hits per second.
+   */
+  public double getHitsPerSecond() {
+    return (double) this.hitsCount / this.windowSeconds;
+  }
+
+}
@@ -1,6 +1,8 @@
 package org.datadog.utils;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +14,11 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.datadog.cli.ApplicationOptions;
+import org.datadog.normalizer.NormalizationRule;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.OverloadPolicy;
+import org.datadog.pipeline.WaitStrategy;
+import org.datadog.statitics.EventTimeWindows;
 
 
 @Slf4j
@@ -21,11 +28,31 @@ public class CliUtils {
   static final String REFRESH_FREQUENCY_LONG_OPTION = "refresh-frequency";
   static final String HITS_THRESHOLD_LONG_OPTION = "hits-threshold";
   static final String THRESHOLD_CYCLES_LONG_OPTION = "threshold-cycles";
+  static final String MAPPING_THRESHOLD_LONG_OPTION = "mmap-threshold";
+  static final String BATCH_LONG_OPTION = "batch";
+  static final String MAX_LINE_LENGTH_LONG_OPTION = "max-line-length";
+  static final String ALLOWED_LATENESS_LONG_OPTION = "allowed-lateness";
+  static final String NORMALIZATION_RULE_LONG_OPTION = "normalization-rule";
+  static final String METRICS_DUMP_LONG_OPTION = "metrics-dump";
+  static final String HEADLESS_LONG_OPTION = "headless";
+  static final String RING_BUFFER_SIZE_LONG_OPTION = "ring-buffer-size";
+  static final String WAIT_STRATEGY_LONG_OPTION = "wait-strategy";
+  static final String OVERLOAD_POLICY_LONG_OPTION = "overload-policy";
 
   static final String FILE_PATH_SHORT_OPTION = "f";
   static final String REFRESH_FREQUENCY_SHORT_OPTION = "r";
   static final String HITS_THRESHOLD_SHORT_OPTION = "t";
   static final String THRESHOLD_CYCLES_SHORT_OPTION = "c";
+  static final String MAPPING_THRESHOLD_SHORT_OPTION = "m";
+  static final String BATCH_SHORT_OPTION = "b";
+  static final String MAX_LINE_LENGTH_SHORT_OPTION = "l";
+  static final String ALLOWED_LATENESS_SHORT_OPTION = "a";
+  static final String NORMALIZATION_RULE_SHORT_OPTION = "n";
+  static final String METRICS_DUMP_SHORT_OPTION = "d";
+  static final String HEADLESS_SHORT_OPTION = "H";
+  static final String RING_BUFFER_SIZE_SHORT_OPTION = "s";
+  static final String WAIT_STRATEGY_SHORT_OPTION = "w";
+  static final String OVERLOAD_POLICY_SHORT_OPTION = "o";
 
   /**
    * Validates the {@link org.datadog.HttpLogMonitoringApplication} options.
@@ -60,12 +87,109 @@ public class CliUtils {
         commandLine,
         THRESHOLD_CYCLES_LONG_OPTION,
         1);
+    int mappingThreshold = retrieveIntegerOption(
+        defaults.getMappingThreshold(),
+        commandLine,
+        MAPPING_THRESHOLD_LONG_OPTION,
+        1);
+    int maxLineLength = retrieveIntegerOption(
+        defaults.getMaxLineLength(),
+        commandLine,
+        MAX_LINE_LENGTH_LONG_OPTION,
+        1);
+    int allowedLateness = retrieveIntegerOption(
+        defaults.getAllowedLateness(),
+        commandLine,
+        ALLOWED_LATENESS_LONG_OPTION,
+        0);
+    if (allowedLateness >= EventTimeWindows.DEFAULT_CAPACITY) {
+      log.error("{} must be < {}", ALLOWED_LATENESS_LONG_OPTION,
+          EventTimeWindows.DEFAULT_CAPACITY);
+      System.out.println(ALLOWED_LATENESS_LONG_OPTION + " must be < "
+          + EventTimeWindows.DEFAULT_CAPACITY);
+      printApplicationHelp();
+      throw new IllegalArgumentException(String.format("Invalid %s option value. Must be < %d",
+          ALLOWED_LATENESS_LONG_OPTION, EventTimeWindows.DEFAULT_CAPACITY));
+    }
+
+    int ringBufferSize = retrieveIntegerOption(
+        defaults.getRingBufferSize(),
+        commandLine,
+        RING_BUFFER_SIZE_LONG_OPTION,
+        1);
+    if (Integer.bitCount(ringBufferSize) != 1
+        || ringBufferSize > IngestPipeline.MAX_BUFFER_SIZE) {
+      log.error("{} must be a power of 2 <= {}", RING_BUFFER_SIZE_LONG_OPTION,
+          IngestPipeline.MAX_BUFFER_SIZE);
+      System.out.println(RING_BUFFER_SIZE_LONG_OPTION + " must be a power of 2 <= "
+          + IngestPipeline.MAX_BUFFER_SIZE);
+      printApplicationHelp();
+      throw new IllegalArgumentException(String.format("Invalid %s option value. Must be a power"
+          + " of 2 <= %d", RING_BUFFER_SIZE_LONG_OPTION, IngestPipeline.MAX_BUFFER_SIZE));
+    }
+
+    String waitStrategy = commandLine.getOptionValue(WAIT_STRATEGY_LONG_OPTION,
+        defaults.getWaitStrategy());
+    try {
+      WaitStrategy.forName(waitStrategy);
+    } catch (IllegalArgumentException illegalArgumentException) {
+      log.error("{} option {} is not a valid wait strategy.", WAIT_STRATEGY_LONG_OPTION,
+          waitStrategy, illegalArgumentException);
+      System.out.println(String.format("%s option %s is not a valid wait strategy.",
+          WAIT_STRATEGY_LONG_OPTION, waitStrategy));
+      printApplicationHelp();
+      throw illegalArgumentException;
+    }
+
+    OverloadPolicy overloadPolicy = defaults.getOverloadPolicy();
+    String overloadPolicyName = commandLine.getOptionValue(OVERLOAD_POLICY_LONG_OPTION);
+    if (overloadPolicyName != null) {
+      try {
+        overloadPolicy = OverloadPolicy.fromName(overloadPolicyName);
+      } catch (IllegalArgumentException illegalArgumentException) {
+        log.error("{} option {} is not a valid overload policy.", OVERLOAD_POLICY_LONG_OPTION,
+            overloadPolicyName, illegalArgumentException);
+        System.out.println(String.format("%s option %s is not a valid overload policy.",
+            OVERLOAD_POLICY_LONG_OPTION, overloadPolicyName));
+        printApplicationHelp();
+        throw illegalArgumentException;
+      }
+    }
+
+    List<NormalizationRule> normalizationRules = defaults.getNormalizationRules();
+    String[] customRules = commandLine.getOptionValues(NORMALIZATION_RULE_LONG_OPTION);
+    if (customRules != null) {
+      normalizationRules = new ArrayList<>();
+      for (String customRule : customRules) {
+        try {
+          normalizationRules.add(NormalizationRule.parse(customRule));
+        } catch (IllegalArgumentException illegalArgumentException) {
+          log.error("{} option {} is not a valid rule.", NORMALIZATION_RULE_LONG_OPTION,
+              customRule, illegalArgumentException);
+          System.out.println(String.format("%s option %s is not a valid placeholder=regex rule.",
+              NORMALIZATION_RULE_LONG_OPTION, customRule));
+          printApplicationHelp();
+          throw illegalArgumentException;
+        }
+      }
+      normalizationRules.addAll(defaults.getNormalizationRules());
+    }
 
     return ApplicationOptions.builder()
         .filePath(filePath)
         .refreshFrequency(refreshFrequency)
         .trafficThreshold(trafficThreshold)
         .thresholdRefreshCycles(thresholdRefreshCycles)
+        .mappingThreshold(mappingThreshold)
+        .batch(commandLine.hasOption(BATCH_LONG_OPTION))
+        .maxLineLength(maxLineLength)
+        .allowedLateness(allowedLateness)
+        .normalizationRules(normalizationRules)
+        .metricsDumpPath(commandLine.getOptionValue(METRICS_DUMP_LONG_OPTION))
+        .headless(commandLine.hasOption(HEADLESS_LONG_OPTION))
+        .ringBufferSize(ringBufferSize)
+        .waitStrategy(waitStrategy)
+        .overloadPolicy(overloadPolicy)
         .build();
   }
 
@@ -97,6 +221,41 @@ public class CliUtils {
     options.addOption(THRESHOLD_CYCLES_SHORT_OPTION, THRESHOLD_CYCLES_LONG_OPTION, true,
         "Number of refresh cycles after which traffic threshold must be checked, default "
             + defaults.getThresholdRefreshCycles());
+    options.addOption(MAPPING_THRESHOLD_SHORT_OPTION, MAPPING_THRESHOLD_LONG_OPTION, true,
+        "Unread log size in MB above which the log file is memory-mapped to catch up, default "
+            + defaults.getMappingThreshold());
+    options.addOption(BATCH_SHORT_OPTION, BATCH_LONG_OPTION, false,
+        "Analyses the existing log file content from its start in parallel,"
+            + " prints the traffic statistics and exits");
+    options.addOption(MAX_LINE_LENGTH_SHORT_OPTION, MAX_LINE_LENGTH_LONG_OPTION, true,
+        "Maximum log line length in bytes, longer lines are discarded, default "
+            + defaults.getMaxLineLength());
+    options.addOption(ALLOWED_LATENESS_SHORT_OPTION, ALLOWED_LATENESS_LONG_OPTION, true,
+        "Seconds a log line may lag behind the latest log date time before being counted as"
+            + " late, default " + defaults.getAllowedLateness());
+    options.addOption(NORMALIZATION_RULE_SHORT_OPTION, NORMALIZATION_RULE_LONG_OPTION, true,
+        "Replaces the resource path segments matching a regex with a placeholder, given as"
+            + " placeholder=regex. Can be repeated, applied before the default "
+            + defaults.getNormalizationRules());
+    options.addOption(METRICS_DUMP_SHORT_OPTION, METRICS_DUMP_LONG_OPTION, true,
+        "File to which the pipeline metrics are appended as JSON lines every refresh period");
+    options.addOption(HEADLESS_SHORT_OPTION, HEADLESS_LONG_OPTION, false,
+        "Prints the traffic statistics, the alerts and the pipeline metrics on the standard"
+            + " output instead of the console GUI");
+    options.addOption(RING_BUFFER_SIZE_SHORT_OPTION, RING_BUFFER_SIZE_LONG_OPTION, true,
+        "Number of lines, a power of 2 up to " + IngestPipeline.MAX_BUFFER_SIZE + ", the parser"
+            + " and aggregator stages may lag behind the file watcher, default "
+            + defaults.getRingBufferSize());
+    options.addOption(WAIT_STRATEGY_SHORT_OPTION, WAIT_STRATEGY_LONG_OPTION, true,
+        "How the parser and aggregator stages wait for lines: " + WaitStrategy.BLOCKING + ", "
+            + WaitStrategy.SLEEPING + ", " + WaitStrategy.YIELDING + " or "
+            + WaitStrategy.BUSY_SPIN + ", default " + defaults.getWaitStrategy());
+    options.addOption(OVERLOAD_POLICY_SHORT_OPTION, OVERLOAD_POLICY_LONG_OPTION, true,
+        "What the file watcher does with the lines when the ring buffer is full: "
+            + OverloadPolicy.BLOCK.getName() + " the reading, " + OverloadPolicy.DROP.getName()
+            + " them or " + OverloadPolicy.SAMPLE.getName() + " 1 line out of "
+            + IngestPipeline.SAMPLING_RATIO + " from 3/4 full, default "
+            + defaults.getOverloadPolicy().getName());
     return options;
   }
 
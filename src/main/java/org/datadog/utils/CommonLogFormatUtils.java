@@ -5,9 +5,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.datadog.log.SharedStrings;
 import org.datadog.parser.ParseException;
 
 /**
@@ -15,10 +14,6 @@ import org.datadog.parser.ParseException;
  */
 public class CommonLogFormatUtils {
 
-  private static final String SECTION_GROUP = "section";
-  private static final Pattern SECTION_PATTERN = Pattern.compile(
-      "^/(?<" + SECTION_GROUP + ">[^/]+)/.+$");
-
   /**
    * Retrieves an int value from a Common Log Format field.
    * @param number a {@link String} int representation
@@ -40,6 +35,29 @@ public class CommonLogFormatUtils {
     }    
   }
 
+  /**
+   * Retrieves a long value from a Common Log Format field.
+   * @param number a {@link String} long representation
+   * @param canBeMissing indicates if the value can be missing and represented by a hyphen "-".
+   * @return 0 if no value is provided (represented by a hyphen "-"), the long value otherwise.
+   * @throws ParseException if the number is not a valid long representation and is not
+   *     a hyphen "-".
+   */
+  public static long retrieveLongValue(String number, boolean canBeMissing)
+      throws ParseException {
+    if (canBeMissing && number.equals("-")) {
+      return 0;
+    } else {
+      try {
+        return Long.parseLong(number);
+      } catch (NumberFormatException numberFormatException) {
+        throw new ParseException(
+            String.format("Invalid long value %s", number),
+            numberFormatException);
+      }
+    }
+  }
+
   /**
    * Retrieves a {@link String} value from a Common Log Format field and nullify it if not present
    *  (represented by a hyphen "-").
@@ -54,14 +72,16 @@ public class CommonLogFormatUtils {
    * Retrieves the web site section from a resource url.
    * A section is defined as being what's before the second '/' in a URL.
    *  i.e. the section for "/pages/create' is "pages")
+   * The section is found by scanning the url and is looked up in place in
+   *  {@link SharedStrings#SECTIONS}, so a {@link String} is only created for a new section.
    * @param resource the full resource url value.
-   * @return the section name.
+   * @return the shared section name.
    * @throws ParseException if the section is not present or the url has a bad format.
    */
   public static String retrieveSection(String resource) throws ParseException {
-    Matcher sectionMatcher = SECTION_PATTERN.matcher(resource);
-    if (sectionMatcher.find()) {
-      return sectionMatcher.group(SECTION_GROUP);
+    int sectionEnd = findSectionEnd(resource, 0, resource.length());
+    if (sectionEnd >= 0) {
+      return SharedStrings.SECTIONS.intern(resource, 1, sectionEnd);
     } else {
       throw new ParseException(
           String.format("Missing section in resource url. Unable to retrieve section from %s",
@@ -70,6 +90,65 @@ public class CommonLogFormatUtils {
     }
   }
 
+  /**
+   * Finds the web site section of a resource url held by a region of a {@link CharSequence}.
+   * The section starts after the leading '/' and ends before the second '/' which must be
+   *  followed by at least one character: the rules of {@link #retrieveSection(String)}.
+   * @param text The text holding the resource url.
+   * @param start The index of the first character of the resource url.
+   * @param end The index after the last character of the resource url.
+   * @return the index after the last character of the section, -1 if there is no section.
+   */
+  public static int findSectionEnd(CharSequence text, int start, int end) {
+    if (start >= end || text.charAt(start) != '/') {
+      return -1;
+    }
+    int sectionEnd = start + 1;
+    while (sectionEnd < end && text.charAt(sectionEnd) != '/') {
+      sectionEnd++;
+    }
+    if (sectionEnd == start + 1 || sectionEnd == end) {
+      return -1;
+    }
+    int contentEnd = findContentEnd(text, sectionEnd + 1, end);
+    if (contentEnd == sectionEnd + 1) {
+      return -1;
+    }
+    for (int index = sectionEnd + 1; index < contentEnd; index++) {
+      if (isLineTerminator(text.charAt(index))) {
+        return -1;
+      }
+    }
+    return sectionEnd;
+  }
+
+  /**
+   * Finds the end of the content of a region of a {@link CharSequence}.
+   * As the '$' boundary of a {@link java.util.regex.Pattern}, a single trailing line
+   *  terminator is not part of the content.
+   * @param text The text holding the content.
+   * @param start The index of the first character of the content.
+   * @param end The index after the last character of the region.
+   * @return the index after the last character of the content.
+   */
+  public static int findContentEnd(CharSequence text, int start, int end) {
+    if (end - start >= 2 && text.charAt(end - 2) == '\r' && text.charAt(end - 1) == '\n') {
+      return end - 2;
+    }
+    if (end - start >= 1 && isLineTerminator(text.charAt(end - 1))) {
+      return end - 1;
+    }
+    return end;
+  }
+
+  /**
+   * Matches the line terminators of a {@link java.util.regex.Pattern}.
+   */
+  private static boolean isLineTerminator(char character) {
+    return character == '\n' || character == '\r' || character == '\u0085'
+        || character == '\u2028' || character == '\u2029';
+  }
+
   /**
    * Returns {@link List} containing a subset of {@link Map} with the highest values.
    * @param map The map to process.
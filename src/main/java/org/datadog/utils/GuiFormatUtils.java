@@ -1,7 +1,24 @@
 package org.datadog.utils;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.datadog.metrics.MetricsReport;
+import org.datadog.metrics.MetricsSnapshot;
+import org.datadog.statitics.LogHistogram;
+import org.datadog.statitics.PathTrie;
+import org.datadog.statitics.StatusHistogram;
+import org.datadog.statitics.TrafficCube;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.statitics.WindowStatistic;
+
 public class GuiFormatUtils {
 
+  private static final int SUB_PATHS_LIMIT = 3;
+
   /**
    * Converts byte size to human readable size with unit.
    * @param bytes Number of bytes.
@@ -16,4 +33,238 @@ public class GuiFormatUtils {
     String pre = ("KMGTPE").charAt(exp - 1) + ("i");
     return String.format("%.1f %sB", bytes / Math.pow(unit, exp), pre);
   }
+
+  /**
+   * Converts a duration in nanoseconds to a human readable duration with unit.
+   * @param nanos Number of nanoseconds.
+   * @return a {@link String} containing the human readable representation.
+   */
+  public static String humanReadableNanos(long nanos) {
+    if (nanos < 1_000L) {
+      return nanos + " ns";
+    } else if (nanos < 1_000_000L) {
+      return String.format("%.1f us", nanos / 1e3);
+    } else if (nanos < 1_000_000_000L) {
+      return String.format("%.1f ms", nanos / 1e6);
+    }
+    return String.format("%.1f s", nanos / 1e9);
+  }
+
+  /**
+   * Formats the pipeline metrics of a {@link MetricsReport}, one line per metric.
+   * The counters are followed by their rate, the latencies by their interval quantiles.
+   *  The values of the metrics whose name ends with bytes, nanos or millis are formatted
+   *  with their unit.
+   * @param metricsReport The {@link MetricsReport} to format.
+   * @return the counters, gauges and latencies lines in this order.
+   */
+  public static List<String> toMetricsLines(MetricsReport metricsReport) {
+    MetricsSnapshot snapshot = metricsReport.getSnapshot();
+    List<String> lines = new ArrayList<>();
+    snapshot.getCounters().forEach((name, value) -> lines.add(name + " "
+        + formatMetric(name, value) + " ("
+        + formatMetric(name, (long) metricsReport.getRatePerSecond(name)) + "/s)"));
+    snapshot.getGauges().forEach((name, value) -> lines.add(name + " "
+        + formatMetric(name, value)));
+    snapshot.getLatencies().forEach((name, histogram) -> lines.add(name + " "
+        + (histogram.getTotalCount() == 0 ? "-"
+        : "p50 " + formatMetric(name, histogram.valueAtQuantile(0.5))
+        + ", p99 " + formatMetric(name, histogram.valueAtQuantile(0.99))
+        + ", max " + formatMetric(name, histogram.getMax())
+        + " (" + histogram.getTotalCount() + ")")));
+    return lines;
+  }
+
+  private static String formatMetric(String name, long value) {
+    if (name.endsWith(".bytes")) {
+      return humanReadableByteCount(value);
+    } else if (name.endsWith(".nanos")) {
+      return humanReadableNanos(value);
+    } else if (name.endsWith(".millis")) {
+      return humanReadableNanos(value * 1_000_000L);
+    }
+    return Long.toString(value);
+  }
+
+  /**
+   * Formats the quantiles of a response sizes histogram.
+   * @param sizeHistogram The {@link LogHistogram} of the response sizes.
+   * @return a {@link String} with the human readable p50, p90, p99 and max response sizes.
+   */
+  public static String toSizeQuantiles(LogHistogram sizeHistogram) {
+    return "p50 " + humanReadableByteCount(sizeHistogram.valueAtQuantile(0.5))
+        + ", p90 " + humanReadableByteCount(sizeHistogram.valueAtQuantile(0.9))
+        + ", p99 " + humanReadableByteCount(sizeHistogram.valueAtQuantile(0.99))
+        + ", max " + humanReadableByteCount(sizeHistogram.getMax());
+  }
+
+  /**
+   * Formats a hits by section, host or resource line.
+   * @param entry The key and its hits.
+   * @param sizeHistograms The response sizes histograms by key, empty if not reported.
+   * @return the key and its hits, followed by its response sizes quantiles if reported.
+   */
+  public static String toTopHitsLine(Map.Entry<String, Integer> entry,
+      Map<String, LogHistogram> sizeHistograms) {
+    LogHistogram sizeHistogram = sizeHistograms.get(entry.getKey());
+    return sizeHistogram == null ? entry.getKey() + " " + entry.getValue()
+        : entry.getKey() + " " + entry.getValue() + " (" + toSizeQuantiles(sizeHistogram) + ")";
+  }
+
+  /**
+   * Formats the hits of each status code.
+   * @param statusHistogram The {@link StatusHistogram} of the refresh period.
+   * @return a {@link String} with the hits of each hit status code in ascending code order,
+   *     followed by the hits of the invalid codes if any.
+   */
+  public static String toStatusCodesLine(StatusHistogram statusHistogram) {
+    StringBuilder statusCodes = new StringBuilder();
+    statusHistogram.getCounts().forEach((status, count) -> statusCodes
+        .append(statusCodes.length() == 0 ? "" : ", ").append(status).append(' ').append(count));
+    if (statusHistogram.getInvalidCount() > 0) {
+      statusCodes.append(statusCodes.length() == 0 ? "" : ", ")
+          .append("invalid ").append(statusHistogram.getInvalidCount());
+    }
+    return statusCodes.toString();
+  }
+
+  /**
+   * Formats the client and server errors of a section rolled up from a {@link TrafficCube}.
+   * @param section The section.
+   * @param trafficCube The {@link TrafficCube} of the refresh period.
+   * @return a {@link String} with the section 4xx and 5xx hits and their main methods.
+   */
+  public static String toSectionErrorsLine(String section, TrafficCube trafficCube) {
+    return section + " 4xx " + trafficCube.getHits(section, 4, null)
+        + " " + trafficCube.getHitsByMethod(section, 4)
+        + ", 5xx " + trafficCube.getHits(section, 5, null)
+        + " " + trafficCube.getHitsByMethod(section, 5);
+  }
+
+  /**
+   * Formats the most hit sub paths of a section answered by a {@link PathTrie}.
+   * @param section The section.
+   * @param pathTrie The {@link PathTrie} of the refresh period.
+   * @return a {@link String} with the section path followed by its most hit sub paths and their
+   *     hits, in descending hits order.
+   */
+  public static String toSubPathsLine(String section, PathTrie pathTrie) {
+    StringBuilder subPaths = new StringBuilder("/").append(section).append(':');
+    List<Map.Entry<String, Long>> topSubPaths = pathTrie.top("/" + section, SUB_PATHS_LIMIT);
+    for (int index = topSubPaths.size() - 1; index >= 0; index--) {
+      subPaths.append(index == topSubPaths.size() - 1 ? " " : ", ")
+          .append(topSubPaths.get(index).getKey()).append(' ')
+          .append(topSubPaths.get(index).getValue());
+    }
+    return subPaths.toString();
+  }
+
+  /**
+   * Formats the title of hits by section, host or resource with their error bound.
+   * @param title The title.
+   * @param trafficStatistic The {@link TrafficStatistic} holding the hits.
+   * @return the title followed by the maximum overestimation of the hits if they are not exact.
+   */
+  public static String toTopHitsTitle(String title, TrafficStatistic trafficStatistic) {
+    return trafficStatistic.getTopHitsMaxError() == 0
+        ? title : title + " (+/- " + trafficStatistic.getTopHitsMaxError() + ")";
+  }
+
+  /**
+   * Formats the traffic of an event time window on a single line.
+   * @param windowStatistic The {@link WindowStatistic} to format.
+   * @return a {@link String} with the window length, the hits, the hits per second and the size.
+   */
+  public static String toWindowLine(WindowStatistic windowStatistic) {
+    return String.format("Last %s: %d hits, %.1f/s, %s",
+        DateTimeUtils.toPrettyDuration(Instant.EPOCH,
+            Instant.ofEpochSecond(windowStatistic.getWindowSeconds())),
+        windowStatistic.getHitsCount(), windowStatistic.getHitsPerSecond(),
+        humanReadableByteCount(windowStatistic.getTrafficSize()));
+  }
+
+  /**
+   * Creates a plain text report of a {@link TrafficStatistic}.
+   * @param trafficStatistic The {@link TrafficStatistic} to report.
+   * @return a multi lines {@link String} report.
+   */
+  public static String toTextReport(TrafficStatistic trafficStatistic) {
+    StringBuilder report = new StringBuilder()
+        .append("Summary").append(System.lineSeparator())
+        .append("Total Requests: ").append(trafficStatistic.getTotalHitsCount())
+        .append(System.lineSeparator())
+        .append("Success Requests: ").append(trafficStatistic.getSuccessRequestsCount())
+        .append(System.lineSeparator())
+        .append("Client Error requests: ").append(trafficStatistic.getClientErrorRequestCount())
+        .append(System.lineSeparator())
+        .append("Server Error requests: ").append(trafficStatistic.getServerErrorRequestCount())
+        .append(System.lineSeparator())
+        .append("Informational requests: ")
+        .append(trafficStatistic.getStatusHistogram().getClassCount(1))
+        .append(System.lineSeparator())
+        .append("Redirection requests: ")
+        .append(trafficStatistic.getStatusHistogram().getClassCount(3))
+        .append(System.lineSeparator())
+        .append("Status codes: ").append(toStatusCodesLine(trafficStatistic.getStatusHistogram()))
+        .append(System.lineSeparator())
+        .append("Total traffic size: ")
+        .append(humanReadableByteCount(trafficStatistic.getTotalTrafficSize()))
+        .append(System.lineSeparator())
+        .append("Response size: ").append(toSizeQuantiles(trafficStatistic.getSizeHistogram()))
+        .append(System.lineSeparator())
+        .append("Distinct clients: ").append(trafficStatistic.getDistinctClientsCount())
+        .append(System.lineSeparator())
+        .append(System.lineSeparator())
+        .append(toTopHitsTitle("Hits By Section", trafficStatistic))
+        .append(System.lineSeparator());
+    appendTopHits(report, trafficStatistic.getSectionsHits(),
+        trafficStatistic.getSectionsSizeHistograms());
+    report.append(System.lineSeparator()).append("Errors By Section")
+        .append(System.lineSeparator());
+    trafficStatistic.getSectionsHits().stream()
+        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+        .forEach(entry -> report.append(
+            toSectionErrorsLine(entry.getKey(), trafficStatistic.getTrafficCube()))
+            .append(System.lineSeparator()));
+    report.append(System.lineSeparator()).append("Hits By Path")
+        .append(System.lineSeparator());
+    trafficStatistic.getSectionsHits().stream()
+        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+        .forEach(entry -> report.append(
+            toSubPathsLine(entry.getKey(), trafficStatistic.getPathTrie()))
+            .append(System.lineSeparator()));
+    report.append(System.lineSeparator())
+        .append(toTopHitsTitle("Hits By Host", trafficStatistic))
+        .append(System.lineSeparator());
+    appendTopHits(report, trafficStatistic.getHostsHits(), Collections.emptyMap());
+    report.append(System.lineSeparator())
+        .append(toTopHitsTitle("Hits By Resource", trafficStatistic))
+        .append(System.lineSeparator());
+    appendTopHits(report, trafficStatistic.getResourcesHits(), Collections.emptyMap());
+    report.append(System.lineSeparator()).append("Hits By Method").append(System.lineSeparator());
+    trafficStatistic.getMethodsHits().entrySet().stream()
+        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+        .forEach(entry -> report.append(entry.getKey()).append(' ').append(entry.getValue())
+            .append(System.lineSeparator()));
+    if (!trafficStatistic.getEventTimeWindows().isEmpty()) {
+      report.append(System.lineSeparator()).append("Hits By Log Time")
+          .append(System.lineSeparator())
+          .append("Late lines: ").append(trafficStatistic.getLateEventsCount())
+          .append(System.lineSeparator())
+          .append("Future lines: ").append(trafficStatistic.getFutureEventsCount())
+          .append(System.lineSeparator());
+      trafficStatistic.getEventTimeWindows().forEach(window ->
+          report.append(toWindowLine(window)).append(System.lineSeparator()));
+    }
+    return report.toString();
+  }
+
+  private static void appendTopHits(StringBuilder report,
+      List<Map.Entry<String, Integer>> topHits, Map<String, LogHistogram> sizeHistograms) {
+    topHits.stream()
+        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+        .forEach(entry -> report.append(toTopHitsLine(entry, sizeHistograms))
+            .append(System.lineSeparator()));
+  }
+
 }
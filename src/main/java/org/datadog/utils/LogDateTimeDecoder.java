@@ -0,0 +1,242 @@
+package org.datadog.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import lombok.NonNull;
+
+import org.datadog.parser.ParseException;
+
+/**
+ * Decodes Common Log Format "dd/MMM/yyyy:HH:mm:ss Z" date times to epoch seconds.
+ * The fixed width layout is read directly from the characters. The epoch second of the hour
+ *  and the zone offset are cached by date-hour prefix and zone offset: consecutive log lines
+ *  almost always share them so only the minutes and seconds are decoded for most lines.
+ * A date time that does not fit the fixed width layout is decoded by
+ *  {@link DateTimeUtils#retrieveLogDateTime(String)} so both accept and return the same values.
+ * {@link #decode(CharSequence, int, int, DecodedDateTime)} decodes the epoch second and the
+ *  zone offset at once into a reusable {@link DecodedDateTime}, so a line is decoded only once.
+ * This class is thread safe.
+ */
+public class LogDateTimeDecoder {
+
+  static final int CACHE_SIZE = 4;
+
+  private static final int DATE_TIME_LENGTH = "dd/MMM/yyyy:HH:mm:ss +hhmm".length();
+  private static final int MINUTE_INDEX = 15;
+  private static final int SECOND_INDEX = 18;
+  private static final int ZONE_INDEX = 21;
+  private static final String[] MONTHS = {
+      "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+  };
+
+  private final HourEntry[] cache = new HourEntry[CACHE_SIZE];
+  private int nextSlot;
+
+  /**
+   * Decodes the epoch second and the zone offset of a "dd/MMM/yyyy:HH:mm:ss Z" formatted date
+   *  time.
+   * @param text The text holding the date time.
+   * @param start The index of the first character of the date time.
+   * @param end The index after the last character of the date time.
+   * @param decodedDateTime The {@link DecodedDateTime} receiving the decoded values.
+   * @throws ParseException if the date time is not in the "dd/MMM/yyyy:HH:mm:ss Z" format.
+   *     The {@link DecodedDateTime} is then left unchanged.
+   */
+  public void decode(@NonNull CharSequence text, int start, int end,
+                     @NonNull DecodedDateTime decodedDateTime) throws ParseException {
+    HourEntry hourEntry = retrieveHourEntry(text, start, end);
+    if (hourEntry != null) {
+      int minute = decodeTwoDigits(text, start + MINUTE_INDEX, 59);
+      int second = decodeTwoDigits(text, start + SECOND_INDEX, 59);
+      if (minute >= 0 && second >= 0) {
+        decodedDateTime.epochSecond = hourEntry.epochSecond + minute * 60 + second;
+        decodedDateTime.zoneOffset = hourEntry.zoneOffset;
+        return;
+      }
+    }
+    ZonedDateTime fallbackDateTime = retrieveFallbackDateTime(text, start, end);
+    decodedDateTime.epochSecond = fallbackDateTime.toEpochSecond();
+    decodedDateTime.zoneOffset = fallbackDateTime.getOffset();
+  }
+
+  /**
+   * Decodes the epoch second of a "dd/MMM/yyyy:HH:mm:ss Z" formatted date time.
+   * @param text The text holding the date time.
+   * @param start The index of the first character of the date time.
+   * @param end The index after the last character of the date time.
+   * @return the number of seconds from the epoch of 1970-01-01T00:00:00Z.
+   * @throws ParseException if the date time is not in the "dd/MMM/yyyy:HH:mm:ss Z" format.
+   */
+  public long toEpochSecond(@NonNull CharSequence text, int start, int end)
+      throws ParseException {
+    DecodedDateTime decodedDateTime = new DecodedDateTime();
+    decode(text, start, end, decodedDateTime);
+    return decodedDateTime.epochSecond;
+  }
+
+  /**
+   * Decodes the zone offset of a "dd/MMM/yyyy:HH:mm:ss Z" formatted date time.
+   * @param text The text holding the date time.
+   * @param start The index of the first character of the date time.
+   * @param end The index after the last character of the date time.
+   * @return the {@link ZoneOffset} of the date time.
+   * @throws ParseException if the date time is not in the "dd/MMM/yyyy:HH:mm:ss Z" format.
+   */
+  public ZoneOffset toZoneOffset(@NonNull CharSequence text, int start, int end)
+      throws ParseException {
+    DecodedDateTime decodedDateTime = new DecodedDateTime();
+    decode(text, start, end, decodedDateTime);
+    return decodedDateTime.zoneOffset;
+  }
+
+  /**
+   * Returns the cached hour of a date time, decoding and caching it on a miss.
+   * @return the hour of the date time, null if it does not fit the fixed width layout.
+   */
+  private HourEntry retrieveHourEntry(CharSequence text, int start, int end) {
+    if (end - start != DATE_TIME_LENGTH || text.charAt(start + MINUTE_INDEX - 1) != ':'
+        || text.charAt(start + SECOND_INDEX - 1) != ':'
+        || text.charAt(start + ZONE_INDEX - 1) != ' ') {
+      return null;
+    }
+    HourEntry[] entries = this.cache;
+    for (HourEntry entry : entries) {
+      if (entry != null && entry.matches(text, start)) {
+        return entry;
+      }
+    }
+    HourEntry entry = decodeHourEntry(text, start);
+    if (entry != null) {
+      int slot = this.nextSlot;
+      entries[slot] = entry;
+      this.nextSlot = (slot + 1) % CACHE_SIZE;
+    }
+    return entry;
+  }
+
+  private static HourEntry decodeHourEntry(CharSequence text, int start) {
+    int day = decodeTwoDigits(text, start, 31);
+    int month = decodeMonth(text, start + 3);
+    int century = decodeTwoDigits(text, start + 7, 99);
+    int yearOfCentury = decodeTwoDigits(text, start + 9, 99);
+    int hour = decodeTwoDigits(text, start + 12, 23);
+    char sign = text.charAt(start + ZONE_INDEX);
+    int offsetHours = decodeTwoDigits(text, start + ZONE_INDEX + 1, 18);
+    int offsetMinutes = decodeTwoDigits(text, start + ZONE_INDEX + 3, 59);
+    int year = century * 100 + yearOfCentury;
+    if (day < 1 || month < 1 || century < 0 || yearOfCentury < 0 || year < 1 || hour < 0
+        || offsetHours < 0 || offsetMinutes < 0
+        || text.charAt(start + 2) != '/' || text.charAt(start + 6) != '/'
+        || text.charAt(start + 11) != ':' || (sign != '+' && sign != '-')) {
+      return null;
+    }
+    try {
+      int offsetSign = sign == '+' ? 1 : -1;
+      ZoneOffset zoneOffset
+          = ZoneOffset.ofHoursMinutes(offsetSign * offsetHours, offsetSign * offsetMinutes);
+      long epochDay = LocalDate.of(year, month, day).toEpochDay();
+      long epochSecond = epochDay * 86_400 + hour * 3_600 - zoneOffset.getTotalSeconds();
+      return new HourEntry(text.subSequence(start, start + MINUTE_INDEX - 1).toString(),
+          text.subSequence(start + ZONE_INDEX, start + DATE_TIME_LENGTH).toString(),
+          epochSecond, zoneOffset);
+    } catch (DateTimeException dateTimeException) {
+      // Out of range values are left to the fallback DateTimeFormatter.
+      return null;
+    }
+  }
+
+  private static int decodeMonth(CharSequence text, int index) {
+    for (int month = 0; month < MONTHS.length; month++) {
+      String name = MONTHS[month];
+      if (text.charAt(index) == name.charAt(0) && text.charAt(index + 1) == name.charAt(1)
+          && text.charAt(index + 2) == name.charAt(2)) {
+        return month + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Decodes two digits.
+   * @return the decoded value, -1 if the characters are not digits or the value exceeds max.
+   */
+  private static int decodeTwoDigits(CharSequence text, int index, int max) {
+    int tens = text.charAt(index) - '0';
+    int units = text.charAt(index + 1) - '0';
+    if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+      return -1;
+    }
+    int value = tens * 10 + units;
+    return value > max ? -1 : value;
+  }
+
+  private static ZonedDateTime retrieveFallbackDateTime(CharSequence text, int start, int end)
+      throws ParseException {
+    return DateTimeUtils.retrieveLogDateTime(text.subSequence(start, end).toString());
+  }
+
+  /**
+   * The reusable result of a {@link #decode(CharSequence, int, int, DecodedDateTime)}.
+   * This class is not thread safe.
+   */
+  public static final class DecodedDateTime {
+
+    private long epochSecond;
+    private ZoneOffset zoneOffset;
+
+    /**
+     * Retrieves the last decoded epoch second.
+     * @return the number of seconds from the epoch of 1970-01-01T00:00:00Z.
+     */
+    public long getEpochSecond() {
+      return this.epochSecond;
+    }
+
+    /**
+     * Retrieves the last decoded zone offset.
+     * @return the {@link ZoneOffset} of the date time, null before the first decoding.
+     */
+    public ZoneOffset getZoneOffset() {
+      return this.zoneOffset;
+    }
+
+  }
+
+  /**
+   * The epoch second of an hour in a zone offset. It is immutable so it can be safely shared
+   *  through the cache.
+   */
+  private static final class HourEntry {
+
+    private final String hourPrefix;
+    private final String zone;
+    private final long epochSecond;
+    private final ZoneOffset zoneOffset;
+
+    private HourEntry(String hourPrefix, String zone, long epochSecond, ZoneOffset zoneOffset) {
+      this.hourPrefix = hourPrefix;
+      this.zone = zone;
+      this.epochSecond = epochSecond;
+      this.zoneOffset = zoneOffset;
+    }
+
+    private boolean matches(CharSequence text, int start) {
+      for (int index = 0; index < this.hourPrefix.length(); index++) {
+        if (text.charAt(start + index) != this.hourPrefix.charAt(index)) {
+          return false;
+        }
+      }
+      for (int index = 0; index < this.zone.length(); index++) {
+        if (text.charAt(start + ZONE_INDEX + index) != this.zone.charAt(index)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
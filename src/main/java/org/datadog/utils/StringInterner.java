@@ -0,0 +1,114 @@
+package org.datadog.utils;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A bounded flyweight table of {@link String}.
+ * Equal values are mapped to the same {@link String} instance as long as they are not evicted
+ *  by a colliding value, so the memory held by repeated values (hosts, protocols, sections...)
+ *  is shared. Unlike {@link String#intern()} the table never grows beyond its capacity.
+ * A value is looked for in the {@link #PROBES} slots following its hash slot, so a value is
+ *  only evicted when all of them are taken and a few hundred values are kept in a table of a few
+ *  thousand slots without being created again.
+ * This class is thread safe: a racy update may only cause a missed sharing.
+ */
+public class StringInterner {
+
+  /**
+   * The number of slots in which a value is looked for.
+   */
+  public static final int PROBES = 4;
+
+  private final String[] table;
+  private final int mask;
+  private final int probes;
+
+  /**
+   * Creates a new {@link StringInterner}.
+   * @param capacity The maximum number of values held, rounded up to a power of two.
+   */
+  public StringInterner(int capacity) {
+    Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30,
+        "The capacity must be between 1 and 2^30");
+    int size = Integer.highestOneBit(capacity);
+    size = size < capacity ? size << 1 : size;
+    this.table = new String[size];
+    this.mask = size - 1;
+    this.probes = Math.min(PROBES, size);
+  }
+
+  /**
+   * Returns the shared instance of a {@link String}.
+   * @param value The value to intern.
+   * @return the shared instance equal to the value, the value itself if it is not held yet,
+   *     null if the value is null.
+   */
+  public String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    int hashSlot = spread(value.hashCode()) & this.mask;
+    int freeSlot = hashSlot;
+    for (int probe = 0; probe < this.probes; probe++) {
+      int slot = (hashSlot + probe) & this.mask;
+      String held = this.table[slot];
+      if (held == null) {
+        freeSlot = slot;
+        break;
+      }
+      if (value.equals(held)) {
+        return held;
+      }
+    }
+    this.table[freeSlot] = value;
+    return value;
+  }
+
+  /**
+   * Returns the shared instance of a region of a {@link CharSequence}.
+   * No {@link String} is created if an equal value is already held.
+   * @param text The text holding the value.
+   * @param start The index of the first character of the value.
+   * @param end The index after the last character of the value.
+   * @return the shared instance equal to the region.
+   */
+  public String intern(CharSequence text, int start, int end) {
+    int hash = 0;
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + text.charAt(index);
+    }
+    int hashSlot = spread(hash) & this.mask;
+    int freeSlot = hashSlot;
+    for (int probe = 0; probe < this.probes; probe++) {
+      int slot = (hashSlot + probe) & this.mask;
+      String held = this.table[slot];
+      if (held == null) {
+        freeSlot = slot;
+        break;
+      }
+      if (regionEquals(held, text, start, end)) {
+        return held;
+      }
+    }
+    String value = text.subSequence(start, end).toString();
+    this.table[freeSlot] = value;
+    return value;
+  }
+
+  private static boolean regionEquals(String held, CharSequence text, int start, int end) {
+    if (held.length() != end - start) {
+      return false;
+    }
+    for (int index = start; index < end; index++) {
+      if (held.charAt(index - start) != text.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+}
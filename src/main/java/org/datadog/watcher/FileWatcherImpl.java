@@ -2,23 +2,29 @@ package org.datadog.watcher;
 
 import com.google.common.annotations.VisibleForTesting;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.inject.Inject;
 
 import lombok.NonNull;
 
 import lombok.extern.slf4j.Slf4j;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.PipelineMetrics;
 import org.datadog.parser.OutputHandler;
 
 /**
@@ -26,30 +32,72 @@ import org.datadog.parser.OutputHandler;
  * It watches a file and detects any new modification.
  * The file content that already exist before the watcher is launched is skipped.
  * Only file content addition is handled.
+ * The file is read through a persistent {@link FileChannel} from a byte offset so that
+ * only the appended bytes are read at each modification.
+ * The read bytes are counted in a {@link MetricsRegistry}, along with a gauge of the bytes
+ * still to be read.
  */
 @Slf4j
 public class FileWatcherImpl implements ResourceWatcher {
 
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
   private WatchService watchService;
   private Path filePath;
-  private OutputHandler<String> outputHandler;
-  private long fileCursor = 0L;
+  private LineFramer lineFramer;
+  private volatile long fileCursor = 0L;
   private final AtomicBoolean running = new AtomicBoolean(false);
-  private BufferedReader bufferedReader;
+  private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+  private final LongAdder readBytesCount;
+  private volatile FileChannel fileChannel;
 
   @Inject
   public FileWatcherImpl(@NonNull WatchService watchService,
                          @NonNull Path filePath,
                          @NonNull OutputHandler outputHandler) {
+    this(watchService, filePath, outputHandler, LineFramer.DEFAULT_MAX_LINE_LENGTH);
+  }
+
+  /**
+   * Creates a new {@link FileWatcherImpl}.
+   * @param watchService The {@link WatchService} notified of the file modifications.
+   * @param filePath The watched file {@link Path}.
+   * @param outputHandler The {@link OutputHandler} that processes the read lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   */
+  public FileWatcherImpl(@NonNull WatchService watchService,
+                         @NonNull Path filePath,
+                         @NonNull OutputHandler outputHandler,
+                         int maxLineLength) {
+    this(watchService, filePath, outputHandler, maxLineLength, new MetricsRegistry());
+  }
+
+  /**
+   * Creates a new {@link FileWatcherImpl}.
+   * @param watchService The {@link WatchService} notified of the file modifications.
+   * @param filePath The watched file {@link Path}.
+   * @param outputHandler The {@link OutputHandler} that processes the read lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param metricsRegistry The {@link MetricsRegistry} of the read bytes and backlog metrics.
+   */
+  public FileWatcherImpl(@NonNull WatchService watchService,
+                         @NonNull Path filePath,
+                         @NonNull OutputHandler outputHandler,
+                         int maxLineLength,
+                         @NonNull MetricsRegistry metricsRegistry) {
     this.watchService = watchService;
     this.filePath = filePath;
-    this.outputHandler = outputHandler;
+    this.lineFramer = new LineFramer(Charset.defaultCharset(), maxLineLength, outputHandler);
+    this.readBytesCount = metricsRegistry.counter(PipelineMetrics.WATCHER_BYTES);
+    metricsRegistry.gauge(PipelineMetrics.WATCHER_BACKLOG_BYTES, this::getBacklogBytes);
 
     try {
       filePath.toAbsolutePath().getParent().register(
           this.watchService, StandardWatchEventKinds.ENTRY_MODIFY
       );
-      this.fileCursor = this.filePath.toFile().length();
+      if (openFileChannel()) {
+        this.fileCursor = this.fileChannel.size();
+      }
     } catch (IOException exception) {
       log.error("Error during FileWatcher initialization.", exception);
     }
@@ -59,10 +107,10 @@ public class FileWatcherImpl implements ResourceWatcher {
    * Launches a {@link WatchService} and register the file's parent directory for events of type
    *  {@link StandardWatchEventKinds#ENTRY_MODIFY}.
    *  The events are filtered according to the filename. Only the file modications are handler.
-   *  A first step consists of couting the existing characters already present in the file before
-   *    registering the file for watching the modificatiion events.
-   *  At each modification event the existing characters are skipped and only the new added lines
-   *    are processed.
+   *  A first step consists of keeping the byte size of the file before registering the file
+   *    for watching the modificatiion events.
+   *  At each modification event only the bytes appended after that offset are read and the new
+   *    added lines are processed.
    *
    */
   @Override
@@ -81,14 +129,7 @@ public class FileWatcherImpl implements ResourceWatcher {
         WatchEvent<Path> pathEvent = (WatchEvent<Path>) watchEvent;
         Path path = pathEvent.context();
         if (path.equals(this.filePath.getFileName())) {
-          this.bufferedReader = Files.newBufferedReader(this.filePath, Charset.defaultCharset());
-          this.bufferedReader.skip(this.fileCursor);
-          String line;
-          while ((line = this.bufferedReader.readLine()) != null) {
-            this.outputHandler.process(line);
-          }
-          this.fileCursor = this.filePath.toFile().length();
-          this.bufferedReader.close();
+          readAppendedContent();
         }
       }
       watchKey.reset();
@@ -97,9 +138,98 @@ public class FileWatcherImpl implements ResourceWatcher {
     }
   }
 
+  /**
+   * Reads the bytes appended to the file since the last read and frames them into lines.
+   * The read starts at the byte offset of the last read so the cost only depends on the
+   *  appended content size. If the file is smaller than the offset, it is considered truncated
+   *  and read again from its beginning.
+   * @throws IOException If an error occurs when reading the file.
+   */
+  @VisibleForTesting
+  void readAppendedContent() throws IOException {
+    if (this.fileChannel == null && !openFileChannel()) {
+      return;
+    }
+    if (this.fileChannel.size() < this.fileCursor) {
+      log.info("{} has been truncated. It will be read from its beginning.", this.filePath);
+      this.fileCursor = 0L;
+      this.lineFramer.reset();
+    }
+    this.fileCursor = readAppendedBytes(this.fileChannel, this.fileCursor, this.lineFramer);
+  }
+
+  /**
+   * Reads the bytes of a {@link FileChannel} from a position up to its end into the reusable
+   *  read buffer and frames them into lines.
+   * @param fileChannel The {@link FileChannel} to read.
+   * @param position The byte offset from which the read starts.
+   * @param lineFramer The {@link LineFramer} that frames the read bytes.
+   * @return the byte offset of the end of the read content.
+   * @throws IOException If an error occurs when reading the file.
+   */
+  long readAppendedBytes(FileChannel fileChannel, long position, LineFramer lineFramer)
+      throws IOException {
+    long cursor = position;
+    int readBytes;
+    this.readBuffer.clear();
+    while ((readBytes = fileChannel.read(this.readBuffer, cursor)) > 0) {
+      cursor += readBytes;
+      this.readBuffer.flip();
+      IngestTimestamps.markRead(System.nanoTime());
+      lineFramer.frame(this.readBuffer);
+      this.readBuffer.clear();
+      markRead(cursor, readBytes);
+    }
+    return cursor;
+  }
+
+  /**
+   * Advances the file cursor as the bytes are framed, so the backlog gauge follows a long read.
+   * @param cursor The byte offset of the end of the framed bytes.
+   * @param readBytes The number of framed bytes.
+   */
+  void markRead(long cursor, long readBytes) {
+    this.fileCursor = cursor;
+    this.readBytesCount.add(readBytes);
+  }
+
+  /**
+   * Computes the number of bytes appended to the file and not read yet.
+   * @return the backlog in bytes, 0 if the file is not open.
+   */
+  @VisibleForTesting
+  long getBacklogBytes() {
+    FileChannel channel = this.fileChannel;
+    if (channel == null) {
+      return 0L;
+    }
+    try {
+      return Math.max(0L, channel.size() - this.fileCursor);
+    } catch (IOException exception) {
+      return 0L;
+    }
+  }
+
+  private boolean openFileChannel() throws IOException {
+    try {
+      this.fileChannel = FileChannel.open(this.filePath, StandardOpenOption.READ);
+      return true;
+    } catch (NoSuchFileException noSuchFileException) {
+      log.info("{} does not exist yet. It will be read once created.", this.filePath);
+      return false;
+    }
+  }
+
   @Override
   public void close() {
     this.running.set(false);
+    if (this.fileChannel != null) {
+      try {
+        this.fileChannel.close();
+      } catch (IOException exception) {
+        log.error("Error when closing {}.", this.filePath, exception);
+      }
+    }
   }
 
 }
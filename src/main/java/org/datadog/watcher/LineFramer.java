@@ -0,0 +1,217 @@
+package org.datadog.watcher;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.parser.AsciiSequence;
+import org.datadog.parser.OutputHandler;
+
+/**
+ * Frames the lines contained in a stream of {@link ByteBuffer} chunks and hands them over to an
+ * {@link OutputHandler}.
+ * The bytes of a line that is not terminated yet are kept until the line feed that ends it
+ * is received in a following chunk. A carriage return preceding the line feed is dropped.
+ * Lines made of ASCII bytes only are turned into {@link String} without decoding, the other
+ * lines are decoded with a reused {@link CharsetDecoder}. The lines can also be handed over
+ * as views over the reused buffers, see {@link #withLineViews(Charset, int, OutputHandler)}.
+ * Lines longer than the maximum line length are discarded.
+ * This class is not thread safe.
+ */
+@Slf4j
+public class LineFramer {
+
+  public static final int DEFAULT_MAX_LINE_LENGTH = 16 * 1024;
+
+  private static final byte LINE_FEED = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final int INITIAL_LINE_CAPACITY = 512;
+
+  private final CharsetDecoder charsetDecoder;
+  private final int maxLineLength;
+  private final OutputHandler<CharSequence> outputHandler;
+  private byte[] lineBuffer = new byte[INITIAL_LINE_CAPACITY];
+  private int lineLength = 0;
+  private int nonAsciiBits = 0;
+  private boolean discarding = false;
+  private long discardedLineLength = 0L;
+  private long oversizedLinesCount = 0L;
+  private CharBuffer charBuffer = CharBuffer.allocate(INITIAL_LINE_CAPACITY);
+
+  /**
+   * Creates a new {@link LineFramer} with the default maximum line length.
+   * @param charset The {@link Charset} used to decode the framed lines.
+   * @param outputHandler The {@link OutputHandler} that processes every framed line.
+   */
+  public LineFramer(@NonNull Charset charset, @NonNull OutputHandler<String> outputHandler) {
+    this(charset, DEFAULT_MAX_LINE_LENGTH, outputHandler);
+  }
+
+  /**
+   * Creates a new {@link LineFramer}.
+   * @param charset The {@link Charset} used to decode the framed lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param outputHandler The {@link OutputHandler} that processes every framed line.
+   */
+  public LineFramer(@NonNull Charset charset,
+                    int maxLineLength,
+                    @NonNull OutputHandler<String> outputHandler) {
+    this(charset, line -> outputHandler.process(line.toString()), maxLineLength);
+  }
+
+  private LineFramer(Charset charset,
+                     OutputHandler<CharSequence> outputHandler,
+                     int maxLineLength) {
+    Preconditions.checkArgument(maxLineLength > 0, "Max line length must be > 0.");
+    this.charsetDecoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.maxLineLength = maxLineLength;
+    this.outputHandler = outputHandler;
+  }
+
+  /**
+   * Creates a new {@link LineFramer} that hands over the lines without copying them.
+   * An ASCII line is a view over the framing buffer and a decoded line is a view over the
+   *  decoding buffer: both are only valid during the {@link OutputHandler#process(Object)} call.
+   * @param charset The {@link Charset} used to decode the framed lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param outputHandler The {@link OutputHandler} that processes every framed line.
+   * @return a new {@link LineFramer}.
+   */
+  public static LineFramer withLineViews(@NonNull Charset charset,
+                                         int maxLineLength,
+                                         @NonNull OutputHandler<CharSequence> outputHandler) {
+    return new LineFramer(charset, outputHandler, maxLineLength);
+  }
+
+  /**
+   * Consumes all the remaining bytes of a {@link ByteBuffer} and processes every completed line.
+   * @param buffer The {@link ByteBuffer} to consume, ready to be read.
+   */
+  public void frame(ByteBuffer buffer) {
+    while (buffer.hasRemaining()) {
+      int start = buffer.position();
+      int limit = buffer.limit();
+      int end = start;
+      int bits = 0;
+      byte current;
+      while (end < limit && (current = buffer.get(end)) != LINE_FEED) {
+        bits |= current;
+        end++;
+      }
+      if (this.discarding || this.lineLength + end - start > this.maxLineLength) {
+        discard(buffer, end - start);
+      } else {
+        this.nonAsciiBits |= bits;
+        append(buffer, end - start);
+      }
+      if (end < limit) {
+        buffer.position(end + 1);
+        endLine();
+      }
+    }
+  }
+
+  /**
+   * Processes the pending bytes as a line even if they are not terminated by a line feed.
+   * Used when the end of the framed content is reached.
+   */
+  public void flush() {
+    if (this.lineLength > 0 || this.discarding) {
+      endLine();
+    }
+  }
+
+  /**
+   * Discards the bytes of the line being framed.
+   */
+  public void reset() {
+    this.lineLength = 0;
+    this.nonAsciiBits = 0;
+    this.discarding = false;
+    this.discardedLineLength = 0L;
+  }
+
+  /**
+   * Returns the number of bytes of the line being framed that are not processed yet.
+   * @return the pending bytes count.
+   */
+  public int pendingBytes() {
+    return this.lineLength;
+  }
+
+  /**
+   * Returns the number of lines discarded because they exceeded the maximum line length.
+   * @return the oversized lines count.
+   */
+  public long getOversizedLinesCount() {
+    return this.oversizedLinesCount;
+  }
+
+  private void append(ByteBuffer buffer, int length) {
+    if (this.lineLength + length > this.lineBuffer.length) {
+      byte[] extended = new byte[Math.min(this.maxLineLength,
+          Math.max(this.lineBuffer.length * 2, this.lineLength + length))];
+      System.arraycopy(this.lineBuffer, 0, extended, 0, this.lineLength);
+      this.lineBuffer = extended;
+    }
+    buffer.get(this.lineBuffer, this.lineLength, length);
+    this.lineLength += length;
+  }
+
+  private void discard(ByteBuffer buffer, int length) {
+    if (!this.discarding) {
+      this.discarding = true;
+      this.discardedLineLength = this.lineLength;
+      this.lineLength = 0;
+    }
+    this.discardedLineLength += length;
+    buffer.position(buffer.position() + length);
+  }
+
+  private void endLine() {
+    if (this.discarding) {
+      this.oversizedLinesCount++;
+      log.warn("Line of {} bytes discarded. It exceeds the maximum line length of {} bytes.",
+          this.discardedLineLength, this.maxLineLength);
+      reset();
+      return;
+    }
+    int length = this.lineLength;
+    if (length > 0 && this.lineBuffer[length - 1] == CARRIAGE_RETURN) {
+      length--;
+    }
+    CharSequence line = this.nonAsciiBits >= 0 ? asciiLine(length) : decodeLine(length);
+    reset();
+    this.outputHandler.process(line);
+  }
+
+  /**
+   * Creates a view over ASCII bytes. ASCII being a subset of ISO-8859-1, every byte is read
+   *  as a char without going through a {@link CharsetDecoder}.
+   */
+  private CharSequence asciiLine(int length) {
+    return new AsciiSequence(this.lineBuffer, 0, length);
+  }
+
+  private CharSequence decodeLine(int length) {
+    int capacity = (int) Math.ceil(length * (double) this.charsetDecoder.maxCharsPerByte());
+    if (this.charBuffer.capacity() < capacity) {
+      this.charBuffer = CharBuffer.allocate(capacity);
+    }
+    this.charBuffer.clear();
+    this.charsetDecoder.reset();
+    this.charsetDecoder.decode(ByteBuffer.wrap(this.lineBuffer, 0, length), this.charBuffer, true);
+    this.charsetDecoder.flush(this.charBuffer);
+    this.charBuffer.flip();
+    return this.charBuffer;
+  }
+
+}
@@ -0,0 +1,131 @@
+package org.datadog.watcher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.parser.OutputHandler;
+
+/**
+ * A file {@link ResourceWatcher} implementation that catches up large backlogs
+ *  by memory-mapping the unread region of the file.
+ * When the unread content exceeds the mapping threshold, it is mapped in windows with
+ *  {@link FileChannel#map} and the lines are framed directly from the {@link MappedByteBuffer}.
+ * Once the backlog is below the threshold, the remaining bytes are read as in
+ *  {@link FileWatcherImpl}.
+ */
+@Slf4j
+public class MappedFileWatcherImpl extends FileWatcherImpl {
+
+  public static final long DEFAULT_MAPPING_WINDOW_SIZE = 128L * 1024 * 1024;
+
+  private final long mappingThreshold;
+  private final long mappingWindowSize;
+  private long mappedBytesCount = 0L;
+
+  /**
+   * Creates a new {@link MappedFileWatcherImpl} with the default maximum line length and
+   *  mapping window size.
+   * @param watchService The {@link WatchService} notified of the file modifications.
+   * @param filePath The watched file {@link Path}.
+   * @param outputHandler The {@link OutputHandler} that processes the read lines.
+   * @param mappingThreshold The unread bytes count above which the file is memory-mapped.
+   */
+  public MappedFileWatcherImpl(@NonNull WatchService watchService,
+                               @NonNull Path filePath,
+                               @NonNull OutputHandler outputHandler,
+                               long mappingThreshold) {
+    this(watchService, filePath, outputHandler, LineFramer.DEFAULT_MAX_LINE_LENGTH,
+        mappingThreshold, DEFAULT_MAPPING_WINDOW_SIZE);
+  }
+
+  /**
+   * Creates a new {@link MappedFileWatcherImpl}.
+   * @param watchService The {@link WatchService} notified of the file modifications.
+   * @param filePath The watched file {@link Path}.
+   * @param outputHandler The {@link OutputHandler} that processes the read lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param mappingThreshold The unread bytes count above which the file is memory-mapped.
+   * @param mappingWindowSize The maximum bytes count mapped at once.
+   */
+  public MappedFileWatcherImpl(@NonNull WatchService watchService,
+                               @NonNull Path filePath,
+                               @NonNull OutputHandler outputHandler,
+                               int maxLineLength,
+                               long mappingThreshold,
+                               long mappingWindowSize) {
+    this(watchService, filePath, outputHandler, maxLineLength, mappingThreshold,
+        mappingWindowSize, new MetricsRegistry());
+  }
+
+  /**
+   * Creates a new {@link MappedFileWatcherImpl}.
+   * @param watchService The {@link WatchService} notified of the file modifications.
+   * @param filePath The watched file {@link Path}.
+   * @param outputHandler The {@link OutputHandler} that processes the read lines.
+   * @param maxLineLength The maximum length in bytes of a line. Longer lines are discarded.
+   * @param mappingThreshold The unread bytes count above which the file is memory-mapped.
+   * @param mappingWindowSize The maximum bytes count mapped at once.
+   * @param metricsRegistry The {@link MetricsRegistry} of the read bytes and backlog metrics.
+   */
+  public MappedFileWatcherImpl(@NonNull WatchService watchService,
+                               @NonNull Path filePath,
+                               @NonNull OutputHandler outputHandler,
+                               int maxLineLength,
+                               long mappingThreshold,
+                               long mappingWindowSize,
+                               @NonNull MetricsRegistry metricsRegistry) {
+    super(watchService, filePath, outputHandler, maxLineLength, metricsRegistry);
+    Preconditions.checkArgument(mappingThreshold > 0, "Mapping threshold must be > 0.");
+    Preconditions.checkArgument(mappingWindowSize > 0
+        && mappingWindowSize <= Integer.MAX_VALUE, "Mapping window size must be in ]0, 2GB].");
+    this.mappingThreshold = mappingThreshold;
+    this.mappingWindowSize = mappingWindowSize;
+  }
+
+  /**
+   * Maps and frames the unread bytes window by window while the backlog exceeds the mapping
+   *  threshold, then reads the remaining bytes through the read buffer.
+   * @param fileChannel The {@link FileChannel} to read.
+   * @param position The byte offset from which the read starts.
+   * @param lineFramer The {@link LineFramer} that frames the read bytes.
+   * @return the byte offset of the end of the read content.
+   * @throws IOException If an error occurs when mapping or reading the file.
+   */
+  @Override
+  long readAppendedBytes(FileChannel fileChannel, long position, LineFramer lineFramer)
+      throws IOException {
+    long cursor = position;
+    long fileSize = fileChannel.size();
+    if (fileSize - cursor > this.mappingThreshold) {
+      log.info("{} bytes behind the end of the file. Catching up using memory mapping.",
+          fileSize - cursor);
+    }
+    while (fileSize - cursor > this.mappingThreshold) {
+      long windowSize = Math.min(this.mappingWindowSize, fileSize - cursor);
+      MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, cursor, windowSize);
+      IngestTimestamps.markRead(System.nanoTime());
+      lineFramer.frame(window);
+      cursor += windowSize;
+      this.mappedBytesCount += windowSize;
+      markRead(cursor, windowSize);
+      fileSize = fileChannel.size();
+    }
+    return super.readAppendedBytes(fileChannel, cursor, lineFramer);
+  }
+
+  @VisibleForTesting
+  long getMappedBytesCount() {
+    return this.mappedBytesCount;
+  }
+
+}
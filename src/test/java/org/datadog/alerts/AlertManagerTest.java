@@ -6,6 +6,7 @@ import java.text.MessageFormat;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 
+import org.datadog.statitics.HyperLogLog;
 import org.datadog.statitics.TrafficStatistic;
 import org.junit.Before;
 import org.junit.Test;
@@ -256,6 +257,26 @@ public class AlertManagerTest {
 
   }
 
+  @Test
+  public void alertCountsDistinctClientsOfMonitoringInterval() {
+    for (int i = 1; i <= 5; i++) {
+      HyperLogLog distinctClients = new HyperLogLog();
+      distinctClients.add("10.0.0." + i);
+      distinctClients.add("10.0.0." + (i + 1));
+      this.alertsManagerUnderTest.consumeTrafficStatistics(TrafficStatistic.builder()
+          .totalHitsCount(i < 5 ? 1 : 100)
+          .distinctClients(distinctClients)
+          .build());
+    }
+
+    ArgumentCaptor<TrafficAlert> argumentCaptor = ArgumentCaptor.forClass(TrafficAlert.class);
+    verify(this.eventBus).post(argumentCaptor.capture());
+
+    assertEquals(TrafficAlert.AlertType.HIGH_TRAFFIC, argumentCaptor.getValue().getAlertType());
+    // The interval holds the last 4 statistics, with the clients 10.0.0.2 to 10.0.0.6
+    assertEquals(5, argumentCaptor.getValue().getDistinctClientsCount());
+  }
+
   private boolean correctAlertDateTime(ZonedDateTime alertDateTime) {
     return (alertDateTime.equals(this.testExecutionDateTime) || alertDateTime.isAfter(this.testExecutionDateTime))
         && (alertDateTime.equals(ZonedDateTime.now()) || alertDateTime.isBefore(ZonedDateTime.now()));
@@ -0,0 +1,82 @@
+package org.datadog.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.statitics.TrafficAggregate;
+import org.datadog.statitics.TrafficStatistic;
+import org.datadog.watcher.LineFramer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchAnalyzerTest {
+
+  private static final String[] SECTIONS = {"pages", "api", "images", "users"};
+  private static final String[] METHODS = {"GET", "POST", "PUT"};
+  private static final int[] STATUSES = {200, 302, 404, 500};
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File logFile;
+
+  @Before
+  public void init() throws IOException {
+    this.logFile = this.temporaryFolder.newFile("access.log");
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      content.append("127.0.0.").append(i % 10)
+          .append(" - - [10/Oct/2000:13:55:36 -0700] \"")
+          .append(METHODS[i % METHODS.length]).append(" /")
+          .append(SECTIONS[(i * i) % SECTIONS.length]).append("/resource").append(i)
+          .append(" HTTP/1.0\" ").append(STATUSES[i % STATUSES.length]).append(' ').append(i)
+          .append('\n');
+      if (i % 100 == 0) {
+        content.append("Invalid line\n");
+      }
+    }
+    content.append("127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /pages/last HTTP/1.0\" 200 1");
+    Files.write(this.logFile.toPath(), content.toString().getBytes(), StandardOpenOption.APPEND);
+  }
+
+  @Test
+  public void rangesAggregateAsWholeFile() throws IOException {
+    try (FileChannel fileChannel = FileChannel.open(this.logFile.toPath())) {
+      LongAdder invalidLinesCount = new LongAdder();
+      TrafficAggregate whole = new FileRangeTask(fileChannel, 0, fileChannel.size(),
+          Long.MAX_VALUE, LineFramer.DEFAULT_MAX_LINE_LENGTH, new ResourceNormalizer(),
+          invalidLinesCount).invoke();
+      TrafficAggregate split = new ForkJoinPool(4).invoke(
+          new FileRangeTask(fileChannel, 0, fileChannel.size(), 512,
+              LineFramer.DEFAULT_MAX_LINE_LENGTH, new ResourceNormalizer(), invalidLinesCount));
+
+      assertEquals(whole.toTrafficStatistic(SECTIONS.length),
+          split.toTrafficStatistic(SECTIONS.length));
+      assertEquals(20, invalidLinesCount.sum());
+    }
+  }
+
+  @Test
+  public void analyzeWholeFile() throws IOException {
+    BatchAnalyzer batchAnalyzer = new BatchAnalyzer(4, LineFramer.DEFAULT_MAX_LINE_LENGTH);
+    TrafficStatistic trafficStatistic = batchAnalyzer.analyze(this.logFile.toPath(), 5);
+
+    assertEquals(1001, trafficStatistic.getTotalHitsCount());
+    assertEquals(251, trafficStatistic.getSuccessRequestsCount());
+    assertEquals(250, trafficStatistic.getClientErrorRequestCount());
+    assertEquals(250, trafficStatistic.getServerErrorRequestCount());
+    assertEquals(999 * 1000 / 2 + 1, trafficStatistic.getTotalTrafficSize());
+    assertEquals(10, batchAnalyzer.getInvalidLinesCount());
+  }
+
+}
@@ -0,0 +1,45 @@
+package org.datadog.generator;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.statitics.LogHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LagTrackerTest {
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+  private final LagTracker lagTracker = new LagTracker(
+      this.metricsRegistry.latency(LoadGenerator.LAG_MILLIS));
+  private final CommonLogFormatEntry entry = CommonLogFormatEntry.builder().build();
+
+  @Test
+  public void lagIsRecordedOncePerAggregatedBatchTest() {
+    long writtenNanos = System.nanoTime() - 50_000_000L;
+    this.lagTracker.written(2, writtenNanos);
+    this.lagTracker.written(3, writtenNanos);
+    this.lagTracker.aggregated(this.entry);
+    assertEquals(0, lag().getTotalCount());
+    this.lagTracker.aggregated(this.entry);
+    LogHistogram lag = lag();
+    assertEquals(1, lag.getTotalCount());
+    assertTrue(lag.getMax() >= 50);
+    this.lagTracker.aggregated(this.entry);
+    assertEquals(1, lag().getTotalCount());
+    assertEquals(3, this.lagTracker.getAggregatedLinesCount());
+  }
+
+  @Test
+  public void batchAggregatedBeforeBeingReportedTest() {
+    this.lagTracker.aggregated(this.entry);
+    this.lagTracker.written(1, System.nanoTime());
+    assertEquals(1, lag().getTotalCount());
+  }
+
+  private LogHistogram lag() {
+    return this.metricsRegistry.snapshot().getLatencies().get(LoadGenerator.LAG_MILLIS);
+  }
+
+}
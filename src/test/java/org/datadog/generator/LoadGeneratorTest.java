@@ -0,0 +1,61 @@
+package org.datadog.generator;
+
+import org.apache.commons.cli.ParseException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoadGeneratorTest {
+
+  @Test
+  public void defaultOptionsTest() throws ParseException {
+    assertEquals(LoadGeneratorOptions.builder().build(),
+        LoadGenerator.parseOptions(new String[] {}));
+  }
+
+  @Test
+  public void parseOptionsTest() throws ParseException {
+    LoadGeneratorOptions options = LoadGenerator.parseOptions(new String[] {
+        "-f", "/tmp/load.log",
+        "--" + LoadGenerator.START_RATE_OPTION, "500",
+        "-e", "2500.5",
+        "-d", "30",
+        "-p", "10",
+        "-l", "2",
+        "-x", "3",
+        "-z", "1.2",
+        "-o", "0.1",
+        "-N",
+        "-S", "7"
+    });
+    assertEquals(LoadGeneratorOptions.builder()
+            .filePath("/tmp/load.log")
+            .startRate(500)
+            .endRate(2500.5)
+            .durationSeconds(30)
+            .burstPeriodSeconds(10)
+            .burstSeconds(2)
+            .burstFactor(3)
+            .zipfExponent(1.2)
+            .outOfOrderRatio(0.1)
+            .monitor(false)
+            .seed(7)
+            .build(),
+        options);
+    LoadProfile loadProfile = options.toLoadProfile();
+    assertEquals(30, loadProfile.getRampSeconds(), 1e-9);
+    assertEquals(2_500.5, loadProfile.rateAt(30), 1e-9);
+    assertEquals(7_501.5, loadProfile.rateAt(39), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badRateTest() throws ParseException {
+    LoadGenerator.parseOptions(new String[] {"-s", "fast"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badDurationTest() {
+    new LoadGenerator(LoadGeneratorOptions.builder().durationSeconds(0).build());
+  }
+
+}
@@ -0,0 +1,58 @@
+package org.datadog.generator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadProfileTest {
+
+  @Test
+  public void rampTest() {
+    LoadProfile loadProfile = LoadProfile.builder()
+        .startRate(1_000)
+        .endRate(3_000)
+        .rampSeconds(10)
+        .build();
+    assertEquals(1_000, loadProfile.rateAt(0), 1e-9);
+    assertEquals(2_000, loadProfile.rateAt(5), 1e-9);
+    assertEquals(3_000, loadProfile.rateAt(10), 1e-9);
+    assertEquals(3_000, loadProfile.rateAt(60), 1e-9);
+  }
+
+  @Test
+  public void burstsTest() {
+    LoadProfile loadProfile = LoadProfile.builder()
+        .startRate(1_000)
+        .endRate(1_000)
+        .burstPeriodSeconds(10)
+        .burstSeconds(2)
+        .burstFactor(4)
+        .build();
+    assertFalse(loadProfile.isBursting(7.9));
+    assertTrue(loadProfile.isBursting(8));
+    assertTrue(loadProfile.isBursting(19.9));
+    assertFalse(loadProfile.isBursting(20));
+    assertEquals(1_000, loadProfile.rateAt(5), 1e-9);
+    assertEquals(4_000, loadProfile.rateAt(9), 1e-9);
+  }
+
+  @Test
+  public void noBurstByDefaultTest() {
+    LoadProfile loadProfile = LoadProfile.builder().build();
+    assertFalse(loadProfile.isBursting(0));
+    assertEquals(1_000, loadProfile.rateAt(0), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void burstLongerThanPeriodTest() {
+    LoadProfile.builder().burstPeriodSeconds(2).burstSeconds(3).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeRateTest() {
+    LoadProfile.builder().startRate(-1).build();
+  }
+
+}
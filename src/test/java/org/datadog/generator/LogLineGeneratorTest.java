@@ -0,0 +1,73 @@
+package org.datadog.generator;
+
+import java.time.Instant;
+import java.util.Random;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.parser.ParseException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogLineGeneratorTest {
+
+  private static final int LINES_COUNT = 10_000;
+
+  private final CommonLogFormatScannerParserImpl parser = new CommonLogFormatScannerParserImpl();
+
+  @Test
+  public void generatedLinesAreValidTest() throws ParseException {
+    long epochSecond = Instant.parse("2018-10-10T13:55:36Z").getEpochSecond();
+    LogLineGenerator logLineGenerator = new LogLineGenerator(new Random(42), 100, 1.0, 0.1,
+        0.05, 30);
+    int errorsCount = 0;
+    int outOfOrderCount = 0;
+    int firstSectionHits = 0;
+    for (int index = 0; index < LINES_COUNT; index++) {
+      CommonLogFormatEntry entry = this.parser.parse(logLineGenerator.nextLine(epochSecond));
+      long delaySeconds = epochSecond - entry.getEpochMillis() / 1000;
+      assertTrue(delaySeconds >= 0 && delaySeconds <= 30);
+      outOfOrderCount += delaySeconds > 0 ? 1 : 0;
+      errorsCount += entry.getStatus() >= 400 ? 1 : 0;
+      firstSectionHits += LogLineGenerator.SECTIONS[0].equals(entry.getSection()) ? 1 : 0;
+    }
+    assertEquals(0.1, (double) errorsCount / LINES_COUNT, 0.02);
+    assertEquals(0.05, (double) outOfOrderCount / LINES_COUNT, 0.02);
+    double firstSectionProbability = new ZipfDistribution(100, 1.0).probability(0);
+    assertEquals(firstSectionProbability, (double) firstSectionHits / LINES_COUNT, 0.02);
+  }
+
+  @Test
+  public void seededLinesAreReproducibleTest() {
+    LogLineGenerator first = new LogLineGenerator(new Random(7), 10, 1.0, 0.05, 0.01, 30);
+    LogLineGenerator second = new LogLineGenerator(new Random(7), 10, 1.0, 0.05, 0.01, 30);
+    for (int index = 0; index < 100; index++) {
+      assertEquals(first.nextLine(1_539_179_736L + index), second.nextLine(1_539_179_736L + index));
+    }
+  }
+
+  @Test
+  public void zipfDistributionTest() {
+    ZipfDistribution zipfDistribution = new ZipfDistribution(4, 1.0);
+    double harmonic = 1 + 1 / 2d + 1 / 3d + 1 / 4d;
+    assertEquals(1 / harmonic, zipfDistribution.probability(0), 1e-9);
+    assertEquals(1 / (4 * harmonic), zipfDistribution.probability(3), 1e-9);
+    ZipfDistribution uniformDistribution = new ZipfDistribution(4, 0);
+    Random random = new Random(42);
+    int[] hits = new int[4];
+    for (int index = 0; index < LINES_COUNT; index++) {
+      hits[uniformDistribution.sample(random)]++;
+    }
+    for (int hit : hits) {
+      assertEquals(0.25, (double) hit / LINES_COUNT, 0.02);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badErrorRatioTest() {
+    new LogLineGenerator(new Random(42), 10, 1.0, 1.5, 0.01, 30);
+  }
+
+}
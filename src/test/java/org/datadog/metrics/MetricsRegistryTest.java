@@ -0,0 +1,181 @@
+package org.datadog.metrics;
+
+import com.google.common.eventbus.EventBus;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.TreeMap;
+
+import org.datadog.alerts.AlertsManager;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.datadog.statitics.EventTimeWindows;
+import org.datadog.statitics.LogHistogram;
+import org.datadog.statitics.TrafficStatisticsManager;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+  @Test
+  public void countersAreCumulativeTest() {
+    assertSame(this.metricsRegistry.counter("lines"), this.metricsRegistry.counter("lines"));
+    this.metricsRegistry.counter("lines").add(3);
+    assertEquals(3, this.metricsRegistry.snapshot().getCounter("lines"));
+    this.metricsRegistry.counter("lines").increment();
+    MetricsSnapshot snapshot = this.metricsRegistry.snapshot();
+    assertEquals(4, snapshot.getCounter("lines"));
+    assertEquals(0, snapshot.getCounter("unknown"));
+  }
+
+  @Test
+  public void latenciesAreResetAtEverySnapshotTest() {
+    LatencyHistogram latency = this.metricsRegistry.latency("parse.nanos");
+    latency.record(100);
+    latency.record(-5);
+    LogHistogram histogram = this.metricsRegistry.snapshot().getLatencies().get("parse.nanos");
+    assertEquals(2, histogram.getTotalCount());
+    assertEquals(100, histogram.getMax());
+    assertEquals(0, this.metricsRegistry.snapshot().getLatencies().get("parse.nanos")
+        .getTotalCount());
+  }
+
+  @Test
+  public void gaugesAreSampledAtSnapshotTest() {
+    long[] backlog = {10};
+    this.metricsRegistry.gauge("backlog.bytes", () -> backlog[0]);
+    this.metricsRegistry.gauge("broken", () -> {
+      throw new IllegalStateException();
+    });
+    assertEquals(Long.valueOf(10),
+        this.metricsRegistry.snapshot().getGauges().get("backlog.bytes"));
+    backlog[0] = 0;
+    MetricsSnapshot snapshot = this.metricsRegistry.snapshot();
+    assertEquals(Long.valueOf(0), snapshot.getGauges().get("backlog.bytes"));
+    assertEquals(1, snapshot.getGauges().size());
+  }
+
+  @Test
+  public void ratePerSecondTest() {
+    Instant now = Instant.now();
+    MetricsSnapshot previous = snapshot(now, 1_000_000_000L, 100);
+    MetricsSnapshot current = snapshot(now, 3_000_000_000L, 300);
+    assertEquals(100, current.getRatePerSecond("lines", previous), 1e-9);
+    assertEquals(0, current.getRatePerSecond("lines", null), 1e-9);
+    assertEquals(100, new MetricsReport(current, previous).getRatePerSecond("lines"), 1e-9);
+  }
+
+  @Test
+  public void toJsonTest() {
+    Instant now = Instant.parse("2018-10-10T13:55:36Z");
+    TreeMap<String, Long> counters = new TreeMap<>();
+    counters.put("lines", 300L);
+    TreeMap<String, Long> gauges = new TreeMap<>();
+    gauges.put("backlog.bytes", 12L);
+    TreeMap<String, LogHistogram> latencies = new TreeMap<>();
+    LogHistogram histogram = new LogHistogram();
+    histogram.record(7);
+    latencies.put("parse.nanos", histogram);
+    MetricsSnapshot current = new MetricsSnapshot(now, 3_000_000_000L, counters, gauges,
+        latencies);
+    assertEquals("{\"timestamp\":\"2018-10-10T13:55:36Z\","
+            + "\"counters\":{\"lines\":{\"total\":300,\"perSecond\":100.000}},"
+            + "\"gauges\":{\"backlog.bytes\":12},"
+            + "\"latencies\":{\"parse.nanos\":{\"count\":1,\"p50\":7,\"p90\":7,\"p99\":7,"
+            + "\"max\":7}}}",
+        current.toJson(snapshot(now, 1_000_000_000L, 100)));
+  }
+
+  @Test
+  public void toJsonIgnoresDefaultLocaleTest() {
+    Instant now = Instant.parse("2018-10-10T13:55:36Z");
+    Locale defaultLocale = Locale.getDefault();
+    Locale.setDefault(Locale.FRANCE);
+    try {
+      assertEquals("{\"timestamp\":\"2018-10-10T13:55:36Z\","
+              + "\"counters\":{\"lines\":{\"total\":300,\"perSecond\":66.667}},"
+              + "\"gauges\":{},\"latencies\":{}}",
+          snapshot(now, 4_000_000_000L, 300).toJson(snapshot(now, 1_000_000_000L, 100)));
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  public void handlerRecordsPipelineMetricsTest() {
+    CommonLogFormatHandlerImpl handler = new CommonLogFormatHandlerImpl(
+        new CommonLogFormatScannerParserImpl(), this.metricsRegistry);
+    handler.process("127.0.0.1 - james [09/May/2018:16:00:39 +0000] \"GET /report HTTP/1.0\""
+        + " 200 123");
+    handler.process("invalid line");
+    MetricsSnapshot snapshot = this.metricsRegistry.snapshot();
+    assertEquals(2, snapshot.getCounter(PipelineMetrics.PARSER_LINES));
+    assertEquals(1, snapshot.getCounter(PipelineMetrics.PARSER_FAILURES));
+    assertEquals(1, snapshot.getLatencies().get(PipelineMetrics.PARSER_LATENCY_NANOS)
+        .getTotalCount());
+    long minimumLag = Instant.parse("2018-05-10T00:00:00Z").until(Instant.now(),
+        ChronoUnit.MILLIS);
+    assertTrue(snapshot.getLatencies().get(PipelineMetrics.LOG_LAG_MILLIS).getMax()
+        >= minimumLag / 2);
+  }
+
+  @Test
+  public void ingestLatenciesTest() {
+    EventBus eventBus = new EventBus();
+    TrafficStatisticsManager trafficStatisticsManager = new TrafficStatisticsManager(eventBus,
+        3600, EventTimeWindows.DEFAULT_ALLOWED_LATENESS, new ResourceNormalizer(),
+        this.metricsRegistry);
+    eventBus.register(new AlertsManager(eventBus, 1, 1, this.metricsRegistry));
+    CommonLogFormatHandlerImpl handler = new CommonLogFormatHandlerImpl(
+        new CommonLogFormatScannerParserImpl(), this.metricsRegistry);
+
+    IngestTimestamps.markRead(System.nanoTime());
+    trafficStatisticsManager.consumeClfEvent(handler.parse(
+        "127.0.0.1 - james [09/May/2018:16:00:39 +0000] \"GET /report HTTP/1.0\" 200 123"));
+    trafficStatisticsManager.consumeClfEvent(handler.parse(
+        "127.0.0.1 - james [09/May/2018:16:00:40 +0000] \"GET /api HTTP/1.0\" 200 123"));
+    trafficStatisticsManager.refreshStatistics();
+
+    MetricsSnapshot snapshot = this.metricsRegistry.snapshot();
+    assertEquals(2, snapshot.getLatencies().get(PipelineMetrics.READ_TO_PARSED_NANOS)
+        .getTotalCount());
+    assertEquals(2, snapshot.getLatencies().get(PipelineMetrics.PARSED_TO_AGGREGATED_NANOS)
+        .getTotalCount());
+    assertEquals(2, snapshot.getLatencies().get(PipelineMetrics.AGGREGATED_TO_ALERT_MILLIS)
+        .getTotalCount());
+  }
+
+  @Test
+  public void aggregationTimelineTest() {
+    AggregationTimeline aggregationTimeline = new AggregationTimeline(0L, 1_024_000_000L);
+    LatencyHistogram latency = this.metricsRegistry.latency("aggregated.alert.millis");
+    aggregationTimeline.recordElapsedMillis(2_000_000_000L, latency);
+    assertEquals(0, this.metricsRegistry.snapshot().getLatencies()
+        .get("aggregated.alert.millis").getTotalCount());
+
+    aggregationTimeline.record(0L);
+    aggregationTimeline.record(500_000_000L);
+    aggregationTimeline.record(1_500_000_000L);
+    aggregationTimeline.recordElapsedMillis(2_000_000_000L, latency);
+    LogHistogram histogram = this.metricsRegistry.snapshot().getLatencies()
+        .get("aggregated.alert.millis");
+    assertEquals(3, aggregationTimeline.getTotalCount());
+    assertEquals(3, histogram.getTotalCount());
+    assertEquals(1999, histogram.getMax());
+    assertTrue(histogram.valueAtQuantile(0.5) >= 1400 && histogram.valueAtQuantile(0.5) <= 1600);
+  }
+
+  private static MetricsSnapshot snapshot(Instant timestamp, long nanoTime, long lines) {
+    TreeMap<String, Long> counters = new TreeMap<>();
+    counters.put("lines", lines);
+    return new MetricsSnapshot(timestamp, nanoTime, counters, new TreeMap<>(), new TreeMap<>());
+  }
+
+}
@@ -0,0 +1,90 @@
+package org.datadog.normalizer;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnitParamsRunner.class)
+public class ResourceNormalizerTest {
+
+  private final ResourceNormalizer resourceNormalizer = new ResourceNormalizer();
+
+  @Test
+  @Parameters(value = {
+      "/users/123/orders/456?x=1&y=2, /users/{id}/orders/{id}",
+      "/users/123/orders/456#details, /users/{id}/orders/{id}",
+      "/pages/create, /pages/create",
+      "/pages/create/, /pages/create/",
+      "/, /",
+      "/42, /{id}",
+      "//42, //{id}",
+      "/files/123e4567-e89b-12d3-a456-426655440000/raw, /files/{uuid}/raw",
+      "/commits/5f3a9c0e7b/diff, /commits/{hex}/diff",
+      "/blog/deadbeef, /blog/deadbeef",
+      "/blog/cafe1234, /blog/{hex}",
+      "/v2/report, /v2/report"
+  })
+  public void normalizeResourceTest(String resource, String expected) {
+    assertEquals(expected, this.resourceNormalizer.normalize(resource));
+  }
+
+  @Test
+  public void customRulesAreAppliedFirstTest() {
+    ResourceNormalizer customNormalizer = new ResourceNormalizer(
+        Arrays.asList(NormalizationRule.parse("{sku}=SKU-[0-9]+"), NormalizationRule.NUMBER),
+        ResourceNormalizer.DEFAULT_MEMO_SIZE);
+    assertEquals("/products/{sku}/reviews/{id}",
+        customNormalizer.normalize("/products/SKU-123/reviews/7?page=2"));
+    assertEquals("/products/sku-123", customNormalizer.normalize("/products/sku-123"));
+  }
+
+  @Test
+  public void normalizedResourcesAreSharedTest() {
+    String first = this.resourceNormalizer.normalize("/users/1");
+    assertSame(first, this.resourceNormalizer.normalize("/users/2?tab=orders"));
+    assertSame(first, this.resourceNormalizer.normalize(new String("/users/1")));
+  }
+
+  @Test
+  public void leastRecentlyUsedPathsAreEvictedTest() {
+    ResourceNormalizer smallNormalizer = new ResourceNormalizer(Collections.emptyList(), 2);
+    smallNormalizer.normalize("/api/a?x=1");
+    smallNormalizer.normalize("/api/b");
+    smallNormalizer.normalize("/api/a");
+    smallNormalizer.normalize("/api/c");
+    assertTrue(smallNormalizer.isMemoized("/api/a"));
+    assertFalse(smallNormalizer.isMemoized("/api/b"));
+    assertTrue(smallNormalizer.isMemoized("/api/c"));
+    assertEquals("/api/b", smallNormalizer.normalize("/api/b"));
+    assertFalse(smallNormalizer.isMemoized("/api/a"));
+  }
+
+  @Test
+  public void copyKeepsRulesTest() {
+    ResourceNormalizer customNormalizer = new ResourceNormalizer(
+        Collections.singletonList(NormalizationRule.ofPattern("{lang}", "en|fr")), 16);
+    assertEquals(customNormalizer.getRules(), customNormalizer.copy().getRules());
+    assertEquals("/{lang}/home", customNormalizer.copy().normalize("/fr/home"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Parameters(value = {"SKU-[0-9]+", "{sku}=", "={sku}", "{sku}=SKU-[0-9"})
+  public void badRuleTest(String rule) {
+    NormalizationRule.parse(rule);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badMemoSizeTest() {
+    new ResourceNormalizer(ResourceNormalizer.DEFAULT_RULES, 0);
+  }
+
+}
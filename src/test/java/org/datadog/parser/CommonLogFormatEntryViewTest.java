@@ -0,0 +1,70 @@
+package org.datadog.parser;
+
+import java.nio.charset.StandardCharsets;
+
+import org.datadog.log.HttpMethod;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class CommonLogFormatEntryViewTest {
+
+  private static final String FIRST_LINE = "127.0.0.1 user-identifier frank [10/Oct/2000:13:55:36 -0700] \"GET /pages/create HTTP/1.0\" 200 2326";
+  private static final String SECOND_LINE = "10.0.0.2 - - [10/Oct/2000:13:56:01 -0700] \"PROPFIND /dav\" 503 -";
+
+  private final CommonLogFormatEntryView entryView = new CommonLogFormatEntryView();
+
+  @Test
+  public void detachedEntryEqualsParsedEntry() throws ParseException {
+    CommonLogFormatParserImpl regexParser = new CommonLogFormatParserImpl();
+    assertEquals(regexParser.parse(FIRST_LINE), this.entryView.wrap(FIRST_LINE).detach());
+    assertEquals(regexParser.parse(SECOND_LINE), this.entryView.wrap(SECOND_LINE).detach());
+  }
+
+  @Test
+  public void fieldsAreExtractedFromTheWrappedLine() throws ParseException {
+    this.entryView.wrap(FIRST_LINE);
+    assertEquals(HttpMethod.GET, this.entryView.getHttpMethod());
+    assertEquals("pages", this.entryView.getSection());
+    assertSame(this.entryView.getSection(), this.entryView.getSection());
+    assertEquals(200, this.entryView.getStatus());
+    assertEquals(2326, this.entryView.getSize());
+
+    this.entryView.wrap(SECOND_LINE);
+    assertNull(this.entryView.getHttpMethod());
+    assertEquals("PROPFIND", this.entryView.getMethod());
+    assertNull(this.entryView.getSection());
+    assertNull(this.entryView.getProtocol());
+    assertNull(this.entryView.getUserId());
+    assertEquals("10.0.0.2", this.entryView.getHost());
+    assertEquals(503, this.entryView.getStatus());
+    assertEquals(0, this.entryView.getSize());
+  }
+
+  @Test
+  public void wrapsByteSlice() throws ParseException {
+    byte[] bytes = (FIRST_LINE + "\n" + SECOND_LINE + "\n").getBytes(StandardCharsets.US_ASCII);
+    this.entryView.wrap(bytes, FIRST_LINE.length() + 1, SECOND_LINE.length());
+    assertEquals(new CommonLogFormatParserImpl().parse(SECOND_LINE), this.entryView.detach());
+  }
+
+  @Test
+  public void invalidLineLeavesTheViewEmpty() throws ParseException {
+    this.entryView.wrap(FIRST_LINE);
+    try {
+      this.entryView.wrap("127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /pages\" 2000 -");
+      fail("The line is not a valid Common Log Format line");
+    } catch (ParseException parseException) {
+      try {
+        this.entryView.getStatus();
+        fail("The view must not expose the previous line");
+      } catch (IllegalStateException illegalStateException) {
+        assertEquals("CommonLogFormatEntryView()", this.entryView.toString());
+      }
+    }
+  }
+
+}
@@ -14,11 +14,15 @@ import java.time.ZonedDateTime;
 @RunWith(JUnitParamsRunner.class)
 public class CommonLogFormatParserTest {
 
-  private CommonLogFormatParserImpl clfParser;
+  private Parser<CommonLogFormatEntry, String> clfParser;
 
   @Before
   public void init() {
-    clfParser = new CommonLogFormatParserImpl();
+    clfParser = createParser();
+  }
+
+  protected Parser<CommonLogFormatEntry, String> createParser() {
+    return new CommonLogFormatParserImpl();
   }
 
   @Test
@@ -57,6 +61,17 @@ public class CommonLogFormatParserTest {
     Assert.assertEquals(expected, actual);
   }
 
+  @Test
+  public void clfLineWithSizeOverTwoGigabytes() throws ParseException {
+    String commonLogFormatLine = "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"PROPFIND /dav/archive.tar\" 207 3000000000";
+    CommonLogFormatEntry actual = clfParser.parse(commonLogFormatLine);
+    Assert.assertEquals(3_000_000_000L, actual.getSize());
+    Assert.assertEquals("PROPFIND", actual.getMethod());
+    Assert.assertNull(actual.getHttpMethod());
+    Assert.assertEquals("dav", actual.getSection());
+    Assert.assertNull(actual.getProtocol());
+  }
+
   @Test(expected = ParseException.class)
   public void clfLineWithMissingStatusCode() throws ParseException {
     String commonLogFormatLine = "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" - -";
@@ -0,0 +1,108 @@
+package org.datadog.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import junitparams.JUnitParamsRunner;
+import org.datadog.log.CommonLogFormatEntry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitParamsRunner.class)
+public class CommonLogFormatScannerParserTest extends CommonLogFormatParserTest {
+
+  private static final String[] EDGE_CASE_LINES = {
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\n",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\r\n",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\r",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\u2028",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\n\n",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\u0085",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\u2029",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326 ",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif \" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif  HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /a b c\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET  /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"get /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 2000 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 -",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 --",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 -1",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 007",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2147483647",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2147483648",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 99999999999999999999",
+      "127.0.0.1\t- - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1  - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [] \"GET /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700]] \"GET /apache_pb.gif HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\"  200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200  2326",
+      "127.0.0.1 - é [10/Oct/2000:13:55:36 -0700] \"GET /café HTTP/1.0\" 200 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 20 2326",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET",
+      "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700",
+      "127.0.0.1",
+      "\n"
+  };
+
+  private final CommonLogFormatParserImpl regexParser = new CommonLogFormatParserImpl();
+  private final CommonLogFormatScannerParserImpl scannerParser
+      = new CommonLogFormatScannerParserImpl();
+
+  @Override
+  protected Parser<CommonLogFormatEntry, String> createParser() {
+    return new CommonLogFormatScannerParserImpl();
+  }
+
+  @Test
+  public void sameResultAsRegexParser() {
+    for (String logLine : EDGE_CASE_LINES) {
+      CommonLogFormatEntry expected = parseOrNull(this.regexParser, logLine);
+      CommonLogFormatEntry actual = parseOrNull(this.scannerParser, logLine);
+      Assert.assertEquals(logLine, expected, actual);
+    }
+  }
+
+  @Test
+  public void sameResultAsRegexParserOnMutatedLines() {
+    String validLine = "127.0.0.1 user-identifier frank [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326";
+    String alphabet = " \"[]-09AZaz/\t\r\n";
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      StringBuilder logLine = new StringBuilder(validLine);
+      for (int mutation = random.nextInt(3) + 1; mutation > 0; mutation--) {
+        int index = random.nextInt(logLine.length());
+        if (random.nextBoolean()) {
+          logLine.deleteCharAt(index);
+        } else {
+          logLine.insert(index, alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+      }
+      CommonLogFormatEntry expected = parseOrNull(this.regexParser, logLine.toString());
+      CommonLogFormatEntry actual = parseOrNull(this.scannerParser, logLine.toString());
+      Assert.assertEquals(logLine.toString(), expected, actual);
+    }
+  }
+
+  @Test
+  public void byteSliceParsing() throws ParseException {
+    String commonLogFormatLine = "127.0.0.1 user-identifier frank [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326";
+    byte[] bytes = ("garbage" + commonLogFormatLine + "\ngarbage").getBytes(StandardCharsets.US_ASCII);
+    Assert.assertEquals(this.regexParser.parse(commonLogFormatLine),
+        this.scannerParser.parse(bytes, 7, commonLogFormatLine.length()));
+  }
+
+  private static CommonLogFormatEntry parseOrNull(Parser<CommonLogFormatEntry, String> parser,
+                                                  String logLine) {
+    try {
+      return parser.parse(logLine);
+    } catch (ParseException parseException) {
+      return null;
+    }
+  }
+
+}
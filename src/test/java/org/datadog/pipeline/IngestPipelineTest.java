@@ -0,0 +1,157 @@
+package org.datadog.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.metrics.IngestTimestamps;
+import org.datadog.metrics.MetricsRegistry;
+import org.datadog.metrics.MetricsSnapshot;
+import org.datadog.metrics.PipelineMetrics;
+import org.datadog.parser.CommonLogFormatHandlerImpl;
+import org.datadog.parser.CommonLogFormatScannerParserImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnitParamsRunner.class)
+public class IngestPipelineTest {
+
+  private static final long TIMEOUT_MILLIS = 10_000L;
+
+  @Test
+  @Parameters(value = {
+      WaitStrategy.BLOCKING,
+      WaitStrategy.SLEEPING,
+      WaitStrategy.YIELDING,
+      WaitStrategy.BUSY_SPIN
+  })
+  public void entriesAreAggregatedInOrderTest(String waitStrategy) throws InterruptedException {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    List<CommonLogFormatEntry> aggregatedEntries = Collections.synchronizedList(
+        new ArrayList<>());
+    IngestPipeline ingestPipeline = new IngestPipeline(
+        new CommonLogFormatHandlerImpl(new CommonLogFormatScannerParserImpl(), metricsRegistry),
+        aggregatedEntries::add, 8, WaitStrategy.forName(waitStrategy));
+    ingestPipeline.start();
+
+    IngestTimestamps.markRead(System.nanoTime());
+    for (int index = 0; index < 1000; index++) {
+      ingestPipeline.process(index % 100 == 99 ? "invalid line" : line(index));
+    }
+    awaitDrained(ingestPipeline);
+    ingestPipeline.halt();
+
+    assertEquals(990, aggregatedEntries.size());
+    for (int index = 0; index < aggregatedEntries.size(); index++) {
+      assertEquals(index + index / 99, aggregatedEntries.get(index).getSize());
+    }
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+    assertEquals(1000, snapshot.getCounter(PipelineMetrics.PARSER_LINES));
+    assertEquals(10, snapshot.getCounter(PipelineMetrics.PARSER_FAILURES));
+    assertEquals(990, snapshot.getLatencies().get(PipelineMetrics.READ_TO_PARSED_NANOS)
+        .getTotalCount());
+  }
+
+  @Test
+  public void timestampsAreHandedOverTest() throws InterruptedException {
+    List<Long> parsedNanos = new ArrayList<>();
+    CommonLogFormatHandlerImpl handler = new CommonLogFormatHandlerImpl(
+        new CommonLogFormatScannerParserImpl());
+    IngestPipeline ingestPipeline = new IngestPipeline(handler,
+        entry -> parsedNanos.add(IngestTimestamps.getParsedNanos()), 4,
+        WaitStrategy.forName(WaitStrategy.BLOCKING));
+    ingestPipeline.start();
+
+    long readNanos = System.nanoTime();
+    IngestTimestamps.markRead(readNanos);
+    ingestPipeline.process(line(1));
+    awaitDrained(ingestPipeline);
+    ingestPipeline.halt();
+
+    assertEquals(1, parsedNanos.size());
+    assertTrue(parsedNanos.get(0) >= readNanos);
+  }
+
+  @Test
+  @Parameters(value = {
+      "drop, 12, 0",
+      "sample, 0, 12"
+  })
+  public void overloadPolicyTest(String overloadPolicy, long droppedLinesCount,
+                                 long sampledOutLinesCount) throws InterruptedException {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    List<CommonLogFormatEntry> aggregatedEntries = Collections.synchronizedList(
+        new ArrayList<>());
+    IngestPipeline ingestPipeline = new IngestPipeline(
+        new CommonLogFormatHandlerImpl(new CommonLogFormatScannerParserImpl(), metricsRegistry),
+        aggregatedEntries::add, 8, WaitStrategy.forName(WaitStrategy.BLOCKING),
+        OverloadPolicy.fromName(overloadPolicy), metricsRegistry);
+
+    for (int index = 0; index < 20; index++) {
+      ingestPipeline.process(line(index));
+    }
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+    assertEquals(8, snapshot.getGauges().get(PipelineMetrics.RING_DEPTH_LINES).longValue());
+    assertEquals(droppedLinesCount, snapshot.getCounter(PipelineMetrics.DROPPED_LINES));
+    assertEquals(sampledOutLinesCount, snapshot.getCounter(PipelineMetrics.SAMPLED_OUT_LINES));
+
+    ingestPipeline.start();
+    awaitDrained(ingestPipeline);
+    ingestPipeline.halt();
+    assertEquals(8, aggregatedEntries.size());
+    assertEquals(0, metricsRegistry.snapshot().getGauges()
+        .get(PipelineMetrics.RING_DEPTH_LINES).longValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownOverloadPolicyTest() {
+    OverloadPolicy.fromName("BLOCK");
+  }
+
+  @Test
+  public void ringDepthClampedTest() {
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(4, Object::new,
+        new BlockingWaitStrategy());
+    AtomicLong gatingSequence = new AtomicLong(-1L);
+    ringBuffer.addGatingSequences(gatingSequence);
+    for (int event = 0; event < 3; event++) {
+      ringBuffer.publish(ringBuffer.next());
+    }
+    assertEquals(3, ringBuffer.getDepth());
+    gatingSequence.set(2L);
+    assertEquals(0, ringBuffer.getDepth());
+    gatingSequence.set(-10L);
+    assertEquals(4, ringBuffer.getDepth());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Parameters(value = {"0", "3", "1000"})
+  public void badBufferSizeTest(int bufferSize) {
+    new RingBuffer<>(bufferSize, Object::new, new BlockingWaitStrategy());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownWaitStrategyTest() {
+    WaitStrategy.forName("lazy");
+  }
+
+  private static String line(int size) {
+    return "127.0.0.1 - james [09/May/2018:16:00:39 +0000] \"GET /report HTTP/1.0\" 200 " + size;
+  }
+
+  private static void awaitDrained(IngestPipeline ingestPipeline) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!ingestPipeline.isDrained() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    assertTrue(ingestPipeline.isDrained());
+  }
+
+}
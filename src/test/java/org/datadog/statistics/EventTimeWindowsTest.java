@@ -0,0 +1,133 @@
+package org.datadog.statistics;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.statitics.EventTimeWindows;
+import org.datadog.statitics.WindowStatistic;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventTimeWindowsTest {
+
+  private static final ZonedDateTime BASE_DATE_TIME
+      = ZonedDateTime.of(2018, 10, 10, 13, 55, 36, 0, ZoneOffset.UTC);
+
+  @Test
+  public void queryEmptyWindowsTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(10, 2);
+    assertEquals(WindowStatistic.builder().windowSeconds(10).build(),
+        eventTimeWindows.query(10));
+    assertEquals(Long.MIN_VALUE, eventTimeWindows.getWatermark());
+  }
+
+  @Test
+  public void queryWindowEndingAtWatermarkTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(60, 5);
+    eventTimeWindows.add(entry(0, 200, 10));
+    eventTimeWindows.add(entry(1, 404, 20));
+    eventTimeWindows.add(entry(1, 503, 30));
+    eventTimeWindows.add(entry(9, 200, 40));
+
+    assertEquals(BASE_DATE_TIME.toEpochSecond() + 9, eventTimeWindows.getWatermark());
+    assertEquals(WindowStatistic.builder()
+        .windowSeconds(1)
+        .hitsCount(1)
+        .trafficSize(40)
+        .successRequestsCount(1)
+        .build(), eventTimeWindows.query(1));
+    assertEquals(WindowStatistic.builder()
+        .windowSeconds(9)
+        .hitsCount(3)
+        .trafficSize(90)
+        .successRequestsCount(1)
+        .clientErrorRequestCount(1)
+        .serverErrorRequestCount(1)
+        .build(), eventTimeWindows.query(9));
+    WindowStatistic windowStatistic = eventTimeWindows.query(10);
+    assertEquals(4, windowStatistic.getHitsCount());
+    assertEquals(100, windowStatistic.getTrafficSize());
+    assertEquals(0.4, windowStatistic.getHitsPerSecond(), 0.0);
+  }
+
+  @Test
+  public void countLateEventsTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(60, 5);
+    assertTrue(eventTimeWindows.add(entry(10, 200, 1)));
+    assertTrue(eventTimeWindows.add(entry(5, 200, 1)));
+    assertFalse(eventTimeWindows.add(entry(4, 200, 1)));
+    assertTrue(eventTimeWindows.add(entry(12, 200, 1)));
+    assertFalse(eventTimeWindows.add(entry(6, 200, 1)));
+
+    assertEquals(2, eventTimeWindows.getLateEventsCount());
+    assertEquals(3, eventTimeWindows.query(60).getHitsCount());
+  }
+
+  @Test
+  public void countFutureEventsTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(60, 5,
+        Clock.fixed(BASE_DATE_TIME.plusSeconds(10).toInstant(), ZoneOffset.UTC));
+    assertTrue(eventTimeWindows.add(entry(10, 200, 1)));
+    assertTrue(eventTimeWindows.add(entry(10 + EventTimeWindows.MAX_AHEAD_SECONDS, 200, 1)));
+    assertFalse(eventTimeWindows.add(
+        entry(11 + EventTimeWindows.MAX_AHEAD_SECONDS, 200, 1)));
+    assertFalse(eventTimeWindows.add(entry(3600 * 24 * 365, 200, 1)));
+    assertTrue(eventTimeWindows.add(entry(10 + EventTimeWindows.MAX_AHEAD_SECONDS, 200, 1)));
+
+    assertEquals(BASE_DATE_TIME.toEpochSecond() + 10 + EventTimeWindows.MAX_AHEAD_SECONDS,
+        eventTimeWindows.getWatermark());
+    assertEquals(2, eventTimeWindows.getFutureEventsCount());
+    assertEquals(0, eventTimeWindows.getLateEventsCount());
+    assertEquals(2, eventTimeWindows.query(1).getHitsCount());
+  }
+
+  @Test
+  public void reuseBucketsOfPastSecondsTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(10, 0);
+    for (int second = 0; second < 25; second++) {
+      eventTimeWindows.add(entry(second, 200, second));
+    }
+
+    WindowStatistic windowStatistic = eventTimeWindows.query(10);
+    assertEquals(10, windowStatistic.getHitsCount());
+    assertEquals(15 + 16 + 17 + 18 + 19 + 20 + 21 + 22 + 23 + 24,
+        windowStatistic.getTrafficSize());
+    assertEquals(1, eventTimeWindows.query(1).getHitsCount());
+  }
+
+  @Test
+  public void skipSecondsWithoutEntryTest() {
+    EventTimeWindows eventTimeWindows = new EventTimeWindows(10, 0);
+    eventTimeWindows.add(entry(0, 200, 1));
+    eventTimeWindows.add(entry(10, 200, 1));
+
+    assertEquals(1, eventTimeWindows.query(10).getHitsCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void queryWindowLongerThanCapacityTest() {
+    new EventTimeWindows(10, 0).query(11);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void allowedLatenessNotShorterThanCapacityTest() {
+    new EventTimeWindows(10, 10);
+  }
+
+  private static CommonLogFormatEntry entry(int second, int status, long size) {
+    return CommonLogFormatEntry.builder()
+        .host("localhost")
+        .logDateTime(BASE_DATE_TIME.plusSeconds(second))
+        .method("GET")
+        .resource("/pages/create")
+        .status(status)
+        .size(size)
+        .build();
+  }
+
+}
@@ -0,0 +1,106 @@
+package org.datadog.statistics;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.datadog.statitics.HeavyHitters;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HeavyHittersTest {
+
+  @Test
+  public void exactCountsBelowCapacityTest() {
+    HeavyHitters heavyHitters = new HeavyHitters(4);
+    for (String key : Arrays.asList("api", "users", "api", "pages", "api", "users")) {
+      heavyHitters.add(key);
+    }
+
+    assertEquals(Arrays.asList(new AbstractMap.SimpleEntry<>("users", 2),
+        new AbstractMap.SimpleEntry<>("api", 3)), heavyHitters.top(2));
+    assertEquals(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 1),
+        new AbstractMap.SimpleEntry<>("users", 2),
+        new AbstractMap.SimpleEntry<>("api", 3)), heavyHitters.top(10));
+    assertEquals(0, heavyHitters.getMaximumError());
+    assertEquals(3, heavyHitters.getLowerBound("api"));
+    assertEquals(6, heavyHitters.getTotalCount());
+  }
+
+  @Test
+  public void evictLowestCountTest() {
+    HeavyHitters heavyHitters = new HeavyHitters(2);
+    for (String key : Arrays.asList("api", "api", "users", "pages")) {
+      heavyHitters.add(key);
+    }
+
+    assertEquals(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 2),
+        new AbstractMap.SimpleEntry<>("api", 2)), heavyHitters.top(2));
+    assertEquals(2, heavyHitters.getMaximumError());
+    assertEquals(1, heavyHitters.getLowerBound("pages"));
+    assertEquals(0, heavyHitters.getLowerBound("users"));
+  }
+
+  @Test
+  public void boundedErrorOnSkewedStreamTest() {
+    int capacity = 64;
+    HeavyHitters heavyHitters = new HeavyHitters(capacity);
+    Map<String, Integer> exactCounts = new HashMap<>();
+    Random random = new Random(42);
+    int totalCount = 200_000;
+    for (int i = 0; i < totalCount; i++) {
+      String key = nextSkewedKey(random);
+      heavyHitters.add(key);
+      exactCounts.merge(key, 1, Integer::sum);
+    }
+
+    assertTrue(heavyHitters.getMaximumError() <= totalCount / capacity);
+    assertErrorBounds(heavyHitters, exactCounts, 10);
+  }
+
+  @Test
+  public void mergeKeepsErrorBoundsTest() {
+    int capacity = 64;
+    HeavyHitters first = new HeavyHitters(capacity);
+    HeavyHitters second = new HeavyHitters(capacity);
+    Map<String, Integer> exactCounts = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 200_000; i++) {
+      String key = nextSkewedKey(random);
+      (i % 3 == 0 ? first : second).add(key);
+      exactCounts.merge(key, 1, Integer::sum);
+    }
+    HeavyHitters merged = first.merge(second);
+
+    assertEquals(200_000, merged.getTotalCount());
+    assertErrorBounds(merged, exactCounts, 10);
+  }
+
+  private static void assertErrorBounds(HeavyHitters heavyHitters,
+      Map<String, Integer> exactCounts, int limit) {
+    List<Map.Entry<String, Integer>> top = heavyHitters.top(limit);
+    assertEquals(limit, top.size());
+    for (Map.Entry<String, Integer> entry : top) {
+      int exactCount = exactCounts.get(entry.getKey());
+      assertTrue(entry.getValue() >= exactCount);
+      assertTrue(entry.getValue() - exactCount <= heavyHitters.getMaximumError());
+      assertTrue(heavyHitters.getLowerBound(entry.getKey()) <= exactCount);
+    }
+    assertEquals("section0", top.get(limit - 1).getKey());
+  }
+
+  /**
+   * Draws a few frequent keys among many rare ones, as a crawler walking many sections would.
+   */
+  private static String nextSkewedKey(Random random) {
+    return random.nextInt(2) == 0
+        ? "section" + (int) Math.abs(random.nextGaussian() * 8)
+        : "crawled" + random.nextInt(50_000);
+  }
+
+}
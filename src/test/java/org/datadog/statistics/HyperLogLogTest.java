@@ -0,0 +1,73 @@
+package org.datadog.statistics;
+
+import org.datadog.statitics.HyperLogLog;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void estimateEmptySketchTest() {
+    assertEquals(0, new HyperLogLog().estimate());
+  }
+
+  @Test
+  public void ignoreRepeatedValuesTest() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    for (int i = 0; i < 10_000; i++) {
+      hyperLogLog.add("192.168.0." + i % 3);
+    }
+    assertEquals(3, hyperLogLog.estimate());
+  }
+
+  @Test
+  public void estimateSmallCardinalityTest() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    addHosts(hyperLogLog, 0, 1_000);
+    assertEquals(1_000, hyperLogLog.estimate(), 1_000 * 0.02);
+  }
+
+  @Test
+  public void estimateLargeCardinalityTest() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    addHosts(hyperLogLog, 0, 1_000_000);
+    assertEquals(1_000_000, hyperLogLog.estimate(), 1_000_000 * 0.05);
+  }
+
+  @Test
+  public void mergeOverlappingSketchesTest() {
+    HyperLogLog first = new HyperLogLog();
+    HyperLogLog second = new HyperLogLog();
+    HyperLogLog union = new HyperLogLog();
+    addHosts(first, 0, 60_000);
+    addHosts(second, 40_000, 100_000);
+    addHosts(union, 0, 100_000);
+
+    assertEquals(union, first.merge(second));
+    assertEquals(100_000, first.estimate(), 100_000 * 0.05);
+  }
+
+  @Test
+  public void differentValuesDifferentSketchesTest() {
+    HyperLogLog first = new HyperLogLog();
+    HyperLogLog second = new HyperLogLog();
+    first.add("10.0.0.1");
+    second.add("10.0.0.2");
+    assertNotEquals(first, second);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void mergeDifferentPrecisionsTest() {
+    new HyperLogLog(10).merge(new HyperLogLog(12));
+  }
+
+  private static void addHosts(HyperLogLog hyperLogLog, int from, int to) {
+    for (int i = from; i < to; i++) {
+      hyperLogLog.add((i >>> 24) + "." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "."
+          + (i & 0xff));
+    }
+  }
+
+}
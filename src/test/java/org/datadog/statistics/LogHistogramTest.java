@@ -0,0 +1,98 @@
+package org.datadog.statistics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.datadog.statitics.LogHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogHistogramTest {
+
+  @Test
+  public void emptyHistogramTest() {
+    LogHistogram logHistogram = new LogHistogram();
+    assertEquals(0, logHistogram.valueAtQuantile(0.5));
+    assertEquals(0, logHistogram.getMax());
+    assertEquals(0, logHistogram.getTotalCount());
+  }
+
+  @Test
+  public void exactSmallValuesTest() {
+    LogHistogram logHistogram = new LogHistogram();
+    for (long value = 0; value < 10; value++) {
+      logHistogram.record(value);
+    }
+    assertEquals(0, logHistogram.valueAtQuantile(0));
+    assertEquals(4, logHistogram.valueAtQuantile(0.5));
+    assertEquals(8, logHistogram.valueAtQuantile(0.9));
+    assertEquals(9, logHistogram.valueAtQuantile(1));
+    assertEquals(10, logHistogram.getTotalCount());
+  }
+
+  @Test
+  public void boundedRelativeErrorTest() {
+    LogHistogram logHistogram = new LogHistogram();
+    Random random = new Random(42);
+    long[] values = new long[100_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (long) Math.exp(random.nextDouble() * 20);
+      logHistogram.record(values[i]);
+    }
+    Arrays.sort(values);
+
+    for (double quantile : new double[] {0.5, 0.9, 0.99, 0.999}) {
+      long exactValue = values[(int) Math.ceil(quantile * values.length) - 1];
+      long estimatedValue = logHistogram.valueAtQuantile(quantile);
+      assertTrue(estimatedValue >= exactValue);
+      assertTrue(estimatedValue - exactValue <= exactValue / 16);
+    }
+    assertEquals(values[values.length - 1], logHistogram.getMax());
+    assertEquals(values[values.length - 1], logHistogram.valueAtQuantile(1));
+  }
+
+  @Test
+  public void hugeValuesShareLastBucketTest() {
+    LogHistogram logHistogram = new LogHistogram();
+    logHistogram.record(1L << 50);
+    logHistogram.record(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, logHistogram.valueAtQuantile(0.5));
+    assertEquals(Long.MAX_VALUE, logHistogram.getMax());
+  }
+
+  @Test
+  public void mergeHistogramsTest() {
+    LogHistogram first = new LogHistogram();
+    LogHistogram second = new LogHistogram();
+    LogHistogram all = new LogHistogram();
+    for (long value = 0; value < 10_000; value += 7) {
+      (value % 2 == 0 ? first : second).record(value);
+      all.record(value);
+    }
+
+    assertEquals(all, first.merge(second));
+    assertEquals(all.valueAtQuantile(0.99), first.valueAtQuantile(0.99));
+  }
+
+  @Test
+  public void recordWithCountTest() {
+    LogHistogram repeated = new LogHistogram();
+    LogHistogram counted = new LogHistogram();
+    for (int index = 0; index < 3; index++) {
+      repeated.record(1234);
+    }
+    counted.record(1234, 3);
+    counted.record(99_999, 0);
+
+    assertEquals(repeated, counted);
+    assertEquals(1234, counted.getMax());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeValueTest() {
+    new LogHistogram().record(-1);
+  }
+
+}
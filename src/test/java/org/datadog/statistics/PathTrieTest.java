@@ -0,0 +1,111 @@
+package org.datadog.statistics;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.datadog.statitics.PathTrie;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PathTrieTest {
+
+  @Test
+  public void countPrefixesAtAnyDepthTest() {
+    PathTrie pathTrie = new PathTrie();
+    pathTrie.add("/api/v2/orders");
+    pathTrie.add("/api/v2/orders?page=2");
+    pathTrie.add("/api/v2/users#top");
+    pathTrie.add("/api/v1//orders/");
+    pathTrie.add("/api");
+    pathTrie.add("/pages/create");
+
+    assertEquals(6, pathTrie.getHits("/"));
+    assertEquals(5, pathTrie.getHits("/api"));
+    assertEquals(3, pathTrie.getHits("/api/v2"));
+    assertEquals(2, pathTrie.getHits("/api/v2/orders"));
+    assertEquals(1, pathTrie.getHits("/api/v1/orders"));
+    assertEquals(0, pathTrie.getHits("/api/v3"));
+    assertEquals(9, pathTrie.getNodesCount());
+
+    assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("/pages", 1L),
+        new AbstractMap.SimpleImmutableEntry<>("/api", 5L)), pathTrie.top("/", 5));
+    assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("/api/v1", 1L),
+        new AbstractMap.SimpleImmutableEntry<>("/api/v2", 3L)), pathTrie.top("/api", 5));
+    assertEquals(Collections.singletonList(
+        new AbstractMap.SimpleImmutableEntry<>("/api/v2/orders", 2L)),
+        pathTrie.top("/api/v2", 1));
+    assertTrue(pathTrie.top("/static", 5).isEmpty());
+  }
+
+  @Test
+  public void pruneLeastHitNodesIntoOtherTest() {
+    PathTrie pathTrie = new PathTrie(4);
+    for (String path : new String[] {"/a", "/a", "/a", "/b", "/b", "/c", "/d"}) {
+      pathTrie.add(path);
+    }
+
+    assertEquals(4, pathTrie.getNodesCount());
+    assertEquals(0, pathTrie.getHits("/c"));
+    assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("/d", 1L),
+        new AbstractMap.SimpleImmutableEntry<>("/(other)", 1L),
+        new AbstractMap.SimpleImmutableEntry<>("/b", 2L),
+        new AbstractMap.SimpleImmutableEntry<>("/a", 3L)), pathTrie.top("/", 5));
+
+    pathTrie.add("/a/x/y");
+
+    assertEquals(4, pathTrie.getNodesCount());
+    assertEquals(8, pathTrie.getHits("/"));
+    assertEquals(4, pathTrie.getHits("/a"));
+    assertEquals(1, pathTrie.getHits("/a/x"));
+    assertEquals(0, pathTrie.getHits("/a/x/y"));
+    assertEquals(Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>("/a/x", 1L)),
+        pathTrie.top("/a", 5));
+    assertEquals(Collections.singletonList(
+        new AbstractMap.SimpleImmutableEntry<>("/a/x/(other)", 1L)), pathTrie.top("/a/x", 5));
+    assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("/b", 2L),
+        new AbstractMap.SimpleImmutableEntry<>("/(other)", 2L),
+        new AbstractMap.SimpleImmutableEntry<>("/a", 4L)), pathTrie.top("/", 5));
+  }
+
+  @Test
+  public void boundNodesCountTest() {
+    PathTrie pathTrie = new PathTrie(64);
+    for (int i = 0; i < 10_000; i++) {
+      pathTrie.add("/api/v2/orders");
+      pathTrie.add("/users/" + i + "/orders/" + i);
+      assertTrue(pathTrie.getNodesCount() <= 64);
+    }
+    assertEquals(20_000, pathTrie.getHits("/"));
+    assertEquals(10_000, pathTrie.getHits("/api/v2/orders"));
+    assertEquals(10_000, pathTrie.getHits("/users"));
+  }
+
+  @Test
+  public void mergeTest() {
+    PathTrie first = new PathTrie();
+    first.add("/api/v2/orders");
+    first.add("/api/v1");
+    PathTrie second = new PathTrie();
+    second.add("/api/v2/users");
+    second.add("/api/v2/orders");
+    second.add("/pages");
+    PathTrie all = new PathTrie();
+    for (String path : new String[] {"/api/v2/orders", "/api/v1", "/api/v2/users",
+        "/api/v2/orders", "/pages"}) {
+      all.add(path);
+    }
+
+    assertEquals(all, first.merge(second));
+    assertEquals(all.hashCode(), first.hashCode());
+    assertEquals(2, first.getHits("/api/v2/orders"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badMaxNodesTest() {
+    new PathTrie(1);
+  }
+
+}
@@ -0,0 +1,63 @@
+package org.datadog.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.datadog.statitics.StatusHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatusHistogramTest {
+
+  @Test
+  public void countStatusCodesAndClassesTest() {
+    StatusHistogram statusHistogram = new StatusHistogram();
+    for (int status : new int[] {100, 200, 204, 301, 304, 404, 429, 429, 502, 503, 503, 999}) {
+      statusHistogram.record(status);
+    }
+
+    assertEquals(2, statusHistogram.getCount(429));
+    assertEquals(1, statusHistogram.getCount(502));
+    assertEquals(0, statusHistogram.getCount(500));
+    assertEquals(1, statusHistogram.getCount(999));
+    assertEquals(1, statusHistogram.getInvalidCount());
+    assertEquals(1, statusHistogram.getClassCount(1));
+    assertEquals(2, statusHistogram.getClassCount(2));
+    assertEquals(2, statusHistogram.getClassCount(3));
+    assertEquals(3, statusHistogram.getClassCount(4));
+    assertEquals(3, statusHistogram.getClassCount(5));
+
+    Map<Integer, Integer> expectedCounts = new LinkedHashMap<>();
+    expectedCounts.put(100, 1);
+    expectedCounts.put(200, 1);
+    expectedCounts.put(204, 1);
+    expectedCounts.put(301, 1);
+    expectedCounts.put(304, 1);
+    expectedCounts.put(404, 1);
+    expectedCounts.put(429, 2);
+    expectedCounts.put(502, 1);
+    expectedCounts.put(503, 2);
+    assertEquals(expectedCounts, statusHistogram.getCounts());
+  }
+
+  @Test
+  public void mergeTest() {
+    StatusHistogram first = new StatusHistogram();
+    first.record(200);
+    first.record(404);
+    StatusHistogram second = new StatusHistogram();
+    second.record(404);
+    second.record(700);
+    StatusHistogram all = new StatusHistogram();
+    all.record(200);
+    all.record(404);
+    all.record(404);
+    all.record(700);
+
+    assertEquals(all, first.merge(second));
+    assertEquals(2, first.getCount(404));
+    assertEquals(1, first.getInvalidCount());
+  }
+
+}
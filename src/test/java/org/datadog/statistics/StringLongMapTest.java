@@ -0,0 +1,77 @@
+package org.datadog.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.datadog.statitics.StringLongMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StringLongMapTest {
+
+  @Test
+  public void countKeysTest() {
+    StringLongMap stringLongMap = new StringLongMap();
+    assertEquals(1, stringLongMap.addTo("api", 1));
+    assertEquals(2, stringLongMap.addTo("api", 1));
+    assertEquals(5, stringLongMap.addTo("report", 5));
+    stringLongMap.put("users", 7);
+
+    assertEquals(3, stringLongMap.size());
+    assertEquals(2, stringLongMap.get("api", -1));
+    assertEquals(5, stringLongMap.get(new String("report"), -1));
+    assertEquals(7, stringLongMap.get("users", -1));
+    assertEquals(-1, stringLongMap.get("static", -1));
+    assertTrue(stringLongMap.containsKey("users"));
+    assertFalse(stringLongMap.containsKey("static"));
+
+    Map<String, Long> entries = new HashMap<>();
+    stringLongMap.forEach(entries::put);
+    Map<String, Long> expectedEntries = new HashMap<>();
+    expectedEntries.put("api", 2L);
+    expectedEntries.put("report", 5L);
+    expectedEntries.put("users", 7L);
+    assertEquals(expectedEntries, entries);
+
+    stringLongMap.clear();
+    assertEquals(0, stringLongMap.size());
+    assertFalse(stringLongMap.containsKey("api"));
+  }
+
+  @Test
+  public void matchHashMapOnRandomOperationsTest() {
+    Random random = new Random(42);
+    StringLongMap stringLongMap = new StringLongMap(0);
+    Map<String, Long> expected = new HashMap<>();
+    for (int operation = 0; operation < 100_000; operation++) {
+      String key = "section" + random.nextInt(500);
+      switch (random.nextInt(4)) {
+        case 0:
+          assertEquals(expected.remove(key) != null, stringLongMap.remove(key));
+          break;
+        case 1:
+          long value = random.nextInt(1000);
+          expected.put(key, value);
+          stringLongMap.put(key, value);
+          break;
+        default:
+          assertEquals((long) expected.merge(key, 1L, Long::sum), stringLongMap.addTo(key, 1));
+      }
+      assertEquals(expected.size(), stringLongMap.size());
+    }
+    for (int index = 0; index < 500; index++) {
+      String key = "section" + index;
+      assertEquals((long) expected.getOrDefault(key, -1L), stringLongMap.get(key, -1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badExpectedSizeTest() {
+    new StringLongMap(-1);
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.datadog.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.datadog.log.HttpMethod;
+import org.datadog.statitics.TrafficCube;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.datadog.statitics.TrafficCube.ANY_STATUS_CLASS;
+import static org.datadog.statitics.TrafficCube.EXTENSION_METHODS;
+import static org.datadog.statitics.TrafficCube.OTHER_SECTION;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TrafficCubeTest {
+
+  private TrafficCube trafficCube;
+
+  @Before
+  public void init() {
+    this.trafficCube = new TrafficCube();
+    this.trafficCube.add("api", 503, HttpMethod.POST, 10);
+    this.trafficCube.add("api", 502, HttpMethod.POST, 20);
+    this.trafficCube.add("api", 200, HttpMethod.POST, 30);
+    this.trafficCube.add("api", 500, HttpMethod.GET, 40);
+    this.trafficCube.add("pages", 503, HttpMethod.POST, 50);
+    this.trafficCube.add("pages", 404, HttpMethod.GET, 60);
+    this.trafficCube.add("pages", 301, null, 70);
+    this.trafficCube.add(null, 999, HttpMethod.GET, 80);
+  }
+
+  @Test
+  public void queryCellTest() {
+    assertEquals(2, this.trafficCube.getHits("api", 5, "POST"));
+    assertEquals(30, this.trafficCube.getTrafficSize("api", 5, "POST"));
+    assertEquals(0, this.trafficCube.getHits("api", 4, "POST"));
+    assertEquals(0, this.trafficCube.getHits("users", 5, "POST"));
+    assertEquals(1, this.trafficCube.getHits("pages", 3, EXTENSION_METHODS));
+    assertEquals(1, this.trafficCube.getHits(OTHER_SECTION, 0, "GET"));
+  }
+
+  @Test
+  public void rollUpTest() {
+    assertEquals(8, this.trafficCube.getHits(null, ANY_STATUS_CLASS, null));
+    assertEquals(360, this.trafficCube.getTrafficSize(null, ANY_STATUS_CLASS, null));
+    assertEquals(3, this.trafficCube.getHits(null, 5, "POST"));
+    assertEquals(4, this.trafficCube.getHits("api", ANY_STATUS_CLASS, null));
+    assertEquals(3, this.trafficCube.getHits(null, ANY_STATUS_CLASS, "GET"));
+  }
+
+  @Test
+  public void rollUpBySectionTest() {
+    Map<String, Long> expectedHits = new LinkedHashMap<>();
+    expectedHits.put("api", 2L);
+    expectedHits.put("pages", 1L);
+    assertEquals(expectedHits, this.trafficCube.getHitsBySection(5, "POST"));
+  }
+
+  @Test
+  public void rollUpByStatusClassTest() {
+    assertArrayEquals(new long[] {1, 0, 1, 1, 1, 4},
+        this.trafficCube.getHitsByStatusClass(null, null));
+    assertArrayEquals(new long[] {0, 0, 1, 0, 0, 2},
+        this.trafficCube.getHitsByStatusClass("api", "POST"));
+  }
+
+  @Test
+  public void rollUpByMethodTest() {
+    Map<String, Long> expectedHits = new LinkedHashMap<>();
+    expectedHits.put("GET", 1L);
+    expectedHits.put("POST", 1L);
+    expectedHits.put(EXTENSION_METHODS, 1L);
+    assertEquals(expectedHits, this.trafficCube.getHitsByMethod("pages", ANY_STATUS_CLASS));
+  }
+
+  @Test
+  public void foldSectionsBeyondMaximumIntoOtherTest() {
+    TrafficCube smallCube = new TrafficCube(3);
+    smallCube.add("api", 200, HttpMethod.GET, 1);
+    smallCube.add("pages", 200, HttpMethod.GET, 1);
+    smallCube.add("users", 200, HttpMethod.GET, 1);
+    smallCube.add("api", 200, HttpMethod.GET, 1);
+
+    assertEquals(2, smallCube.getHits("api", ANY_STATUS_CLASS, null));
+    assertEquals(0, smallCube.getHits("users", ANY_STATUS_CLASS, null));
+    assertEquals(1, smallCube.getHits(OTHER_SECTION, ANY_STATUS_CLASS, null));
+  }
+
+  @Test
+  public void mergeTest() {
+    TrafficCube first = new TrafficCube();
+    first.add("api", 200, HttpMethod.GET, 1);
+    TrafficCube second = new TrafficCube();
+    second.add("pages", 404, HttpMethod.GET, 2);
+    second.add("api", 200, HttpMethod.GET, 3);
+    TrafficCube all = new TrafficCube();
+    all.add("pages", 404, HttpMethod.GET, 2);
+    all.add("api", 200, HttpMethod.GET, 1);
+    all.add("api", 200, HttpMethod.GET, 3);
+
+    assertNotEquals(all, first);
+    assertEquals(all, first.merge(second));
+    assertEquals(all.hashCode(), first.hashCode());
+    assertEquals(2, first.getHits("api", 2, "GET"));
+  }
+
+}
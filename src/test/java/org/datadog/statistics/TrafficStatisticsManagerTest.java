@@ -2,18 +2,28 @@ package org.datadog.statistics;
 
 import com.google.common.eventbus.EventBus;
 import org.datadog.log.CommonLogFormatEntry;
+import org.datadog.log.HttpMethod;
+import org.datadog.statitics.HyperLogLog;
+import org.datadog.statitics.LogHistogram;
+import org.datadog.statitics.PathTrie;
+import org.datadog.statitics.StatusHistogram;
+import org.datadog.statitics.TrafficCube;
 import org.datadog.statitics.TrafficStatisticsManager;
 import org.datadog.statitics.TrafficStatistic;
+import org.datadog.statitics.WindowStatistic;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.eq;
@@ -24,6 +34,9 @@ public class TrafficStatisticsManagerTest {
   @Mock
   private EventBus eventBus;
 
+  private static final ZonedDateTime BASE_DATE_TIME
+      = ZonedDateTime.of(2018, 10, 10, 13, 55, 36, 0, ZoneOffset.UTC);
+
   private int refreshInterval = 150;
 
   @Test
@@ -34,7 +47,7 @@ public class TrafficStatisticsManagerTest {
         .host("localhost")
         .userRfcId("userRfcId")
         .userId("John Galt")
-        .logDateTime(ZonedDateTime.now().minusSeconds(20))
+        .logDateTime(BASE_DATE_TIME.minusSeconds(20))
         .method("GET")
         .resource("/pages/create")
         .protocol("HTTP")
@@ -42,7 +55,7 @@ public class TrafficStatisticsManagerTest {
         .size(123)
         .build();
     trafficStatisticsManager.consumeClfEvent(commonLogFormatEntry);
-    trafficStatisticsManager.refreshStatistics(Instant.now().plusSeconds(1));
+    trafficStatisticsManager.refreshStatistics();
 
     TrafficStatistic trafficStatistic = TrafficStatistic.builder()
         .totalTrafficSize(123)
@@ -51,9 +64,18 @@ public class TrafficStatisticsManagerTest {
         .clientErrorRequestCount(0)
         .serverErrorRequestCount(0)
         .sectionsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 1)))
+        .hostsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("localhost", 1)))
+        .distinctClients(distinctClients("localhost"))
+        .statusHistogram(statuses(200))
+        .trafficCube(successGetCube("pages", 123))
+        .pathTrie(paths("/pages/create"))
+        .sizeHistogram(sizes(123))
+        .sectionsSizeHistograms(Collections.singletonMap("pages", sizes(123)))
+        .resourcesHits(Arrays.asList(new AbstractMap.SimpleEntry<>("/pages/create", 1)))
         .methodsHits(new HashMap<String, Integer>() {{
           put("GET", 1);
         }})
+        .eventTimeWindows(windows(1, 123, 1, 123, 1, 123))
         .build();
 
     verify(eventBus).post(eq(trafficStatistic));
@@ -62,7 +84,7 @@ public class TrafficStatisticsManagerTest {
         .host("localhost")
         .userRfcId("userRfcId")
         .userId("John Galt")
-        .logDateTime(ZonedDateTime.now().minusSeconds(20))
+        .logDateTime(BASE_DATE_TIME.minusSeconds(20))
         .method("GET")
         .resource("/pages/create")
         .protocol("HTTP")
@@ -75,7 +97,7 @@ public class TrafficStatisticsManagerTest {
         .host("localhost")
         .userRfcId("userRfcId")
         .userId("John Galt")
-        .logDateTime(ZonedDateTime.now().minusSeconds(10))
+        .logDateTime(BASE_DATE_TIME.minusSeconds(10))
         .method("GET")
         .resource("/pages/create")
         .protocol("HTTP")
@@ -84,7 +106,7 @@ public class TrafficStatisticsManagerTest {
         .build();
     trafficStatisticsManager.consumeClfEvent(commonLogFormatEntry);
 
-    trafficStatisticsManager.refreshStatistics(Instant.now().plusSeconds(1));
+    trafficStatisticsManager.refreshStatistics();
 
     trafficStatistic = TrafficStatistic.builder()
         .totalTrafficSize(300)
@@ -93,9 +115,18 @@ public class TrafficStatisticsManagerTest {
         .clientErrorRequestCount(0)
         .serverErrorRequestCount(0)
         .sectionsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 2)))
+        .hostsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("localhost", 2)))
+        .distinctClients(distinctClients("localhost"))
+        .statusHistogram(statuses(200, 200))
+        .trafficCube(successGetCube("pages", 100, 200))
+        .pathTrie(paths("/pages/create", "/pages/create"))
+        .sizeHistogram(sizes(100, 200))
+        .sectionsSizeHistograms(Collections.singletonMap("pages", sizes(100, 200)))
+        .resourcesHits(Arrays.asList(new AbstractMap.SimpleEntry<>("/pages/create", 2)))
         .methodsHits(new HashMap<String, Integer>() {{
           put("GET", 2);
         }})
+        .eventTimeWindows(windows(1, 200, 3, 423, 3, 423))
         .build();
 
     verify(eventBus).post(eq(trafficStatistic));
@@ -104,7 +135,7 @@ public class TrafficStatisticsManagerTest {
         .host("localhost")
         .userRfcId("userRfcId")
         .userId("John Galt")
-        .logDateTime(ZonedDateTime.now().minusSeconds(20))
+        .logDateTime(BASE_DATE_TIME.minusSeconds(20))
         .method("GET")
         .resource("/pages")
         .protocol("HTTP")
@@ -117,7 +148,7 @@ public class TrafficStatisticsManagerTest {
         .host("localhost")
         .userRfcId("userRfcId")
         .userId("John Galt")
-        .logDateTime(ZonedDateTime.now().minusSeconds(10))
+        .logDateTime(BASE_DATE_TIME.minusSeconds(10))
         .method("GET")
         .resource("/pages/create")
         .protocol("HTTP")
@@ -126,7 +157,7 @@ public class TrafficStatisticsManagerTest {
         .build();
     trafficStatisticsManager.consumeClfEvent(commonLogFormatEntry);
 
-    trafficStatisticsManager.refreshStatistics(Instant.now().plusSeconds(1));
+    trafficStatisticsManager.refreshStatistics();
 
     trafficStatistic = TrafficStatistic.builder()
         .totalTrafficSize(300)
@@ -135,13 +166,204 @@ public class TrafficStatisticsManagerTest {
         .clientErrorRequestCount(0)
         .serverErrorRequestCount(0)
         .sectionsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 1)))
+        .hostsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("localhost", 2)))
+        .distinctClients(distinctClients("localhost"))
+        .statusHistogram(statuses(200, 200))
+        .trafficCube(successGetCube(null, 100).merge(successGetCube("pages", 200)))
+        .pathTrie(paths("/pages", "/pages/create"))
+        .sizeHistogram(sizes(100, 200))
+        .sectionsSizeHistograms(Collections.singletonMap("pages", sizes(200)))
+        .resourcesHits(Arrays.asList(new AbstractMap.SimpleEntry<>("/pages/create", 1),
+            new AbstractMap.SimpleEntry<>("/pages", 1)))
         .methodsHits(new HashMap<String, Integer>() {{
           put("GET", 2);
         }})
+        .eventTimeWindows(windows(2, 400, 5, 723, 5, 723))
         .build();
 
     verify(eventBus).post(eq(trafficStatistic));
   }
 
+  @Test
+  public void refreshStatisticsStartsFreshAggregateTest() {
+    TrafficStatisticsManager trafficStatisticsManager = new TrafficStatisticsManager(this.eventBus,
+        this.refreshInterval);
+    TrafficCube expectedCube = new TrafficCube();
+    StatusHistogram expectedStatusHistogram = new StatusHistogram();
+    PathTrie expectedPathTrie = new PathTrie();
+    for (int i = 0; i < 10_000; i++) {
+      CommonLogFormatEntry commonLogFormatEntry = CommonLogFormatEntry.builder()
+          .host("localhost")
+          .logDateTime(BASE_DATE_TIME)
+          .method(i % 2 == 0 ? "GET" : "POST")
+          .resource(i % 10 < 5 ? "/users/" + i : i % 10 < 8 ? "/pages/" + i + "?tab=1" : "/api/3")
+          .status(i % 2 == 0 ? 200 : 404)
+          .size(1)
+          .build();
+      trafficStatisticsManager.consumeClfEvent(commonLogFormatEntry);
+      expectedCube.add(commonLogFormatEntry);
+      expectedStatusHistogram.record(commonLogFormatEntry.getStatus());
+      expectedPathTrie.add(i % 10 < 5 ? "/users/{id}" : i % 10 < 8 ? "/pages/{id}" : "/api/{id}");
+    }
+    trafficStatisticsManager.refreshStatistics();
+
+    List<WindowStatistic> eventTimeWindows = Arrays.asList(10, 120, 3600).stream()
+        .map(windowSeconds -> WindowStatistic.builder()
+            .windowSeconds(windowSeconds)
+            .hitsCount(10_000)
+            .trafficSize(10_000)
+            .successRequestsCount(5_000)
+            .clientErrorRequestCount(5_000)
+            .build())
+        .collect(Collectors.toList());
+    verify(eventBus).post(eq(TrafficStatistic.builder()
+        .totalTrafficSize(10_000)
+        .totalHitsCount(10_000)
+        .successRequestsCount(5_000)
+        .clientErrorRequestCount(5_000)
+        .serverErrorRequestCount(0)
+        .sectionsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("api", 2_000),
+            new AbstractMap.SimpleEntry<>("pages", 3_000),
+            new AbstractMap.SimpleEntry<>("users", 5_000)))
+        .hostsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("localhost", 10_000)))
+        .distinctClients(distinctClients("localhost"))
+        .statusHistogram(expectedStatusHistogram)
+        .trafficCube(expectedCube)
+        .pathTrie(expectedPathTrie)
+        .sizeHistogram(repeatedSizes(10_000, 1))
+        .sectionsSizeHistograms(new HashMap<String, LogHistogram>() {{
+          put("api", repeatedSizes(2_000, 1));
+          put("pages", repeatedSizes(3_000, 1));
+          put("users", repeatedSizes(5_000, 1));
+        }})
+        .resourcesHits(Arrays.asList(new AbstractMap.SimpleEntry<>("/api/{id}", 2_000),
+            new AbstractMap.SimpleEntry<>("/pages/{id}", 3_000),
+            new AbstractMap.SimpleEntry<>("/users/{id}", 5_000)))
+        .methodsHits(new HashMap<String, Integer>() {{
+          put("GET", 5_000);
+          put("POST", 5_000);
+        }})
+        .eventTimeWindows(eventTimeWindows)
+        .build()));
+
+    trafficStatisticsManager.refreshStatistics();
+
+    verify(eventBus).post(eq(TrafficStatistic.builder()
+        .sectionsHits(Collections.emptyList())
+        .hostsHits(Collections.emptyList())
+        .resourcesHits(Collections.emptyList())
+        .methodsHits(new HashMap<>())
+        .eventTimeWindows(eventTimeWindows)
+        .build()));
+  }
+
+  @Test
+  public void refreshStatisticsCountsLateEventsTest() {
+    TrafficStatisticsManager trafficStatisticsManager = new TrafficStatisticsManager(this.eventBus,
+        this.refreshInterval, 30);
+    trafficStatisticsManager.consumeClfEvent(successEntry(BASE_DATE_TIME));
+    trafficStatisticsManager.consumeClfEvent(successEntry(BASE_DATE_TIME.minusSeconds(30)));
+    trafficStatisticsManager.consumeClfEvent(successEntry(BASE_DATE_TIME.minusSeconds(31)));
+    trafficStatisticsManager.refreshStatistics();
+
+    verify(eventBus).post(eq(TrafficStatistic.builder()
+        .totalTrafficSize(3)
+        .totalHitsCount(3)
+        .successRequestsCount(3)
+        .sectionsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("pages", 3)))
+        .hostsHits(Arrays.asList(new AbstractMap.SimpleEntry<>("localhost", 3)))
+        .distinctClients(distinctClients("localhost"))
+        .statusHistogram(statuses(200, 200, 200))
+        .trafficCube(successGetCube("pages", 1, 1, 1))
+        .pathTrie(paths("/pages/create", "/pages/create", "/pages/create"))
+        .sizeHistogram(sizes(1, 1, 1))
+        .sectionsSizeHistograms(Collections.singletonMap("pages", sizes(1, 1, 1)))
+        .resourcesHits(Arrays.asList(new AbstractMap.SimpleEntry<>("/pages/create", 3)))
+        .methodsHits(new HashMap<String, Integer>() {{
+          put("GET", 3);
+        }})
+        .lateEventsCount(1)
+        .eventTimeWindows(windows(1, 1, 2, 2, 2, 2))
+        .build()));
+
+    trafficStatisticsManager.refreshStatistics();
+
+    verify(eventBus).post(eq(TrafficStatistic.builder()
+        .sectionsHits(Collections.emptyList())
+        .hostsHits(Collections.emptyList())
+        .resourcesHits(Collections.emptyList())
+        .methodsHits(new HashMap<>())
+        .eventTimeWindows(windows(1, 1, 2, 2, 2, 2))
+        .build()));
+  }
+
+  private static HyperLogLog distinctClients(String... hosts) {
+    HyperLogLog distinctClients = new HyperLogLog();
+    Arrays.stream(hosts).forEach(distinctClients::add);
+    return distinctClients;
+  }
+
+  private static LogHistogram sizes(long... sizes) {
+    LogHistogram sizeHistogram = new LogHistogram();
+    Arrays.stream(sizes).forEach(sizeHistogram::record);
+    return sizeHistogram;
+  }
+
+  private static LogHistogram repeatedSizes(int count, long size) {
+    LogHistogram sizeHistogram = new LogHistogram();
+    for (int i = 0; i < count; i++) {
+      sizeHistogram.record(size);
+    }
+    return sizeHistogram;
+  }
+
+  private static StatusHistogram statuses(int... statuses) {
+    StatusHistogram statusHistogram = new StatusHistogram();
+    Arrays.stream(statuses).forEach(statusHistogram::record);
+    return statusHistogram;
+  }
+
+  private static PathTrie paths(String... paths) {
+    PathTrie pathTrie = new PathTrie();
+    Arrays.stream(paths).forEach(pathTrie::add);
+    return pathTrie;
+  }
+
+  private static TrafficCube successGetCube(String section, long... sizes) {
+    TrafficCube trafficCube = new TrafficCube();
+    Arrays.stream(sizes).forEach(size -> trafficCube.add(section, 200, HttpMethod.GET, size));
+    return trafficCube;
+  }
+
+  private static CommonLogFormatEntry successEntry(ZonedDateTime logDateTime) {
+    return CommonLogFormatEntry.builder()
+        .host("localhost")
+        .logDateTime(logDateTime)
+        .method("GET")
+        .resource("/pages/create")
+        .status(200)
+        .size(1)
+        .build();
+  }
+
+  /**
+   * Creates the expected 10 seconds, 2 minutes and 1 hour windows of success requests.
+   */
+  private static List<WindowStatistic> windows(long tenSecondsHits, long tenSecondsSize,
+      long twoMinutesHits, long twoMinutesSize, long oneHourHits, long oneHourSize) {
+    return Arrays.asList(
+        window(10, tenSecondsHits, tenSecondsSize),
+        window(120, twoMinutesHits, twoMinutesSize),
+        window(3600, oneHourHits, oneHourSize));
+  }
+
+  private static WindowStatistic window(int windowSeconds, long hits, long size) {
+    return WindowStatistic.builder()
+        .windowSeconds(windowSeconds)
+        .hitsCount(hits)
+        .trafficSize(size)
+        .successRequestsCount(hits)
+        .build();
+  }
 
 }
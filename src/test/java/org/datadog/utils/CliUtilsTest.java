@@ -1,10 +1,19 @@
 package org.datadog.utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.datadog.cli.ApplicationOptions;
+import org.datadog.normalizer.NormalizationRule;
+import org.datadog.normalizer.ResourceNormalizer;
+import org.datadog.pipeline.IngestPipeline;
+import org.datadog.pipeline.OverloadPolicy;
+import org.datadog.pipeline.WaitStrategy;
 import org.junit.Test;
 
 import static org.datadog.utils.CliUtils.*;
@@ -56,6 +65,57 @@ public class CliUtilsTest {
     assertEquals(option.getOpt(), THRESHOLD_CYCLES_SHORT_OPTION);
     assertEquals(option.getLongOpt(), THRESHOLD_CYCLES_LONG_OPTION);
 
+    option = options.getOption(MAPPING_THRESHOLD_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), MAPPING_THRESHOLD_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), MAPPING_THRESHOLD_LONG_OPTION);
+
+    option = options.getOption(BATCH_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), BATCH_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), BATCH_LONG_OPTION);
+    assertFalse(option.hasArg());
+
+    option = options.getOption(MAX_LINE_LENGTH_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), MAX_LINE_LENGTH_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), MAX_LINE_LENGTH_LONG_OPTION);
+
+    option = options.getOption(ALLOWED_LATENESS_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), ALLOWED_LATENESS_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), ALLOWED_LATENESS_LONG_OPTION);
+
+    option = options.getOption(NORMALIZATION_RULE_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), NORMALIZATION_RULE_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), NORMALIZATION_RULE_LONG_OPTION);
+
+    option = options.getOption(METRICS_DUMP_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), METRICS_DUMP_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), METRICS_DUMP_LONG_OPTION);
+
+    option = options.getOption(HEADLESS_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), HEADLESS_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), HEADLESS_LONG_OPTION);
+
+    option = options.getOption(RING_BUFFER_SIZE_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), RING_BUFFER_SIZE_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), RING_BUFFER_SIZE_LONG_OPTION);
+
+    option = options.getOption(WAIT_STRATEGY_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), WAIT_STRATEGY_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), WAIT_STRATEGY_LONG_OPTION);
+
+    option = options.getOption(OVERLOAD_POLICY_LONG_OPTION);
+    assertNotNull(option);
+    assertEquals(option.getOpt(), OVERLOAD_POLICY_SHORT_OPTION);
+    assertEquals(option.getLongOpt(), OVERLOAD_POLICY_LONG_OPTION);
+
   }
 
   @Test
@@ -108,6 +168,141 @@ public class CliUtilsTest {
         applicationOptions);
   }
 
+  @Test
+  public void validateBatchOptionTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + BATCH_LONG_OPTION
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    assertEquals(ApplicationOptions.builder().batch(true).build(), applicationOptions);
+  }
+
+  @Test
+  public void validateHeadlessOptionTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + HEADLESS_SHORT_OPTION
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    assertEquals(ApplicationOptions.builder().headless(true).build(), applicationOptions);
+  }
+
+  @Test
+  public void validateRingBufferOptionsTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + RING_BUFFER_SIZE_SHORT_OPTION, "1024",
+            "--" + WAIT_STRATEGY_LONG_OPTION, WaitStrategy.BUSY_SPIN
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    assertEquals(ApplicationOptions.builder().ringBufferSize(1024)
+        .waitStrategy(WaitStrategy.BUSY_SPIN).build(), applicationOptions);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badRingBufferSizeTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + RING_BUFFER_SIZE_LONG_OPTION, "1000"
+        }
+    );
+    validateArguments(commandLine);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooLargeRingBufferSizeTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + RING_BUFFER_SIZE_LONG_OPTION, String.valueOf(IngestPipeline.MAX_BUFFER_SIZE * 2)
+        }
+    );
+    validateArguments(commandLine);
+  }
+
+  @Test
+  public void validateOverloadPolicyTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + OVERLOAD_POLICY_LONG_OPTION, "sample"
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    assertEquals(ApplicationOptions.builder().overloadPolicy(OverloadPolicy.SAMPLE).build(),
+        applicationOptions);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badOverloadPolicyTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + OVERLOAD_POLICY_SHORT_OPTION, "ignore"
+        }
+    );
+    validateArguments(commandLine);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badWaitStrategyTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + WAIT_STRATEGY_SHORT_OPTION, "lazy"
+        }
+    );
+    validateArguments(commandLine);
+  }
+
+  @Test
+  public void validateZeroAllowedLatenessTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + ALLOWED_LATENESS_SHORT_OPTION + "=0"
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    assertEquals(ApplicationOptions.builder().allowedLateness(0).build(), applicationOptions);
+  }
+
+  @Test
+  public void validateNormalizationRulesTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + NORMALIZATION_RULE_LONG_OPTION, "{sku}=SKU-[0-9]+",
+            "-" + NORMALIZATION_RULE_SHORT_OPTION, "{lang}=en|fr"
+        }
+    );
+    ApplicationOptions applicationOptions = validateArguments(commandLine);
+    List<NormalizationRule> expectedRules = new ArrayList<>(Arrays.asList(
+        NormalizationRule.ofPattern("{sku}", "SKU-[0-9]+"),
+        NormalizationRule.ofPattern("{lang}", "en|fr")));
+    expectedRules.addAll(ResourceNormalizer.DEFAULT_RULES);
+    assertEquals(ApplicationOptions.builder().normalizationRules(expectedRules).build(),
+        applicationOptions);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badNormalizationRuleTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "--" + NORMALIZATION_RULE_LONG_OPTION, "SKU-[0-9]+"
+        }
+    );
+    validateArguments(commandLine);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badTooLongAllowedLatenessValueTest() throws ParseException {
+    CommandLine commandLine = parseArguments(
+        new String[] {
+            "-" + ALLOWED_LATENESS_LONG_OPTION + "=3600"
+        }
+    );
+    validateArguments(commandLine);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void badZeroRefreshValueTest() throws ParseException {
     int refresh = 0;
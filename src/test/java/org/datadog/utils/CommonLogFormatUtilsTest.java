@@ -7,6 +7,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import static org.datadog.utils.CommonLogFormatUtils.retrieveIntValue;
 import static org.datadog.utils.CommonLogFormatUtils.retrieveSection;
@@ -50,6 +51,11 @@ public class CommonLogFormatUtilsTest {
     assertEquals("pages", retrieveSection(resourceUrl));
   }
 
+  @Test
+  public void retrieveSectionIsSharedTest() throws ParseException {
+    assertSame(retrieveSection("/report/daily"), retrieveSection(new String("/report/weekly")));
+  }
+
   @Test(expected = ParseException.class)
   @Parameters(value = {
       "/pages",
@@ -0,0 +1,112 @@
+package org.datadog.utils;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.datadog.parser.ParseException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.datadog.utils.DateTimeUtils.DATE_TIME_FORMATTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(JUnitParamsRunner.class)
+public class LogDateTimeDecoderTest {
+
+  private final LogDateTimeDecoder logDateTimeDecoder = new LogDateTimeDecoder();
+
+  @Test
+  @Parameters(value = {
+      "10/Oct/2000:13:55:36 -0700",
+      "10/Oct/2000:13:55:36 -0000",
+      "20/Nov/2000:13:00:00 +0800",
+      "29/Feb/2000:23:59:59 +1800",
+      "31/Nov/2000:13:55:36 +0000",
+      "10/Oct/2000:24:00:00 +0000",
+      "01/Jan/0001:00:00:00 +0130"
+  })
+  public void validDateTest(String value) throws ParseException {
+    ZonedDateTime expected = ZonedDateTime.parse(value, DATE_TIME_FORMATTER);
+    assertEquals(expected.toEpochSecond(),
+        this.logDateTimeDecoder.toEpochSecond(value, 0, value.length()));
+    assertEquals(expected.getOffset(),
+        this.logDateTimeDecoder.toZoneOffset(value, 0, value.length()));
+  }
+
+  @Test
+  @Parameters(value = {
+      "10/Oct/2000:13:55:36 -0700",
+      "10/Oct/2000:24:00:00 +0000",
+      "31/Dec/1999:23:59:59 +0530"
+  })
+  public void decodeOnceTest(String value) throws ParseException {
+    ZonedDateTime expected = ZonedDateTime.parse(value, DATE_TIME_FORMATTER);
+    LogDateTimeDecoder.DecodedDateTime decodedDateTime = new LogDateTimeDecoder.DecodedDateTime();
+    this.logDateTimeDecoder.decode(value, 0, value.length(), decodedDateTime);
+    assertEquals(expected.toEpochSecond(), decodedDateTime.getEpochSecond());
+    assertEquals(expected.getOffset(), decodedDateTime.getZoneOffset());
+  }
+
+  @Test(expected = ParseException.class)
+  @Parameters(value = {
+      "10/Oct/2000:13:55:36",
+      "10/10/2000:13:55:36 +0800",
+      "35/Oct/2000:13:55:36 +0800",
+      "Oct/10/2000:13:55:36 +0800",
+      "10/oct/2000:13:55:36 +0800",
+      "10/Oct/2000:13:60:36 +0800",
+      "10/Oct/2000:13:55:36 +1900",
+      "10/Oct/200A:13:55:36 +0800"
+  })
+  public void nonValidDateTest(String value) throws ParseException {
+    this.logDateTimeDecoder.toEpochSecond(value, 0, value.length());
+  }
+
+  @Test
+  public void sliceDecodingTest() throws ParseException {
+    String line = "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET / HTTP/1.0\" 200 10";
+    String value = "10/Oct/2000:13:55:36 -0700";
+    int start = line.indexOf(value);
+    assertEquals(ZonedDateTime.parse(value, DATE_TIME_FORMATTER).toEpochSecond(),
+        this.logDateTimeDecoder.toEpochSecond(line, start, start + value.length()));
+  }
+
+  @Test
+  public void sameResultAsDateTimeFormatterTest() {
+    Random random = new Random(42);
+    String[] zones = {"+0000", "-0700", "+0530", "+1800", "-1800", "+1860", "+2000"};
+    for (int i = 0; i < 20000; i++) {
+      String value = String.format("%02d/%s/%04d:%02d:%02d:%02d %s",
+          random.nextInt(33), new String[] {"Jan", "Feb", "Oct", "Dec", "Foo"}[random.nextInt(5)],
+          1999 + random.nextInt(3), random.nextInt(26), random.nextInt(61), random.nextInt(61),
+          zones[random.nextInt(zones.length)]);
+      assertEquals(value, decodeWithFormatter(value), decode(value));
+    }
+  }
+
+  private Long decode(String value) {
+    try {
+      LogDateTimeDecoder.DecodedDateTime decodedDateTime
+          = new LogDateTimeDecoder.DecodedDateTime();
+      this.logDateTimeDecoder.decode(value, 0, value.length(), decodedDateTime);
+      assertEquals(value, DateTimeUtils.retrieveLogDateTime(value).getOffset(),
+          decodedDateTime.getZoneOffset());
+      return decodedDateTime.getEpochSecond();
+    } catch (ParseException parseException) {
+      assertNull(decodeWithFormatter(value));
+      return null;
+    }
+  }
+
+  private static Long decodeWithFormatter(String value) {
+    try {
+      return DateTimeUtils.retrieveLogDateTime(value).toEpochSecond();
+    } catch (ParseException parseException) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+package org.datadog.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class StringInternerTest {
+
+  private final StringInterner stringInterner = new StringInterner(8);
+
+  @Test
+  public void equalValuesAreShared() {
+    String first = this.stringInterner.intern(new String("127.0.0.1"));
+    assertSame(first, this.stringInterner.intern(new String("127.0.0.1")));
+    assertSame(first, this.stringInterner.intern("host 127.0.0.1 -", 5, 14));
+  }
+
+  @Test
+  public void regionIsInternedWithoutSharedValue() {
+    String section = this.stringInterner.intern("/pages/create", 1, 6);
+    assertEquals("pages", section);
+    assertSame(section, this.stringInterner.intern(new String("pages")));
+  }
+
+  @Test
+  public void collidingValuesAreProbed() {
+    StringInterner fourSlotsInterner = new StringInterner(4);
+    String[] values = {"GET", "POST", "PUT", "HEAD"};
+    String[] shared = new String[values.length];
+    for (int index = 0; index < values.length; index++) {
+      shared[index] = fourSlotsInterner.intern(new String(values[index]));
+    }
+    for (int index = 0; index < values.length; index++) {
+      assertSame(shared[index], fourSlotsInterner.intern(new String(values[index])));
+      assertSame(shared[index], fourSlotsInterner.intern(" " + values[index], 1,
+          values[index].length() + 1));
+    }
+  }
+
+  @Test
+  public void collidingValuesAreEvicted() {
+    StringInterner singleSlotInterner = new StringInterner(1);
+    String first = singleSlotInterner.intern(new String("GET"));
+    singleSlotInterner.intern("POST");
+    String second = singleSlotInterner.intern(new String("GET"));
+    assertEquals(first, second);
+    assertNotSame(first, second);
+    assertNull(singleSlotInterner.intern(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidCapacity() {
+    new StringInterner(0);
+  }
+
+}
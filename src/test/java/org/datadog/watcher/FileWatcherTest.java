@@ -1,28 +1,33 @@
 package org.datadog.watcher;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.spi.FileSystemProvider;
-import java.util.Arrays;
 import java.util.Collections;
 
 import org.datadog.parser.OutputHandler;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -45,8 +50,6 @@ public class FileWatcherTest {
   @Mock
   private FileSystemProvider fileSystemProviderMock;
   @Mock
-  private File fileMock;
-  @Mock
   private WatchKey watchKeyMock;
   @Mock
   private WatchEvent<Path> pathChangedEvent;
@@ -64,50 +67,45 @@ public class FileWatcherTest {
   private final String fifthLogLine = "Fifth Log Line";
   private final String sixthLogLine = "Sixth Log Line";
 
+  private final String lineSeparator = System.getProperty("line.separator");
+
   private final String initialFileContent = firstLineToSkip +
-      System.getProperty("line.separator") +
+      this.lineSeparator +
       secondLineToSkip +
-      System.getProperty("line.separator");
+      this.lineSeparator;
 
-  private final String firstFileAddition = this.initialFileContent +
-      this.firstLogLine +
-      System.getProperty("line.separator") +
+  private final String firstFileAddition = this.firstLogLine +
+      this.lineSeparator +
       this.secondLogLine +
-      System.getProperty("line.separator") +
+      this.lineSeparator +
       this.thirdLogLine +
-      System.getProperty("line.separator");
+      this.lineSeparator;
 
-  private final String SecondFileAddition = this.firstFileAddition +
-      this.fourthLogLine +
-      System.getProperty("line.separator") +
+  private final String SecondFileAddition = this.fourthLogLine +
+      this.lineSeparator +
       this.fifthLogLine +
-      System.getProperty("line.separator") +
+      this.lineSeparator +
       this.sixthLogLine +
-      System.getProperty("line.separator");
+      this.lineSeparator;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File logFile;
 
   @Before
   public void init() throws IOException, InterruptedException {
+    this.logFile = this.temporaryFolder.newFile("access.log");
+    append(this.initialFileContent);
+
     when(this.pathMock.toAbsolutePath()).thenReturn(this.absolutePathMock);
     when(this.absolutePathMock.getParent()).thenReturn(this.parentPathMock);
     when(this.pathMock.getFileSystem()).thenReturn(this.fileSystemMock);
     when(this.fileSystemMock.provider()).thenReturn(this.fileSystemProviderMock);
-    when(this.pathMock.toFile()).thenReturn(this.fileMock);
-    when(this.fileMock.length()).thenReturn(
-        (long) (this.firstLineToSkip.length() + this.secondLineToSkip.length() + 2 * System.getProperty("line.separator").length()),
-        (long) (this.firstLineToSkip.length() + this.secondLineToSkip.length() + 2 * System.getProperty("line.separator").length()),
-        (long) (this.firstLineToSkip.length() + this.secondLineToSkip.length() + 2 * System.getProperty("line.separator").length())
-            + (long) (this.firstLogLine.length() + this.secondLogLine.length() + this.thirdLogLine.length() + 3 * System.getProperty("line.separator").length())
-    );
     when(this.pathMock.getFileName()).thenReturn(this.pathMock);
-
-    InputStream initialInputStream = createInputStream(this.initialFileContent);
-
-    InputStream firstUpdatedInputStream = createInputStream(this.firstFileAddition);
-
-    InputStream secondUpdatedInputStream = createInputStream(this.SecondFileAddition);
-
-    when(fileSystemProviderMock.newInputStream(pathMock)).thenReturn(initialInputStream,
-        firstUpdatedInputStream, secondUpdatedInputStream);
+    when(this.fileSystemProviderMock.newFileChannel(eq(this.pathMock), anySet())).thenAnswer(
+        invocation -> FileChannel.open(this.logFile.toPath(), StandardOpenOption.READ)
+    );
 
     this.fileWatcherUnderTest = new FileWatcherImpl(watchServiceMock, pathMock, outputHandlerMock);
 
@@ -127,6 +125,7 @@ public class FileWatcherTest {
 
     reset(this.outputHandlerMock);
 
+    append(this.firstFileAddition);
     this.fileWatcherUnderTest.watchFile();
     argumentCaptor = ArgumentCaptor.forClass(String.class);
     verify(this.outputHandlerMock, times(3)).process(argumentCaptor.capture());
@@ -137,6 +136,7 @@ public class FileWatcherTest {
 
     reset(this.outputHandlerMock);
 
+    append(this.SecondFileAddition);
     this.fileWatcherUnderTest.watchFile();
     argumentCaptor = ArgumentCaptor.forClass(String.class);
     verify(this.outputHandlerMock, times(3)).process(argumentCaptor.capture());
@@ -147,8 +147,37 @@ public class FileWatcherTest {
 
   }
 
-  private InputStream createInputStream(String string) {
-    return new ByteArrayInputStream(string.getBytes());
+  @Test
+  public void partialLineIsProcessedOnceCompleted() {
+    append(this.firstLogLine.substring(0, 5));
+    this.fileWatcherUnderTest.watchFile();
+    verify(this.outputHandlerMock, times(0)).process(any());
+
+    append(this.firstLogLine.substring(5) + this.lineSeparator);
+    this.fileWatcherUnderTest.watchFile();
+    verify(this.outputHandlerMock, times(1)).process(this.firstLogLine);
+  }
+
+  @Test
+  public void truncatedFileIsReadFromItsBeginning() throws IOException {
+    Files.write(this.logFile.toPath(), this.firstFileAddition.substring(0, 5).getBytes(),
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.fileWatcherUnderTest.watchFile();
+    verify(this.outputHandlerMock, times(0)).process(any());
+
+    append(this.firstFileAddition.substring(5));
+    this.fileWatcherUnderTest.watchFile();
+    verify(this.outputHandlerMock, times(1)).process(this.firstLogLine);
+    verify(this.outputHandlerMock, times(1)).process(this.secondLogLine);
+    verify(this.outputHandlerMock, times(1)).process(this.thirdLogLine);
+  }
+
+  private void append(String content) {
+    try {
+      Files.write(this.logFile.toPath(), content.getBytes(), StandardOpenOption.APPEND);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
   }
 
 }
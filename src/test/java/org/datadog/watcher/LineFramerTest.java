@@ -0,0 +1,76 @@
+package org.datadog.watcher;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LineFramerTest {
+
+  private final List<String> lines = new ArrayList<>();
+
+  @Test
+  public void framesLinesAcrossChunks() {
+    LineFramer lineFramer = new LineFramer(StandardCharsets.UTF_8, this.lines::add);
+
+    lineFramer.frame(ByteBuffer.wrap("first line\r\nsecond ".getBytes(StandardCharsets.UTF_8)));
+    lineFramer.frame(ByteBuffer.wrap("line\n\nthird".getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(Arrays.asList("first line", "second line", ""), this.lines);
+    assertEquals(5, lineFramer.pendingBytes());
+
+    lineFramer.flush();
+    assertEquals("third", this.lines.get(3));
+  }
+
+  @Test
+  public void decodesNonAsciiLines() {
+    LineFramer lineFramer = new LineFramer(StandardCharsets.UTF_8, this.lines::add);
+    byte[] bytes = "/café/日本\n/ascii\n".getBytes(StandardCharsets.UTF_8);
+
+    lineFramer.frame(ByteBuffer.wrap(bytes, 0, 5));
+    lineFramer.frame(ByteBuffer.wrap(bytes, 5, bytes.length - 5));
+
+    assertEquals(Arrays.asList("/café/日本", "/ascii"), this.lines);
+  }
+
+  @Test
+  public void handsOverLineViews() {
+    LineFramer lineFramer = LineFramer.withLineViews(StandardCharsets.UTF_8,
+        LineFramer.DEFAULT_MAX_LINE_LENGTH, line -> this.lines.add(line.toString()));
+
+    lineFramer.frame(ByteBuffer.wrap("/ascii\r\n/café\nlast".getBytes(StandardCharsets.UTF_8)));
+    lineFramer.flush();
+
+    assertEquals(Arrays.asList("/ascii", "/café", "last"), this.lines);
+  }
+
+  @Test
+  public void discardsOversizedLines() {
+    LineFramer lineFramer = new LineFramer(StandardCharsets.UTF_8, 8, this.lines::add);
+
+    lineFramer.frame(ByteBuffer.wrap("short\nmuch too".getBytes(StandardCharsets.UTF_8)));
+    lineFramer.frame(ByteBuffer.wrap(" long line\n12345678\n".getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(Arrays.asList("short", "12345678"), this.lines);
+    assertEquals(1, lineFramer.getOversizedLinesCount());
+  }
+
+  @Test
+  public void discardedLineIsNotProcessedOnFlush() {
+    LineFramer lineFramer = new LineFramer(StandardCharsets.UTF_8, 4, this.lines::add);
+
+    lineFramer.frame(ByteBuffer.wrap("oversized".getBytes(StandardCharsets.UTF_8)));
+    lineFramer.flush();
+
+    assertEquals(Collections.emptyList(), this.lines);
+    assertEquals(1, lineFramer.getOversizedLinesCount());
+  }
+
+}
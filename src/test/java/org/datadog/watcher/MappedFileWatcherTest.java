@@ -0,0 +1,70 @@
+package org.datadog.watcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.datadog.parser.OutputHandler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class MappedFileWatcherTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final List<String> processedLines = new ArrayList<>();
+  private final OutputHandler<String> outputHandler = this.processedLines::add;
+  private File logFile;
+
+  @Before
+  public void init() throws IOException {
+    this.logFile = this.temporaryFolder.newFile("access.log");
+    append("Line to skip\n");
+  }
+
+  @Test
+  public void backlogAboveThresholdIsMapped() throws IOException {
+    MappedFileWatcherImpl fileWatcher = new MappedFileWatcherImpl(
+        FileSystems.getDefault().newWatchService(), this.logFile.toPath(), this.outputHandler,
+        LineFramer.DEFAULT_MAX_LINE_LENGTH, 32, 16);
+    List<String> expectedLines = new ArrayList<>();
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      expectedLines.add("Log line number " + i);
+      content.append("Log line number ").append(i).append('\n');
+    }
+    append(content.toString());
+
+    fileWatcher.readAppendedContent();
+
+    assertEquals(expectedLines, this.processedLines);
+    assertEquals(content.length() - 32, fileWatcher.getMappedBytesCount(), 16);
+  }
+
+  @Test
+  public void backlogBelowThresholdIsRead() throws IOException {
+    MappedFileWatcherImpl fileWatcher = new MappedFileWatcherImpl(
+        FileSystems.getDefault().newWatchService(), this.logFile.toPath(), this.outputHandler,
+        1024);
+    append("First Log Line\nSecond Log Line\n");
+
+    fileWatcher.readAppendedContent();
+
+    assertEquals(2, this.processedLines.size());
+    assertEquals(0, fileWatcher.getMappedBytesCount());
+  }
+
+  private void append(String content) throws IOException {
+    Files.write(this.logFile.toPath(), content.getBytes(), StandardOpenOption.APPEND);
+  }
+
+}